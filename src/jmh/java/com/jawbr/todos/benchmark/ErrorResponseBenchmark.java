@@ -0,0 +1,75 @@
+package com.jawbr.todos.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jawbr.todos.exception.TodoNotFoundException;
+import com.jawbr.todos.exception.errorResponse.ErrorResponse;
+import com.jawbr.todos.exception.handler.TodoExceptionHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminho de erro: criação da exceção, resposta de {@link TodoExceptionHandler} e serialização do {@link ErrorResponse}.
+ * {@code createStackTraceException} reproduz a exceção anterior (stack trace e {@code String.format}) como referência
+ * para {@code createNotFoundException}; compare com {@code -prof gc}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorResponseBenchmark {
+
+    private TodoExceptionHandler handler;
+    private ObjectMapper objectMapper;
+    private TodoNotFoundException notFound;
+    private MethodArgumentTypeMismatchException typeMismatch;
+
+    @Setup
+    public void setup() {
+        handler = new TodoExceptionHandler();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        notFound = TodoNotFoundException.forId(1);
+        typeMismatch = new MethodArgumentTypeMismatchException("alta", Integer.class, "prioridadeMin", null, null);
+    }
+
+    @Benchmark
+    public TodoNotFoundException createNotFoundException() {
+        return TodoNotFoundException.forId(1);
+    }
+
+    @Benchmark
+    public RuntimeException createStackTraceException() {
+        return new RuntimeException(String.format("Tarefa de id '%d' não encontrada.", 1));
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> handleNotFound() {
+        return handler.handleException(notFound);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> handleTypeMismatch() {
+        return handler.handleException(typeMismatch);
+    }
+
+    @Benchmark
+    public byte[] notFoundResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(handler.handleException(
+                TodoNotFoundException.forId(1)).getBody());
+    }
+}
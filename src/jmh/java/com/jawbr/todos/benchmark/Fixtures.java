@@ -0,0 +1,69 @@
+package com.jawbr.todos.benchmark;
+
+import com.jawbr.todos.config.TodoDataSourceProperties;
+import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.repository.ArchivedTodoRepository;
+import com.jawbr.todos.repository.TodoRepository;
+import com.jawbr.todos.service.TodoIdGenerator;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Dados e dublês compartilhados pelos benchmarks, sem banco nem contexto Spring.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static List<Todo> todos(int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(id -> Todo.builder()
+                        .id(id)
+                        .nome("Tarefa " + id)
+                        .descricao("Descrição da tarefa " + id + ", com os passos, responsáveis e prazos combinados na reunião.")
+                        .realizado(id % 3 == 0)
+                        .prioridade(id % 10)
+                        .version(1_700_000_000_000_000L + id)
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Repositório que responde só os métodos usados pelo benchmark; os demais lançam exceção.
+     */
+    static TodoRepository repository(InvocationHandler handler) {
+        return (TodoRepository) Proxy.newProxyInstance(Fixtures.class.getClassLoader(),
+                new Class<?>[]{TodoRepository.class}, handler);
+    }
+
+    /**
+     * Ids sequenciais da memória, sem a reserva de blocos em {@code todos_ids}.
+     */
+    static TodoIdGenerator idGenerator() {
+        AtomicInteger next = new AtomicInteger();
+        TodoDataSourceProperties properties = new TodoDataSourceProperties(List.of(), List.of(), 50, false,
+                Duration.ofSeconds(5), Duration.ofSeconds(30), Duration.ofSeconds(1));
+        return new TodoIdGenerator(null, null, null, properties) {
+            @Override
+            public int nextId() {
+                return next.incrementAndGet();
+            }
+        };
+    }
+
+    /**
+     * Arquivo que lança exceção em qualquer chamada: sem {@code includeArchived}, a listagem não o consulta.
+     */
+    static ArchivedTodoRepository archivedRepository() {
+        return (ArchivedTodoRepository) Proxy.newProxyInstance(Fixtures.class.getClassLoader(),
+                new Class<?>[]{ArchivedTodoRepository.class}, (proxy, method, args) -> {
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
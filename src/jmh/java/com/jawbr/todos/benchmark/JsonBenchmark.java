@@ -0,0 +1,77 @@
+package com.jawbr.todos.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jawbr.todos.dto.response.OffsetPage;
+import com.jawbr.todos.dto.response.TodoView;
+import com.jawbr.todos.entity.Todo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização das páginas da listagem com o mesmo {@link ObjectMapper} padrão do Spring: o {@link Page} do Spring
+ * Data, o envelope {@link OffsetPage} e o envelope com {@code fields=nome,realizado,prioridade}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    @Param({"10", "50"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<Todo> page;
+    private OffsetPage<Todo> offsetPage;
+    private OffsetPage<TodoView> viewPage;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<Todo> todos = Fixtures.todos(pageSize);
+        page = new PageImpl<>(todos, PageRequest.of(0, pageSize, Sort.by("id")), 1000);
+        offsetPage = OffsetPage.of(page);
+        viewPage = OffsetPage.of(page.map(todo -> TodoView.builder()
+                .id(todo.getId())
+                .nome(todo.getNome())
+                .realizado(todo.isRealizado())
+                .prioridade(todo.getPrioridade())
+                .version(todo.getVersion())
+                .build()));
+    }
+
+    @Benchmark
+    public byte[] springPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] offsetPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(offsetPage);
+    }
+
+    @Benchmark
+    public byte[] offsetPageWithFields() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(viewPage);
+    }
+}
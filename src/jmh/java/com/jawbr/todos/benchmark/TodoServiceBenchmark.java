@@ -0,0 +1,78 @@
+package com.jawbr.todos.benchmark;
+
+import com.jawbr.todos.config.TodoListingProperties;
+import com.jawbr.todos.config.TodoShards;
+import com.jawbr.todos.dto.request.TodoFilter;
+import com.jawbr.todos.dto.request.TodoRequest;
+import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.service.TodoService;
+import com.jawbr.todos.service.TodoTextOrder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de {@link TodoService} fora do banco: resolução dos parâmetros da listagem (página, tamanho, ordenação,
+ * filtros) e montagem da {@link Todo} a partir de {@link TodoRequest}. O repositório devolve respostas prontas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TodoServiceBenchmark {
+
+    private TodoService todoService;
+    private TodoRequest request;
+    private TodoFilter filter;
+
+    @Setup
+    public void setup() {
+        Page<Todo> page = new PageImpl<>(Fixtures.todos(10));
+        todoService = new TodoService(Fixtures.repository((proxy, method, args) -> switch (method.getName()) {
+            case "findAll" -> page;
+            case "insert" -> args[0];
+            default -> throw new UnsupportedOperationException(method.getName());
+        }), Fixtures.archivedRepository(), Fixtures.idGenerator(), new TodoShards(1), event -> {
+        }, new TodoListingProperties(true), TodoTextOrder.of(Comparator.naturalOrder()));
+        request = TodoRequest.builder()
+                .nome("Finalizar Projeto")
+                .descricao("Finalizar o projeto até sexta")
+                .realizado(false)
+                .prioridade(5)
+                .build();
+        filter = TodoFilter.builder()
+                .realizado(false)
+                .prioridadeMin(3)
+                .nome("Fin")
+                .build();
+    }
+
+    @Benchmark
+    public Page<Todo> findAllTodosDefaults() {
+        return todoService.findAllTodos(null, null, null, TodoFilter.NONE);
+    }
+
+    @Benchmark
+    public Page<Todo> findAllTodosFiltered() {
+        return todoService.findAllTodos(2, 20, "prioridade", filter);
+    }
+
+    @Benchmark
+    public Todo createTodo() {
+        return todoService.createTodo(request);
+    }
+}
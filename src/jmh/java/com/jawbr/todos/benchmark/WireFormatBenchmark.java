@@ -0,0 +1,111 @@
+package com.jawbr.todos.benchmark;
+
+import com.jawbr.todos.config.TodoProtobufHttpMessageConverter;
+import com.jawbr.todos.dto.response.OffsetPage;
+import com.jawbr.todos.entity.Todo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Escrita de uma página da listagem por cada conversor negociado em {@code /api/todos}, com e sem gzip (a compressão
+ * do Tomcat usa o nível padrão do {@link GZIPOutputStream}). Os tamanhos no fio de cada formato são impressos ao fim
+ * de cada combinação de parâmetros.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    public String format;
+
+    @Param({"10", "50"})
+    public int pageSize;
+
+    private HttpMessageConverter<Object> converter;
+    private MediaType mediaType;
+    private OffsetPage<Todo> page;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        converter = (HttpMessageConverter<Object>) switch (format) {
+            case "json" -> new MappingJackson2HttpMessageConverter();
+            case "cbor" -> new MappingJackson2CborHttpMessageConverter();
+            case "smile" -> new MappingJackson2SmileHttpMessageConverter();
+            case "protobuf" -> new TodoProtobufHttpMessageConverter();
+            default -> throw new IllegalArgumentException(format);
+        };
+        mediaType = converter.getSupportedMediaTypes().get(0);
+        page = OffsetPage.of(new PageImpl<>(Fixtures.todos(pageSize), PageRequest.of(0, pageSize), 1000));
+    }
+
+    @Benchmark
+    public int write() throws IOException {
+        buffer.reset();
+        converter.write(page, mediaType, new BufferedOutputMessage(buffer));
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int writeGzip() throws IOException {
+        buffer.reset();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            converter.write(page, mediaType, new BufferedOutputMessage(gzip));
+        }
+        return buffer.size();
+    }
+
+    @TearDown
+    public void printSizes() throws IOException {
+        int plain = write();
+        int gzip = writeGzip();
+        System.out.printf("%n[bytes] format=%s pageSize=%d body=%d gzip=%d%n", format, pageSize, plain, gzip);
+    }
+
+    private record BufferedOutputMessage(OutputStream body, HttpHeaders headers) implements HttpOutputMessage {
+
+        BufferedOutputMessage(OutputStream body) {
+            this(body, new HttpHeaders());
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
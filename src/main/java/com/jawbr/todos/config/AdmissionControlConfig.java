@@ -0,0 +1,22 @@
+package com.jawbr.todos.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Ativa o controle de admissão de {@code /api/todos} (veja {@link AdmissionControlInterceptor}); o registro do
+ * interceptor fica em {@link WebConfig}. Ligado com {@code todos.admission.enabled=true}; sem
+ * {@code todos.admission.client-header}, os clientes atrás de um mesmo proxy dividem a taxa do endereço dele.
+ */
+@Configuration
+@ConditionalOnProperty(name = "todos.admission.enabled", havingValue = "true")
+public class AdmissionControlConfig {
+
+    @Bean
+    AdmissionControlInterceptor admissionControlInterceptor(TodoAdmissionProperties properties,
+                                                            MeterRegistry meterRegistry) {
+        return new AdmissionControlInterceptor(properties, meterRegistry);
+    }
+}
@@ -0,0 +1,139 @@
+package com.jawbr.todos.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jawbr.todos.exception.ServiceOverloadedException;
+import com.jawbr.todos.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controle de admissão antes dos controllers: cada requisição precisa de uma ficha no balde do cliente
+ * ({@link TokenBucket}, senão 429) e de uma vaga no limite de requisições simultâneas ({@link ConcurrencyLimiter},
+ * senão 503). Leituras e escritas têm baldes e limites próprios, então uma rajada de escritas lentas não derruba as
+ * leituras. As recusas viram exceções respondidas por {@code TodoExceptionHandler}, com {@code Retry-After}.
+ */
+class AdmissionControlInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT = AdmissionControlInterceptor.class.getName() + ".permit";
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD");
+    private static final long OVERLOADED_RETRY_AFTER_SECONDS = 1;
+
+    private final String clientHeader;
+    private final Admission reads;
+    private final Admission writes;
+
+    AdmissionControlInterceptor(TodoAdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.clientHeader = properties.clientHeader();
+        this.reads = new Admission("read", properties.reads(), properties.maxClients(), meterRegistry);
+        this.writes = new Admission("write", properties.writes(), properties.maxClients(), meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // O despacho de volta de uma resposta assíncrona já foi admitido na requisição original
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        Admission admission = READ_METHODS.contains(request.getMethod()) ? reads : writes;
+        long now = System.nanoTime();
+        long wait = admission.rateLimit(client(request), now);
+        if (wait > 0) {
+            admission.rateLimited.increment();
+            throw new TooManyRequestsException("Limite de requisições excedido. Tente novamente em instantes.",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+        if (!admission.limiter.tryAcquire()) {
+            admission.overloaded.increment();
+            throw new ServiceOverloadedException("Servidor sobrecarregado. Tente novamente em instantes.",
+                    OVERLOADED_RETRY_AFTER_SECONDS);
+        }
+        admission.admitted.increment();
+        request.setAttribute(PERMIT, new Permit(admission, now));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT) instanceof Permit permit) {
+            request.removeAttribute(PERMIT);
+            permit.admission.limiter.release(System.nanoTime() - permit.start, ex != null || response.getStatus() >= 500);
+        }
+    }
+
+    // Respostas assíncronas podem ficar abertas por minutos: a vaga é devolvida quando o processamento sai da thread
+    // da requisição, sem amostra de latência
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(PERMIT) instanceof Permit permit) {
+            request.removeAttribute(PERMIT);
+            permit.admission.limiter.release();
+        }
+    }
+
+    private String client(HttpServletRequest request) {
+        String client = clientHeader == null ? null : request.getHeader(clientHeader);
+        return client != null ? client : request.getRemoteAddr();
+    }
+
+    private record Permit(Admission admission, long start) {
+    }
+
+    private static final class Admission {
+
+        private final double rate;
+        private final double burst;
+        private final Cache<String, TokenBucket> buckets;
+        private final ConcurrencyLimiter limiter;
+        private final Counter admitted;
+        private final Counter rateLimited;
+        private final Counter overloaded;
+
+        Admission(String kind, TodoAdmissionProperties.Limits limits, int maxClients, MeterRegistry meterRegistry) {
+            this.rate = limits.rate();
+            this.burst = limits.burst() > 0 ? limits.burst() : Math.max(1, limits.rate());
+            // Um cliente ausente por mais tempo que o necessário para encher o balde volta com o balde cheio
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxClients)
+                    .expireAfterAccess(Duration.ofMinutes(10))
+                    .build();
+            this.limiter = new ConcurrencyLimiter(limits.initialLimit(), limits.minLimit(), limits.maxLimit(),
+                    limits.tolerance());
+            this.admitted = requests(meterRegistry, kind, "admitted");
+            this.rateLimited = requests(meterRegistry, kind, "rate_limited");
+            this.overloaded = requests(meterRegistry, kind, "overloaded");
+            Gauge.builder("todos.admission.limit", limiter, ConcurrencyLimiter::limit)
+                    .description("Limite atual de requisições simultâneas")
+                    .tag("kind", kind)
+                    .register(meterRegistry);
+            Gauge.builder("todos.admission.inflight", limiter, ConcurrencyLimiter::inflight)
+                    .description("Requisições admitidas em andamento")
+                    .tag("kind", kind)
+                    .register(meterRegistry);
+        }
+
+        long rateLimit(String client, long now) {
+            if (rate <= 0) {
+                return 0;
+            }
+            return buckets.get(client, key -> new TokenBucket(rate, burst, now)).tryAcquire(now);
+        }
+
+        private static Counter requests(MeterRegistry meterRegistry, String kind, String outcome) {
+            return Counter.builder("todos.admission.requests")
+                    .description("Requisições que passaram pelo controle de admissão")
+                    .tag("kind", kind)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.jawbr.todos.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String TODOS = "todos";
+    public static final String TODO_PAGES = "todoPages";
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> todoCacheCustomizer(TodoCacheProperties properties) {
+        return cacheManager -> {
+            cacheManager.registerCustomCache(TODOS, build(properties.todos()));
+            cacheManager.registerCustomCache(TODO_PAGES, build(properties.pages()));
+        };
+    }
+
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> build(TodoCacheProperties.Spec spec) {
+        return Caffeine.newBuilder()
+                .maximumSize(spec.maximumSize())
+                .expireAfterWrite(spec.expireAfterWrite())
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.jawbr.todos.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite de requisições simultâneas que se ajusta à latência observada, no estilo do Gradient2 do
+ * {@code concurrency-limits} da Netflix. Duas médias exponenciais acompanham a latência: uma longa (referência, de
+ * ~600 requisições) e uma curta (recente, de ~10). Enquanto a recente fica dentro de {@code tolerance} vezes a
+ * referência, o limite cresce na raiz quadrada dele mesmo; quando passa, o limite cai na proporção do gradiente
+ * {@code tolerance * referência / recente} (no máximo pela metade). Respostas com erro de servidor reduzem o limite
+ * em 10%.
+ * <p>
+ * Requisições acima do limite são recusadas na hora, sem fila: com o banco lento, a fila só aumentaria a latência de
+ * todas.
+ */
+final class ConcurrencyLimiter {
+
+    private static final double LONG_WINDOW = 600;
+    private static final double SHORT_WINDOW = 10;
+    private static final double SMOOTHING = 0.2;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile double limit;
+    // Em nanossegundos; protegidos por lock
+    private double longRtt;
+    private double shortRtt;
+
+    ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Devolve a vaga e ajusta o limite com a latência da requisição.
+     *
+     * @param dropped se a requisição terminou com erro de servidor
+     */
+    void release(long rttNanos, boolean dropped) {
+        int current = inflight.getAndDecrement();
+        // Amostras não precisam ser todas contadas: com o lock ocupado, a próxima requisição faz o ajuste
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            update(rttNanos, dropped, current);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Devolve a vaga sem ajustar o limite, para requisições cuja duração não mede o banco (respostas assíncronas).
+     */
+    void release() {
+        inflight.decrementAndGet();
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    int inflight() {
+        return inflight.get();
+    }
+
+    private void update(long rttNanos, boolean dropped, int inflightAtRelease) {
+        double current = limit;
+        if (dropped) {
+            limit = Math.max(minLimit, current * DROP_BACKOFF);
+            return;
+        }
+        if (longRtt == 0) {
+            longRtt = rttNanos;
+            shortRtt = rttNanos;
+        }
+        shortRtt += (rttNanos - shortRtt) / SHORT_WINDOW;
+        longRtt += (rttNanos - longRtt) / LONG_WINDOW;
+        // Depois de um pico longo, a referência fica alta demais; desce mais rápido quando a latência volta ao normal
+        if (longRtt > 2 * shortRtt) {
+            longRtt *= 0.95;
+        }
+        // Sem usar metade do limite não há evidência de que um limite maior seria suportado
+        if (inflightAtRelease < current / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double next = current * gradient + Math.sqrt(current);
+        next = current * (1 - SMOOTHING) + next * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+}
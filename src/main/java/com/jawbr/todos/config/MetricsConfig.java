@@ -0,0 +1,46 @@
+package com.jawbr.todos.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+
+/**
+ * Instrumentação exposta em {@code /actuator/prometheus}, além das métricas que o Spring Boot já registra
+ * ({@code http.server.requests}, {@code hikaricp.*}, {@code hibernate.*}, {@code cache.*}).
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Habilita @Timed nos métodos de serviço
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public static BeanPostProcessor monitoredDataSourcePostProcessor(
+            ObjectProvider<SqlMonitoringProperties> properties,
+            ObjectProvider<MeterRegistry> meterRegistry)
+    {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof MonitoredDataSource)) {
+                    return new MonitoredDataSource(dataSource, properties.getObject(), meterRegistry);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public OncePerRequestFilter sqlStatementsFilter(MeterRegistry meterRegistry) {
+        return new SqlStatementsFilter(meterRegistry);
+    }
+}
@@ -0,0 +1,117 @@
+package com.jawbr.todos.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataSource que mede cada comando executado. Conta os comandos da thread atual, que {@link SqlStatementsFilter}
+ * transforma em comandos por requisição, e registra no log uma amostra dos que passam de
+ * {@code todos.sql.slow-query-threshold}. Substitui o {@code spring.jpa.show-sql}, que imprimia todos os comandos de
+ * forma síncrona.
+ */
+final class MonitoredDataSource extends DelegatingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(MonitoredDataSource.class);
+
+    private static final ThreadLocal<int[]> STATEMENTS = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    // Criado no primeiro comando lento: o registry pode depender do próprio DataSource
+    private volatile Counter slowStatements;
+
+    MonitoredDataSource(DataSource target, SqlMonitoringProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        super(target);
+        this.thresholdNanos = properties.slowQueryThreshold().toNanos();
+        this.sampleRate = properties.slowQuerySampleRate();
+        this.meterRegistry = meterRegistry;
+    }
+
+    static void resetStatementCount() {
+        STATEMENTS.get()[0] = 0;
+    }
+
+    static int statementCount() {
+        return STATEMENTS.get()[0];
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                        return wrap(statement, method.getReturnType(), sql);
+                    }
+                    return result;
+                });
+    }
+
+    private Object wrap(Statement statement, Class<?> type, String preparedSql) {
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (!method.getName().startsWith("execute")) {
+                        return invoke(statement, method, args);
+                    }
+                    STATEMENTS.get()[0]++;
+                    long start = System.nanoTime();
+                    try {
+                        return invoke(statement, method, args);
+                    } finally {
+                        long elapsed = System.nanoTime() - start;
+                        if (elapsed > thresholdNanos) {
+                            slowStatement(elapsed, preparedSql != null ? preparedSql : String.valueOf(args != null ? args[0] : null));
+                        }
+                    }
+                });
+    }
+
+    private void slowStatement(long elapsedNanos, String sql) {
+        Counter counter = slowStatements;
+        if (counter == null) {
+            counter = meterRegistry.getIfAvailable() == null ? null : Counter.builder("todos.sql.slow")
+                    .description("Comandos SQL acima de todos.sql.slow-query-threshold")
+                    .register(meterRegistry.getObject());
+            slowStatements = counter;
+        }
+        if (counter != null) {
+            counter.increment();
+        }
+        if (ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.warn("Comando SQL lento ({} ms): {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos), sql);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
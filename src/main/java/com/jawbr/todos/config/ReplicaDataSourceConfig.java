@@ -0,0 +1,89 @@
+package com.jawbr.todos.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Ativa as réplicas de leitura quando há ao menos uma em {@code todos.datasource.replicas}. Substitui o DataSource
+ * do Spring Boot: o primário continua vindo de {@code spring.datasource.*} (inclusive {@code spring.datasource.hikari.*})
+ * e cada réplica ganha um pool somente leitura com o mesmo tamanho máximo.
+ */
+@Configuration
+@ConditionalOnProperty("todos.datasource.replicas[0].url")
+// Com shards, o DataSource vem de ShardingConfig, que recusa réplicas
+@ConditionalOnExpression("'${todos.datasource.shards[0].url:}'.isEmpty()")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, TodoDataSourceProperties properties,
+                                 Environment environment) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.replicas().size(); i++) {
+            TodoDataSourceProperties.Replica replica = properties.replicas().get(i);
+            HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(replica.url())
+                    .username(Optional.ofNullable(replica.username()).orElse(dataSourceProperties.determineUsername()))
+                    .password(Optional.ofNullable(replica.password()).orElse(dataSourceProperties.determinePassword()))
+                    .build();
+            pool.setPoolName("replica-" + (i + 1));
+            pool.setReadOnly(true);
+            // -1 até o pool iniciar quando spring.datasource.hikari.maximum-pool-size não foi informado
+            if (primary.getMaximumPoolSize() > 0) {
+                pool.setMaximumPoolSize(primary.getMaximumPoolSize());
+            }
+            pool.setConnectionTimeout(properties.replicaConnectionTimeout().toMillis());
+            replicas.add(new ReplicaRoutingDataSource.Replica(pool.getPoolName(), pool));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, properties.replicaRetryInterval());
+    }
+
+    @Bean
+    public OncePerRequestFilter readAfterWriteFilter(TodoDataSourceProperties properties) {
+        return new ReadAfterWriteFilter(properties.readAfterWriteWindow());
+    }
+
+    // O Spring Boot só registra hikaricp.* para o pool do primário
+    @Bean
+    public MeterBinder replicaMetrics(DataSource routingDataSource) throws SQLException {
+        ReplicaRoutingDataSource dataSource = routingDataSource.unwrap(ReplicaRoutingDataSource.class);
+        return registry -> {
+            for (ReplicaRoutingDataSource.Replica replica : dataSource.replicas()) {
+                Gauge.builder("todos.datasource.replica.active", replica, ReplicaRoutingDataSource.Replica::activeConnections)
+                        .description("Conexões em uso na réplica")
+                        .tag("pool", replica.name())
+                        .register(registry);
+                Gauge.builder("todos.datasource.replica.up", replica, r -> r.isUp() ? 1 : 0)
+                        .description("1 enquanto a réplica participa da escolha")
+                        .tag("pool", replica.name())
+                        .register(registry);
+            }
+            FunctionCounter.builder("todos.datasource.replica.fallbacks", dataSource, ReplicaRoutingDataSource::fallbacks)
+                    .description("Leituras enviadas ao primário por falta de réplica disponível")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,184 @@
+package com.jawbr.todos.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Envia as transações somente leitura ({@code @Transactional(readOnly = true)}, e os métodos de leitura dos
+ * repositórios) para uma réplica, e todo o resto para o primário. A escolha acontece no primeiro comando da
+ * transação, e não na abertura dela, porque só então o Spring já marcou a transação como somente leitura: daí a
+ * base {@link LazyConnectionDataSourceProxy}.
+ * <p>
+ * Entre as réplicas disponíveis vai para a com menos conexões em uso, em rodízio no empate. Uma réplica que falha ao
+ * conectar fica fora por {@code todos.datasource.replica-retry-interval}; sem réplica disponível, a leitura vai para o
+ * primário. {@link #usePrimary(boolean)} fixa a thread atual no primário (leitura após escrita).
+ */
+final class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private final Router router;
+
+    ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, Duration retryInterval) {
+        this(new Router(primary, replicas, retryInterval.toNanos()));
+    }
+
+    private ReplicaRoutingDataSource(Router router) {
+        super(router);
+        this.router = router;
+    }
+
+    static void usePrimary(boolean primaryOnly) {
+        if (primaryOnly) {
+            PRIMARY_ONLY.set(Boolean.TRUE);
+        } else {
+            PRIMARY_ONLY.remove();
+        }
+    }
+
+    List<Replica> replicas() {
+        return router.replicas;
+    }
+
+    /**
+     * Leituras que foram para o primário por falta de réplica disponível.
+     */
+    long fallbacks() {
+        return router.fallbacks.sum();
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        for (Replica replica : router.replicas) {
+            if (replica.dataSource() instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+        if (router.primary instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile long downUntilNanos;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        String name() {
+            return name;
+        }
+
+        DataSource dataSource() {
+            return dataSource;
+        }
+
+        boolean isUp() {
+            return downUntilNanos == 0 || System.nanoTime() - downUntilNanos >= 0;
+        }
+
+        int activeConnections() {
+            if (dataSource instanceof HikariDataSource hikari) {
+                HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+                return pool == null ? 0 : pool.getActiveConnections();
+            }
+            return 0;
+        }
+    }
+
+    private static final class Router extends AbstractDataSource {
+
+        private final DataSource primary;
+        private final List<Replica> replicas;
+        private final long retryNanos;
+        private final AtomicInteger next = new AtomicInteger();
+        private final LongAdder fallbacks = new LongAdder();
+
+        Router(DataSource primary, List<Replica> replicas, long retryNanos) {
+            this.primary = primary;
+            this.replicas = List.copyOf(replicas);
+            this.retryNanos = retryNanos;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PRIMARY_ONLY.get() != null) {
+                return primary.getConnection();
+            }
+            for (Replica replica = select(); replica != null; replica = select()) {
+                try {
+                    return replica.dataSource().getConnection();
+                } catch (SQLException e) {
+                    replica.downUntilNanos = System.nanoTime() + retryNanos;
+                    log.warn("Réplica {} indisponível, fora da escolha por {} ms: {}", replica.name(),
+                            retryNanos / 1_000_000, e.getMessage());
+                }
+            }
+            fallbacks.increment();
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return primary.getConnection(username, password);
+        }
+
+        // Menos conexões em uso; o início rotativo desempata em rodízio
+        private Replica select() {
+            int size = replicas.size();
+            int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+            Replica best = null;
+            int bestActive = Integer.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                Replica replica = replicas.get((start + i) % size);
+                if (!replica.isUp()) {
+                    continue;
+                }
+                int active = replica.activeConnections();
+                if (active < bestActive) {
+                    best = replica;
+                    bestActive = active;
+                }
+            }
+            return best;
+        }
+
+        // Para o Spring Boot encontrar o pool do primário (métricas hikaricp.*)
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            if (iface.isInstance(primary)) {
+                return (T) primary;
+            }
+            return primary.unwrap(iface);
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) throws SQLException {
+            return iface.isInstance(primary) || primary.isWrapperFor(iface);
+        }
+    }
+}
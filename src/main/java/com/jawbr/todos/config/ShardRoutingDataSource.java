@@ -0,0 +1,79 @@
+package com.jawbr.todos.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Envia cada transação para o shard fixado na thread por {@link TodoShards#onShard}, ou para o shard 0 sem shard
+ * fixado (Flyway, validação do esquema, consultas que não dependem do id). Como em {@link ReplicaRoutingDataSource},
+ * a escolha acontece no primeiro comando da transação, e não na abertura dela: um método {@code @Transactional}
+ * pode fixar o shard antes da primeira consulta.
+ */
+final class ShardRoutingDataSource extends LazyConnectionDataSourceProxy implements DisposableBean {
+
+    private final Router router;
+
+    ShardRoutingDataSource(List<DataSource> shards) {
+        this(new Router(shards));
+    }
+
+    private ShardRoutingDataSource(Router router) {
+        super(router);
+        this.router = router;
+    }
+
+    List<DataSource> shards() {
+        return router.shards;
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        for (DataSource shard : router.shards) {
+            if (shard instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static final class Router extends AbstractDataSource {
+
+        private final List<DataSource> shards;
+
+        Router(List<DataSource> shards) {
+            this.shards = List.copyOf(shards);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return shards.get(TodoShards.current()).getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return shards.get(TodoShards.current()).getConnection(username, password);
+        }
+
+        // Para o Spring Boot encontrar o pool do shard 0 (métricas hikaricp.*)
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            if (iface.isInstance(shards.get(0))) {
+                return (T) shards.get(0);
+            }
+            return shards.get(0).unwrap(iface);
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) throws SQLException {
+            return iface.isInstance(shards.get(0)) || shards.get(0).isWrapperFor(iface);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.jawbr.todos.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Configuration
+public class ShardingConfig {
+
+    @Bean
+    public TodoShards todoShards(TodoDataSourceProperties properties) {
+        return new TodoShards(1 + properties.shards().size());
+    }
+
+    /**
+     * Ativa os shards quando há ao menos um em {@code todos.datasource.shards}. Substitui o DataSource do Spring Boot:
+     * o shard 0 continua vindo de {@code spring.datasource.*} (inclusive {@code spring.datasource.hikari.*}) e cada
+     * shard ganha um pool com o mesmo tamanho máximo. As migrações rodam em todos os shards.
+     */
+    @Configuration
+    @ConditionalOnProperty("todos.datasource.shards[0].url")
+    static class ShardDataSourceConfig {
+
+        @Bean
+        public DataSource dataSource(DataSourceProperties dataSourceProperties, TodoDataSourceProperties properties,
+                                     Environment environment) {
+            if (!properties.replicas().isEmpty()) {
+                throw new IllegalStateException("todos.datasource.replicas e todos.datasource.shards não podem ser usados juntos");
+            }
+            HikariDataSource first = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(first));
+            if (first.getPoolName() == null) {
+                first.setPoolName("shard-0");
+            }
+
+            List<DataSource> shards = new ArrayList<>();
+            shards.add(first);
+            for (int i = 0; i < properties.shards().size(); i++) {
+                TodoDataSourceProperties.Shard shard = properties.shards().get(i);
+                HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder()
+                        .type(HikariDataSource.class)
+                        .url(shard.url())
+                        .username(Optional.ofNullable(shard.username()).orElse(dataSourceProperties.determineUsername()))
+                        .password(Optional.ofNullable(shard.password()).orElse(dataSourceProperties.determinePassword()))
+                        .build();
+                pool.setPoolName("shard-" + (i + 1));
+                // -1 até o pool iniciar quando spring.datasource.hikari.maximum-pool-size não foi informado
+                if (first.getMaximumPoolSize() > 0) {
+                    pool.setMaximumPoolSize(first.getMaximumPoolSize());
+                }
+                shards.add(pool);
+            }
+            return new ShardRoutingDataSource(shards);
+        }
+
+        // O Spring Boot migra só o DataSource da aplicação, que sem shard fixado é o shard 0
+        @Bean
+        public FlywayMigrationStrategy shardMigrationStrategy(DataSource routingDataSource) {
+            return flyway -> {
+                flyway.migrate();
+                try {
+                    List<DataSource> shards = routingDataSource.unwrap(ShardRoutingDataSource.class).shards();
+                    for (DataSource shard : shards.subList(1, shards.size())) {
+                        Flyway.configure(flyway.getConfiguration().getClassLoader())
+                                .configuration(flyway.getConfiguration())
+                                .dataSource(shard)
+                                .load()
+                                .migrate();
+                    }
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.jawbr.todos.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Monitoramento dos comandos SQL.
+ *
+ * @param slowQueryThreshold  comandos mais demorados que isso são contados em {@code todos.sql.slow} e podem ir para
+ *                            o log
+ * @param slowQuerySampleRate fração (de 0 a 1) dos comandos lentos que é registrada no log
+ */
+@ConfigurationProperties("todos.sql")
+public record SqlMonitoringProperties(
+        @DefaultValue("200ms") Duration slowQueryThreshold,
+        @DefaultValue("0.1") double slowQuerySampleRate
+) {
+}
@@ -0,0 +1,42 @@
+package com.jawbr.todos.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Registra quantos comandos SQL cada requisição executou em {@code todos.sql.statements}, com o mesmo {@code uri} de
+ * {@code http.server.requests}. Comandos de respostas assíncronas (exportação) rodam em outra thread e não entram.
+ */
+class SqlStatementsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    SqlStatementsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        MonitoredDataSource.resetStatementCount();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder("todos.sql.statements")
+                    .description("Comandos SQL executados por requisição")
+                    .baseUnit("statements")
+                    .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+                    .register(meterRegistry)
+                    .record(MonitoredDataSource.statementCount());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.jawbr.todos.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+/**
+ * Execução de treino do arquivo CDS do perfil Maven {@code startup}: com {@code todos.startup.exit-on-ready=true} a
+ * aplicação encerra assim que fica pronta, e a JVM grava na saída ({@code -XX:ArchiveClassesAtExit}) as classes
+ * carregadas durante a subida. A propriedade é lida na execução, e não com {@code @ConditionalOnProperty}, porque no
+ * build AOT as condições são avaliadas uma única vez, durante o build.
+ */
+@Configuration
+public class StartupTrainingConfig {
+
+    private final Environment environment;
+
+    public StartupTrainingConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void exitOnReady(ApplicationReadyEvent event) {
+        if (environment.getProperty("todos.startup.exit-on-ready", Boolean.class, false)) {
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+}
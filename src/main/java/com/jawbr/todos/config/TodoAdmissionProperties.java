@@ -0,0 +1,42 @@
+package com.jawbr.todos.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Controle de admissão das requisições de {@code /api/todos}, com limites separados para leituras (GET e HEAD) e
+ * escritas.
+ *
+ * @param enabled      se as requisições passam pelo controle de admissão
+ * @param clientHeader cabeçalho que identifica o cliente (por exemplo {@code X-Api-Key}); sem ele, ou quando a
+ *                     requisição não o traz, o cliente é o endereço remoto, que atrás de um proxy ou balanceador é o
+ *                     do próprio proxy para todos
+ * @param maxClients   quantos clientes têm a taxa acompanhada ao mesmo tempo; os menos recentes são esquecidos
+ */
+@ConfigurationProperties("todos.admission")
+public record TodoAdmissionProperties(
+        @DefaultValue("false") boolean enabled,
+        String clientHeader,
+        @DefaultValue("10000") int maxClients,
+        @DefaultValue Limits reads,
+        @DefaultValue Limits writes
+) {
+
+    /**
+     * @param rate         requisições por segundo de cada cliente; 0 desliga o limite por cliente
+     * @param burst        requisições que um cliente ocioso pode enviar de uma vez; 0 usa o mesmo valor de rate
+     * @param initialLimit requisições simultâneas permitidas ao subir, antes de haver medições de latência
+     * @param minLimit     menor limite de requisições simultâneas
+     * @param maxLimit     maior limite de requisições simultâneas
+     * @param tolerance    quanto a latência recente pode passar da latência de referência antes de o limite cair
+     */
+    public record Limits(
+            @DefaultValue("0") double rate,
+            @DefaultValue("0") int burst,
+            @DefaultValue("20") int initialLimit,
+            @DefaultValue("4") int minLimit,
+            @DefaultValue("200") int maxLimit,
+            @DefaultValue("1.5") double tolerance
+    ) {
+    }
+}
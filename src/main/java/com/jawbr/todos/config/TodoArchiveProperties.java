@@ -0,0 +1,21 @@
+package com.jawbr.todos.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuração do arquivamento das tarefas realizadas em {@code todos_archive}.
+ *
+ * @param enabled   se o arquivamento periódico roda ({@code todos.archive.interval})
+ * @param age       tempo desde a conclusão a partir do qual a tarefa é arquivada
+ * @param batchSize tarefas movidas por transação; cada lote trava só as próprias linhas
+ */
+@ConfigurationProperties("todos.archive")
+public record TodoArchiveProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("30d") Duration age,
+        @DefaultValue("500") int batchSize
+) {
+}
@@ -0,0 +1,18 @@
+package com.jawbr.todos.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração das operações em lote.
+ *
+ * @param size     quantidade de registros enviados ao banco por flush; deve acompanhar
+ *                 {@code spring.jpa.properties.hibernate.jdbc.batch_size}
+ * @param maxItems quantidade máxima de itens aceitos em uma única requisição
+ */
+@ConfigurationProperties("todos.batch")
+public record TodoBatchProperties(
+        @DefaultValue("50") int size,
+        @DefaultValue("1000") int maxItems
+) {
+}
@@ -0,0 +1,26 @@
+package com.jawbr.todos.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Limites dos caches em memória na frente do {@code TodoRepository}. O cache pode ser desligado com
+ * {@code spring.cache.type=none} (perfil {@code nocache}).
+ *
+ * @param todos cache de tarefas individuais, por id
+ * @param pages cache de páginas da listagem, por (page, pageSize, sortBy)
+ */
+@ConfigurationProperties("todos.cache")
+public record TodoCacheProperties(
+        @DefaultValue Spec todos,
+        @DefaultValue Spec pages
+) {
+
+    public record Spec(
+            @DefaultValue("10000") long maximumSize,
+            @DefaultValue("10m") Duration expireAfterWrite
+    ) {
+    }
+}
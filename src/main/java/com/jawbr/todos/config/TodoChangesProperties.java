@@ -0,0 +1,21 @@
+package com.jawbr.todos.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuração do fluxo de alterações ({@code GET /api/todos/changes}).
+ *
+ * @param bufferSize quantas alterações ficam guardadas para a retomada com {@code Last-Event-ID}
+ * @param heartbeat  intervalo do comentário enviado às conexões ociosas, para proxies não as encerrarem
+ * @param timeout    duração máxima de uma conexão; o cliente reconecta e retoma de onde parou
+ */
+@ConfigurationProperties("todos.changes")
+public record TodoChangesProperties(
+        @DefaultValue("10000") int bufferSize,
+        @DefaultValue("15s") Duration heartbeat,
+        @DefaultValue("30m") Duration timeout
+) {
+}
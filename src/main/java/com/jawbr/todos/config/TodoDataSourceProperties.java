@@ -0,0 +1,55 @@
+package com.jawbr.todos.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Réplicas de leitura e shards. Sem réplicas nem shards configurados, tudo vai para {@code spring.datasource.url}.
+ *
+ * @param replicas                 réplicas que recebem as transações somente leitura
+ * @param shards                   bancos além de {@code spring.datasource.url}, que é o shard 0; {@code shards[i]} é o
+ *                                 shard {@code i + 1}. Não combina com réplicas
+ * @param idBlockSize              ids reservados por vez na tabela {@code todos_ids} do shard 0
+ * @param rebalance                move as tarefas para o shard dono de cada id e encerra a aplicação, depois de
+ *                                 acrescentar shards
+ * @param readAfterWriteWindow     por quanto tempo depois de uma escrita as leituras do mesmo cliente continuam no
+ *                                 primário; deve cobrir o atraso de replicação
+ * @param replicaRetryInterval     por quanto tempo uma réplica que falhou ao conectar fica fora da escolha
+ * @param replicaConnectionTimeout espera máxima por uma conexão da réplica antes de usar o primário
+ */
+@ConfigurationProperties("todos.datasource")
+public record TodoDataSourceProperties(
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue List<Shard> shards,
+        @DefaultValue("50") int idBlockSize,
+        @DefaultValue("false") boolean rebalance,
+        @DefaultValue("5s") Duration readAfterWriteWindow,
+        @DefaultValue("30s") Duration replicaRetryInterval,
+        @DefaultValue("1s") Duration replicaConnectionTimeout
+) {
+
+    /**
+     * @param username usuário da réplica; sem valor, o mesmo do primário
+     * @param password senha da réplica; sem valor, a mesma do primário
+     */
+    public record Replica(
+            String url,
+            String username,
+            String password
+    ) {
+    }
+
+    /**
+     * @param username usuário do shard; sem valor, o mesmo de {@code spring.datasource}
+     * @param password senha do shard; sem valor, a mesma de {@code spring.datasource}
+     */
+    public record Shard(
+            String url,
+            String username,
+            String password
+    ) {
+    }
+}
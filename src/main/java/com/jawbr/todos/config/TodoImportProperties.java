@@ -0,0 +1,17 @@
+package com.jawbr.todos.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração da importação em massa.
+ *
+ * @param chunkSize quantidade de tarefas gravadas por transação
+ * @param maxErrors quantidade máxima de linhas rejeitadas detalhadas no resumo; as demais só entram na contagem
+ */
+@ConfigurationProperties("todos.import")
+public record TodoImportProperties(
+        @DefaultValue("1000") int chunkSize,
+        @DefaultValue("100") int maxErrors
+) {
+}
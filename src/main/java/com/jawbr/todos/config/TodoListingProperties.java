@@ -0,0 +1,16 @@
+package com.jawbr.todos.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuração da listagem de tarefas.
+ *
+ * @param emptyPageNotFound se uma página sem tarefas é respondida com 404; com {@code false}, volta 200 com
+ *                          {@code content} vazio, sem passar pelo caminho de exceção
+ */
+@ConfigurationProperties("todos.listing")
+public record TodoListingProperties(
+        @DefaultValue("true") boolean emptyPageNotFound
+) {
+}
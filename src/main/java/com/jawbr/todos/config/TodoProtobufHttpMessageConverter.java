@@ -0,0 +1,193 @@
+package com.jawbr.todos.config;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.WireFormat;
+import com.jawbr.todos.dto.request.TodoRequest;
+import com.jawbr.todos.dto.response.CursorPage;
+import com.jawbr.todos.dto.response.OffsetPage;
+import com.jawbr.todos.dto.response.TodoView;
+import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.exception.errorResponse.ErrorResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Lê e escreve {@code application/x-protobuf} para {@code /api/todos}, seguindo as mensagens de
+ * {@code src/main/proto/todos.proto}. A codificação é feita direto com {@link CodedOutputStream}, sem classes
+ * geradas pelo {@code protoc}: os objetos da resposta são escritos sem cópia para mensagens intermediárias.
+ */
+public class TodoProtobufHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private static final Set<Class<?>> WRITABLE = Set.of(Todo.class, OffsetPage.class, CursorPage.class, ErrorResponse.class);
+
+    // Tags de TodoRequest: número do campo << 3 | tipo
+    private static final int REQUEST_NOME = 1 << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+    private static final int REQUEST_DESCRICAO = 2 << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+    private static final int REQUEST_REALIZADO = 3 << 3 | WireFormat.WIRETYPE_VARINT;
+    private static final int REQUEST_PRIORIDADE = 4 << 3 | WireFormat.WIRETYPE_VARINT;
+
+    private static final int BUFFER_SIZE = 1024;
+
+    public TodoProtobufHttpMessageConverter() {
+        super(APPLICATION_PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == TodoRequest.class || WRITABLE.contains(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return clazz == TodoRequest.class && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+        return WRITABLE.contains(clazz) && canWrite(mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        CodedInputStream input = CodedInputStream.newInstance(inputMessage.getBody());
+        String nome = null;
+        String descricao = null;
+        boolean realizado = false;
+        int prioridade = 0;
+        try {
+            for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+                switch (tag) {
+                    case REQUEST_NOME -> nome = input.readStringRequireUtf8();
+                    case REQUEST_DESCRICAO -> descricao = input.readStringRequireUtf8();
+                    case REQUEST_REALIZADO -> realizado = input.readBool();
+                    case REQUEST_PRIORIDADE -> prioridade = input.readInt32();
+                    default -> input.skipField(tag);
+                }
+            }
+        } catch (InvalidProtocolBufferException e) {
+            throw new HttpMessageNotReadableException("Protobuf inválido.", e, inputMessage);
+        }
+        return new TodoRequest(nome, descricao, realizado, prioridade);
+    }
+
+    @Override
+    protected void writeInternal(Object object, HttpOutputMessage outputMessage) throws IOException {
+        CodedOutputStream output = CodedOutputStream.newInstance(outputMessage.getBody(), BUFFER_SIZE);
+        switch (object) {
+            case Todo todo -> writeFields(output, todo);
+            case OffsetPage<?> page -> {
+                writeContent(output, page.content());
+                output.writeInt32(2, page.page());
+                output.writeInt32(3, page.pageSize());
+                output.writeInt64(4, page.totalElements());
+                output.writeInt32(5, page.totalPages());
+            }
+            case CursorPage<?> page -> {
+                writeContent(output, page.content());
+                output.writeInt32(2, page.size());
+                output.writeBool(3, page.hasNext());
+                if (page.next() != null) {
+                    output.writeString(4, page.next());
+                }
+            }
+            case ErrorResponse error -> {
+                output.writeInt32(1, error.getStatus());
+                writeString(output, 2, error.getMessage());
+                writeString(output, 3, error.getTimeStamp());
+            }
+            default -> throw new HttpMessageNotWritableException("Tipo sem formato protobuf: " + object.getClass().getName());
+        }
+        output.flush();
+    }
+
+    private static void writeContent(CodedOutputStream output, List<?> content) throws IOException {
+        for (Object item : content) {
+            output.writeTag(1, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            if (item instanceof TodoView view) {
+                output.writeUInt32NoTag(size(view));
+                writeFields(output, view);
+            } else {
+                Todo todo = (Todo) item;
+                output.writeUInt32NoTag(size(todo));
+                writeFields(output, todo);
+            }
+        }
+    }
+
+    private static int size(Todo todo) {
+        return CodedOutputStream.computeInt32Size(1, todo.getId())
+                + stringSize(2, todo.getNome())
+                + stringSize(3, todo.getDescricao())
+                + CodedOutputStream.computeBoolSize(4, todo.isRealizado())
+                + CodedOutputStream.computeInt32Size(5, todo.getPrioridade())
+                + CodedOutputStream.computeInt64Size(6, todo.getVersion());
+    }
+
+    private static void writeFields(CodedOutputStream output, Todo todo) throws IOException {
+        output.writeInt32(1, todo.getId());
+        writeString(output, 2, todo.getNome());
+        writeString(output, 3, todo.getDescricao());
+        output.writeBool(4, todo.isRealizado());
+        output.writeInt32(5, todo.getPrioridade());
+        output.writeInt64(6, todo.getVersion());
+    }
+
+    // Campos não selecionados em fields ficam nulos e não são escritos
+    private static int size(TodoView view) {
+        int size = 0;
+        if (view.id() != null) {
+            size += CodedOutputStream.computeInt32Size(1, view.id());
+        }
+        size += stringSize(2, view.nome()) + stringSize(3, view.descricao());
+        if (view.realizado() != null) {
+            size += CodedOutputStream.computeBoolSize(4, view.realizado());
+        }
+        if (view.prioridade() != null) {
+            size += CodedOutputStream.computeInt32Size(5, view.prioridade());
+        }
+        if (view.version() != null) {
+            size += CodedOutputStream.computeInt64Size(6, view.version());
+        }
+        return size;
+    }
+
+    private static void writeFields(CodedOutputStream output, TodoView view) throws IOException {
+        if (view.id() != null) {
+            output.writeInt32(1, view.id());
+        }
+        writeString(output, 2, view.nome());
+        writeString(output, 3, view.descricao());
+        if (view.realizado() != null) {
+            output.writeBool(4, view.realizado());
+        }
+        if (view.prioridade() != null) {
+            output.writeInt32(5, view.prioridade());
+        }
+        if (view.version() != null) {
+            output.writeInt64(6, view.version());
+        }
+    }
+
+    private static int stringSize(int field, String value) {
+        return value == null ? 0 : CodedOutputStream.computeStringSize(field, value);
+    }
+
+    private static void writeString(CodedOutputStream output, int field, String value) throws IOException {
+        if (value != null) {
+            output.writeString(field, value);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.jawbr.todos.config;
+
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Distribuição das tarefas entre os shards ({@code spring.datasource} e {@code todos.datasource.shards}). O dono de
+ * cada id vem de um hash consistente (jump consistent hash), então acrescentar um shard só move para ele a fração
+ * {@code 1 / n} das tarefas, sem trocas entre os shards antigos.
+ * <p>
+ * O shard de cada operação fica na thread atual durante {@link #onShard(int, Supplier)} e é lido pelo
+ * {@code ShardRoutingDataSource} no primeiro comando da transação. Com um único shard, nada é fixado e tudo roda na
+ * thread atual, como sem sharding.
+ */
+public class TodoShards implements DisposableBean {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private final int count;
+    private final ExecutorService executor;
+
+    public TodoShards(int count) {
+        this.count = count;
+        // As consultas em paralelo passam a maior parte do tempo esperando o banco
+        this.executor = count > 1 ? Executors.newVirtualThreadPerTaskExecutor() : null;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Shard dono do id; depende só do id e da quantidade de shards.
+     */
+    public int shardFor(int id) {
+        return shardFor(id, count);
+    }
+
+    // Lamping e Veach, "A Fast, Minimal Memory, Consistent Hash Algorithm"
+    static int shardFor(int id, int count) {
+        long key = id;
+        long bucket = -1;
+        long next = 0;
+        while (next < count) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+
+    /**
+     * Executa {@code action} com as transações abertas nela indo para {@code shard}. Transações já em andamento na
+     * thread continuam no shard em que começaram.
+     */
+    public <T> T onShard(int shard, Supplier<T> action) {
+        if (count == 1) {
+            return action.get();
+        }
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public void onShard(int shard, Runnable action) {
+        onShard(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Executa {@code action} em cada shard, um depois do outro, na thread atual.
+     */
+    public void forEachShard(IntConsumer action) {
+        for (int shard = 0; shard < count; shard++) {
+            int current = shard;
+            onShard(shard, () -> action.accept(current));
+        }
+    }
+
+    /**
+     * Executa {@code action} em todos os shards em paralelo, cada um em uma thread sem a transação da thread atual,
+     * e devolve os resultados na ordem dos shards. A primeira falha é relançada.
+     */
+    public <T> List<T> onAllShards(IntFunction<T> action) {
+        if (count == 1) {
+            return List.of(action.apply(0));
+        }
+        List<Future<T>> futures = new ArrayList<>(count);
+        for (int shard = 0; shard < count; shard++) {
+            int current = shard;
+            futures.add(executor.submit(() -> onShard(current, () -> action.apply(current))));
+        }
+        List<T> results = new ArrayList<>(count);
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Consulta aos shards interrompida", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        return results;
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Shard fixado na thread atual, ou 0 fora de {@link #onShard(int, Supplier)}.
+     */
+    static int current() {
+        Integer shard = CURRENT.get();
+        return shard == null ? 0 : shard;
+    }
+}
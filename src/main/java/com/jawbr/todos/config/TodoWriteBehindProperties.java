@@ -0,0 +1,19 @@
+package com.jawbr.todos.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuração da gravação adiada das atualizações ({@code PUT} com {@code Prefer: respond-async}).
+ *
+ * @param enabled se o {@code Prefer: respond-async} é atendido; desligado, toda atualização é gravada na requisição
+ * @param window  intervalo entre as gravações; atualizações da mesma tarefa dentro dele viram uma só
+ */
+@ConfigurationProperties("todos.write-behind")
+public record TodoWriteBehindProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("200ms") Duration window
+) {
+}
@@ -0,0 +1,33 @@
+package com.jawbr.todos.config;
+
+/**
+ * Balde de fichas de um cliente: enche a {@code rate} fichas por segundo até {@code capacity}, e cada requisição
+ * gasta uma. Os métodos são sincronizados, mas cada cliente tem o próprio balde e a seção crítica é só aritmética.
+ */
+final class TokenBucket {
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(double rate, double capacity, long now) {
+        this.tokensPerNano = rate / 1e9;
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.refilledAt = now;
+    }
+
+    /**
+     * @return 0 se a ficha foi gasta, ou quantos nanossegundos faltam para a próxima ficha
+     */
+    synchronized long tryAcquire(long now) {
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / tokensPerNano);
+    }
+}
@@ -0,0 +1,33 @@
+package com.jawbr.todos.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Modo opcional ({@code todos.threads.virtual=true}, ligado pelo profile {@code virtual}) em que cada requisição do
+ * Tomcat e cada resposta assíncrona (exportação) roda em uma virtual thread. Enquanto a requisição espera o banco, a
+ * virtual thread libera a thread do sistema, então a concorrência deixa de ser limitada por
+ * {@code server.tomcat.threads.max} e passa a ser limitada pelo pool de conexões.
+ */
+@Configuration
+@ConditionalOnProperty(name = "todos.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    // Substitui o pool de threads usado pelo Spring MVC para StreamingResponseBody
+    @Bean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
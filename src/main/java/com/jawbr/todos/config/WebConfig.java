@@ -0,0 +1,61 @@
+package com.jawbr.todos.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<AdmissionControlInterceptor> admissionControlInterceptor;
+
+    public WebConfig(ObjectProvider<AdmissionControlInterceptor> admissionControlInterceptor) {
+        this.admissionControlInterceptor = admissionControlInterceptor;
+    }
+
+    // Conversores do Spring Boot, entre eles o de enums sem diferenciar maiúsculas (?format=csv)
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        ApplicationConversionService.addApplicationConverters(registry);
+    }
+
+    // O feed de alterações, a exportação e a importação são longos e já têm limites próprios (conexões e tempo
+    // limite); medir a duração deles como latência do banco derrubaria o limite das demais requisições
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        admissionControlInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor)
+                .addPathPatterns("/api/todos/**")
+                .excludePathPatterns("/api/todos/changes", "/api/todos/export", "/api/todos/import"));
+    }
+
+    // Formatos binários negociados por Accept / Content-Type. CBOR e Smile usam o mesmo ObjectMapper configurado
+    // pelo Spring Boot (spring.jackson.*) que o JSON e substituem os conversores padrão do Spring MVC para eles.
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    // No fim da lista: com Accept */* ou ausente, o JSON continua sendo o primeiro formato escolhido
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new TodoProtobufHttpMessageConverter());
+    }
+}
@@ -0,0 +1,42 @@
+package com.jawbr.todos.controller;
+
+import com.jawbr.todos.dto.request.TodoRequest;
+import com.jawbr.todos.dto.request.TodoUpdateRequest;
+import com.jawbr.todos.dto.response.TodoBatchResult;
+import com.jawbr.todos.service.TodoBatchService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/todos/batch")
+public class TodoBatchController {
+
+    private final TodoBatchService todoBatchService;
+
+    public TodoBatchController(TodoBatchService todoBatchService) {
+        this.todoBatchService = todoBatchService;
+    }
+
+    @PostMapping
+    public ResponseEntity<List<TodoBatchResult>> createTodos(@RequestBody List<TodoRequest> todos) {
+        return new ResponseEntity<>(todoBatchService.createTodos(todos), HttpStatus.MULTI_STATUS);
+    }
+
+    @PutMapping
+    public ResponseEntity<List<TodoBatchResult>> updateTodos(@RequestBody List<TodoUpdateRequest> todos) {
+        return new ResponseEntity<>(todoBatchService.updateTodos(todos), HttpStatus.MULTI_STATUS);
+    }
+
+    @DeleteMapping
+    public ResponseEntity<List<TodoBatchResult>> deleteTodos(@RequestBody List<Integer> ids) {
+        return new ResponseEntity<>(todoBatchService.deleteTodosById(ids), HttpStatus.MULTI_STATUS);
+    }
+}
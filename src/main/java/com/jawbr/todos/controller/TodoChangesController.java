@@ -0,0 +1,25 @@
+package com.jawbr.todos.controller;
+
+import com.jawbr.todos.service.TodoChangesService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/todos/changes")
+public class TodoChangesController {
+
+    private final TodoChangesService todoChangesService;
+
+    public TodoChangesController(TodoChangesService todoChangesService) {
+        this.todoChangesService = todoChangesService;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getChanges(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return todoChangesService.subscribe(lastEventId);
+    }
+}
@@ -1,10 +1,16 @@
 package com.jawbr.todos.controller;
 
+import com.jawbr.todos.dto.request.TodoFilter;
 import com.jawbr.todos.dto.request.TodoRequest;
+import com.jawbr.todos.dto.response.CursorPage;
+import com.jawbr.todos.dto.response.OffsetPage;
+import com.jawbr.todos.dto.response.TodoView;
 import com.jawbr.todos.entity.Todo;
 import com.jawbr.todos.service.TodoService;
+import com.jawbr.todos.service.TodoWriteBehindService;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -14,37 +20,108 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/api/todos")
 public class TodoController {
 
+    private static final String PREFER = "Prefer";
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+
     private final TodoService todoService;
+    private final TodoWriteBehindService todoWriteBehindService;
 
-    public TodoController(TodoService todoService) {
+    public TodoController(TodoService todoService, TodoWriteBehindService todoWriteBehindService) {
         this.todoService = todoService;
+        this.todoWriteBehindService = todoWriteBehindService;
     }
 
+    // Respostas com ETag: o Spring devolve 304 sem serializar o corpo quando o If-None-Match confere.
+    // Com fields, só as colunas pedidas são lidas do banco e serializadas.
+    // O formato (JSON, CBOR, Smile ou protobuf) segue o Accept, por isso as respostas variam por ele.
+
     @GetMapping
-    public Page<Todo> findAllTodos(
+    public ResponseEntity<OffsetPage<?>> findAllTodos(
             @RequestParam(required = false) Integer page,
             @RequestParam(required = false) Integer pageSize,
-            @RequestParam(required = false) String sortBy)
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) Boolean realizado,
+            @RequestParam(required = false) Integer prioridadeMin,
+            @RequestParam(required = false) Integer prioridadeMax,
+            @RequestParam(required = false) String nome,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(required = false) List<String> fields)
+    {
+        TodoFilter filter = new TodoFilter(realizado, prioridadeMin, prioridadeMax, nome, includeArchived);
+        if (fields != null) {
+            Page<TodoView> todos = todoService.findAllTodos(page, pageSize, sortBy, filter, fields);
+            return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).eTag(TodoETags.ofViews(todos, fields)).body(OffsetPage.of(todos));
+        }
+        Page<Todo> todos = todoService.findAllTodos(page, pageSize, sortBy, filter);
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).eTag(TodoETags.of(todos)).body(OffsetPage.of(todos));
+    }
+
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPage<?>> findAllTodosAfter(
+            @RequestParam String after,
+            @RequestParam(required = false) Integer pageSize,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) Boolean realizado,
+            @RequestParam(required = false) Integer prioridadeMin,
+            @RequestParam(required = false) Integer prioridadeMax,
+            @RequestParam(required = false) String nome,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestParam(required = false) List<String> fields)
     {
-        return todoService.findAllTodos(page, pageSize, sortBy);
+        TodoFilter filter = new TodoFilter(realizado, prioridadeMin, prioridadeMax, nome, includeArchived);
+        if (fields != null) {
+            CursorPage<TodoView> todos = todoService.findAllTodosAfter(after, pageSize, sortBy, filter, fields);
+            return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).eTag(TodoETags.ofViews(todos, fields)).body(todos);
+        }
+        CursorPage<Todo> todos = todoService.findAllTodosAfter(after, pageSize, sortBy, filter);
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).eTag(TodoETags.of(todos)).body(todos);
+    }
+
+    // Atualização aceita e ainda não gravada volta sem ETag: a versão dela só é conhecida na gravação
+    @GetMapping("/{id}")
+    public ResponseEntity<Todo> findTodoById(@PathVariable int id) {
+        Optional<Todo> pending = todoWriteBehindService.pending(id);
+        if (pending.isPresent()) {
+            return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(pending.get());
+        }
+        Todo response = todoService.findTodoById(id);
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).eTag(TodoETags.of(response)).body(response);
     }
 
     @PostMapping
     public ResponseEntity<Todo> createTodo(@Valid @RequestBody TodoRequest todoRequest) {
         Todo response = todoService.createTodo(todoRequest);
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(TodoETags.of(response)).body(response);
     }
 
     @PutMapping("/{id}")
-    public Todo updateTodo(@PathVariable int id, @Valid @RequestBody TodoRequest todoRequest) {
-        return todoService.updateTodo(id, todoRequest);
+    public ResponseEntity<Todo> updateTodo(
+            @PathVariable int id,
+            @Valid @RequestBody TodoRequest todoRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = PREFER, required = false) String prefer)
+    {
+        // Com Prefer: respond-async a gravação é adiada e agrupada (202); atualização condicional é sempre síncrona
+        if (ifMatch == null && todoWriteBehindService.accepts(prefer)) {
+            Todo accepted = todoWriteBehindService.updateTodo(id, todoRequest);
+            return ResponseEntity.accepted().header(PREFERENCE_APPLIED, "respond-async").body(accepted);
+        }
+        Long expectedVersion = ifMatch == null ? null : TodoETags.expectedVersion(id, ifMatch);
+        Todo response = expectedVersion == null
+                ? todoService.updateTodo(id, todoRequest)
+                : todoService.updateTodo(id, todoRequest, expectedVersion);
+        return ResponseEntity.ok().eTag(TodoETags.of(response)).body(response);
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,102 @@
+package com.jawbr.todos.controller;
+
+import com.jawbr.todos.dto.response.CursorPage;
+import com.jawbr.todos.dto.response.TodoView;
+import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.exception.TodoVersionConflictException;
+import org.springframework.data.domain.Page;
+import org.springframework.util.DigestUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * ETags calculados a partir de id e versão das tarefas, sem serializar o corpo da resposta.
+ * Uma tarefa tem ETag forte {@code "<id>-<version>"}, usado no {@code If-Match}; uma página tem ETag fraco com o MD5
+ * dos pares (id, versão) do conteúdo e dos metadados que aparecem no corpo. Páginas só são comparadas no
+ * {@code If-None-Match}, onde ETags fracos valem, e o Tomcat não comprime respostas com ETag forte.
+ */
+final class TodoETags {
+
+    private TodoETags() {
+    }
+
+    static String of(Todo todo) {
+        return "\"" + todo.getId() + "-" + todo.getVersion() + "\"";
+    }
+
+    static String of(Page<Todo> page) {
+        return of(page, Todo::getId, Todo::getVersion, "");
+    }
+
+    static String of(CursorPage<Todo> page) {
+        return of(page, Todo::getId, Todo::getVersion, "");
+    }
+
+    /**
+     * Páginas com {@code fields}: os campos entram no digest, já que o mesmo conteúdo com outros campos é outro corpo.
+     */
+    static String ofViews(Page<TodoView> page, List<String> fields) {
+        return of(page, TodoView::id, TodoView::version, String.valueOf(fields));
+    }
+
+    static String ofViews(CursorPage<TodoView> page, List<String> fields) {
+        return of(page, TodoView::id, TodoView::version, String.valueOf(fields));
+    }
+
+    private static <T> String of(Page<T> page, ToIntFunction<T> id, ToLongFunction<T> version, String fields) {
+        ByteBuffer buffer = digestBuffer(page.getContent(), id, version, 3)
+                .putLong(page.getNumber())
+                .putLong(page.getSize())
+                .putLong(page.getTotalElements());
+        return digest(buffer, page.getSort() + fields);
+    }
+
+    private static <T> String of(CursorPage<T> page, ToIntFunction<T> id, ToLongFunction<T> version, String fields) {
+        return digest(digestBuffer(page.content(), id, version, 0), page.next() + fields);
+    }
+
+    /**
+     * Extrai a versão esperada do cabeçalho {@code If-Match}. Devolve {@code null} para {@code *}, que só exige que a
+     * tarefa exista. ETags fracos ou de outra tarefa nunca conferem.
+     */
+    static Long expectedVersion(int id, String ifMatch) {
+        String eTag = ifMatch.trim();
+        if (eTag.equals("*")) {
+            return null;
+        }
+        String prefix = "\"" + id + "-";
+        if (!eTag.startsWith(prefix) || !eTag.endsWith("\"")) {
+            throw versionConflict(id);
+        }
+        try {
+            return Long.parseLong(eTag.substring(prefix.length(), eTag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw versionConflict(id);
+        }
+    }
+
+    private static <T> ByteBuffer digestBuffer(List<T> todos, ToIntFunction<T> id, ToLongFunction<T> version, int extraLongs) {
+        ByteBuffer buffer = ByteBuffer.allocate((todos.size() * 2 + extraLongs) * Long.BYTES);
+        for (T todo : todos) {
+            buffer.putLong(id.applyAsInt(todo)).putLong(version.applyAsLong(todo));
+        }
+        return buffer;
+    }
+
+    private static String digest(ByteBuffer buffer, String suffix) {
+        byte[] content = buffer.array();
+        byte[] extra = suffix.getBytes(StandardCharsets.UTF_8);
+        byte[] bytes = new byte[content.length + extra.length];
+        System.arraycopy(content, 0, bytes, 0, content.length);
+        System.arraycopy(extra, 0, bytes, content.length, extra.length);
+        return "W/\"" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+    }
+
+    private static TodoVersionConflictException versionConflict(int id) {
+        return new TodoVersionConflictException(String.format("Tarefa de id '%d' foi alterada por outra requisição.", id));
+    }
+}
@@ -0,0 +1,37 @@
+package com.jawbr.todos.controller;
+
+import com.jawbr.todos.service.TodoDataFormat;
+import com.jawbr.todos.service.TodoExportService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/todos/export")
+public class TodoExportController {
+
+    private final TodoExportService todoExportService;
+
+    public TodoExportController(TodoExportService todoExportService) {
+        this.todoExportService = todoExportService;
+    }
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportTodos(
+            @RequestParam(defaultValue = "NDJSON") TodoDataFormat format)
+    {
+        StreamingResponseBody body = out -> todoExportService.exportTodos(out, format);
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("todos." + format.extension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,32 @@
+package com.jawbr.todos.controller;
+
+import com.jawbr.todos.dto.response.TodoImportSummary;
+import com.jawbr.todos.service.TodoDataFormat;
+import com.jawbr.todos.service.TodoImportService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/todos/import")
+public class TodoImportController {
+
+    private final TodoImportService todoImportService;
+
+    public TodoImportController(TodoImportService todoImportService) {
+        this.todoImportService = todoImportService;
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public TodoImportSummary importNdjson(InputStream body) {
+        return todoImportService.importTodos(body, TodoDataFormat.NDJSON);
+    }
+
+    @PostMapping(consumes = "text/csv")
+    public TodoImportSummary importCsv(InputStream body) {
+        return todoImportService.importTodos(body, TodoDataFormat.CSV);
+    }
+}
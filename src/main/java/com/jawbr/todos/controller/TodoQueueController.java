@@ -0,0 +1,35 @@
+package com.jawbr.todos.controller;
+
+import com.jawbr.todos.dto.response.TodoView;
+import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.service.TodoQueueService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/todos/next")
+public class TodoQueueController {
+
+    private final TodoQueueService todoQueueService;
+
+    public TodoQueueController(TodoQueueService todoQueueService) {
+        this.todoQueueService = todoQueueService;
+    }
+
+    @GetMapping
+    public List<TodoView> next(@RequestParam(defaultValue = "10") int n) {
+        return todoQueueService.next(n);
+    }
+
+    @PostMapping("/claim")
+    public ResponseEntity<Todo> claim() {
+        Todo response = todoQueueService.claim();
+        return ResponseEntity.ok().eTag(TodoETags.of(response)).body(response);
+    }
+}
@@ -0,0 +1,29 @@
+package com.jawbr.todos.controller;
+
+import com.jawbr.todos.dto.response.OffsetPage;
+import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.service.TodoSearchService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/todos/search")
+public class TodoSearchController {
+
+    private final TodoSearchService todoSearchService;
+
+    public TodoSearchController(TodoSearchService todoSearchService) {
+        this.todoSearchService = todoSearchService;
+    }
+
+    @GetMapping
+    public OffsetPage<Todo> searchTodos(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer pageSize)
+    {
+        return OffsetPage.of(todoSearchService.searchTodos(q, page, pageSize));
+    }
+}
@@ -0,0 +1,23 @@
+package com.jawbr.todos.controller;
+
+import com.jawbr.todos.dto.response.TodoStats;
+import com.jawbr.todos.service.TodoStatsService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/todos/stats")
+public class TodoStatsController {
+
+    private final TodoStatsService todoStatsService;
+
+    public TodoStatsController(TodoStatsService todoStatsService) {
+        this.todoStatsService = todoStatsService;
+    }
+
+    @GetMapping
+    public TodoStats getStats() {
+        return todoStatsService.getStats();
+    }
+}
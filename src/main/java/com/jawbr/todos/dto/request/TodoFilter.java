@@ -0,0 +1,24 @@
+package com.jawbr.todos.dto.request;
+
+import lombok.Builder;
+
+/**
+ * Filtros opcionais da listagem; campos nulos não filtram.
+ *
+ * @param realizado       somente tarefas com esse estado
+ * @param prioridadeMin   prioridade mínima (inclusiva)
+ * @param prioridadeMax   prioridade máxima (inclusiva)
+ * @param nome            prefixo do nome da tarefa
+ * @param includeArchived inclui as tarefas arquivadas ({@code todos_archive}) na listagem
+ */
+@Builder
+public record TodoFilter(
+        Boolean realizado,
+        Integer prioridadeMin,
+        Integer prioridadeMax,
+        String nome,
+        boolean includeArchived
+) {
+
+    public static final TodoFilter NONE = new TodoFilter(null, null, null, null, false);
+}
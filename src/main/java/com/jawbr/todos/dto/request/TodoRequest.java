@@ -1,12 +1,15 @@
 package com.jawbr.todos.dto.request;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.Builder;
 
 @Builder
 public record TodoRequest(
-        @NotBlank(message = "Nome da tarefa não pode estar vazia!") String nome,
-        @NotBlank(message = "Descrição da tarefa não pode estar vazia!") String descricao,
+        @NotBlank(message = "Nome da tarefa não pode estar vazia!")
+        @Size(max = 255, message = "Nome da tarefa deve ter no máximo 255 caracteres!") String nome,
+        @NotBlank(message = "Descrição da tarefa não pode estar vazia!")
+        @Size(max = 255, message = "Descrição da tarefa deve ter no máximo 255 caracteres!") String descricao,
         boolean realizado,
         int prioridade
 ) {
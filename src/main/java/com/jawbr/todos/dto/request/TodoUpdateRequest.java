@@ -0,0 +1,24 @@
+package com.jawbr.todos.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+@Builder
+public record TodoUpdateRequest(
+        @NotNull(message = "Id da tarefa não pode estar vazio!") Integer id,
+        @NotBlank(message = "Nome da tarefa não pode estar vazia!")
+        @Size(max = 255, message = "Nome da tarefa deve ter no máximo 255 caracteres!") String nome,
+        @NotBlank(message = "Descrição da tarefa não pode estar vazia!")
+        @Size(max = 255, message = "Descrição da tarefa deve ter no máximo 255 caracteres!") String descricao,
+        boolean realizado,
+        int prioridade,
+        // Versão esperada, opcional: com ela o item só é gravado se a tarefa ainda estiver nessa versão (senão 412)
+        Long version
+) {
+
+    public TodoRequest toTodoRequest() {
+        return new TodoRequest(nome, descricao, realizado, prioridade);
+    }
+}
@@ -0,0 +1,15 @@
+package com.jawbr.todos.dto.response;
+
+import java.util.List;
+
+/**
+ * Página de uma listagem por cursor. Não carrega total de elementos: o cliente avança enviando {@code next}
+ * como parâmetro {@code after} até que {@code hasNext} seja {@code false}.
+ */
+public record CursorPage<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String next
+) {
+}
@@ -0,0 +1,23 @@
+package com.jawbr.todos.dto.response;
+
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Página de uma listagem por número de página, só com o que o cliente usa para paginar. Substitui o JSON de
+ * {@link Page}, que repete {@code pageable}, {@code sort} e outros metadados em toda resposta.
+ */
+public record OffsetPage<T>(
+        List<T> content,
+        int page,
+        int pageSize,
+        long totalElements,
+        int totalPages
+) {
+
+    public static <T> OffsetPage<T> of(Page<T> page) {
+        return new OffsetPage<>(page.getContent(), page.getNumber(), page.getSize(), page.getTotalElements(),
+                page.getTotalPages());
+    }
+}
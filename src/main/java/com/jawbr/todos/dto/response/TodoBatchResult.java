@@ -0,0 +1,29 @@
+package com.jawbr.todos.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.jawbr.todos.entity.Todo;
+
+/**
+ * Resultado de um item de uma operação em lote, na mesma posição ({@code index}) em que foi enviado.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TodoBatchResult(
+        int index,
+        Integer id,
+        int status,
+        String message,
+        Todo todo
+) {
+
+    public static TodoBatchResult success(int index, int status, Todo todo) {
+        return new TodoBatchResult(index, todo.getId(), status, null, todo);
+    }
+
+    public static TodoBatchResult success(int index, int status, Integer id) {
+        return new TodoBatchResult(index, id, status, null, null);
+    }
+
+    public static TodoBatchResult failure(int index, Integer id, int status, String message) {
+        return new TodoBatchResult(index, id, status, message, null);
+    }
+}
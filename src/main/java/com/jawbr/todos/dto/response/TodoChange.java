@@ -0,0 +1,14 @@
+package com.jawbr.todos.dto.response;
+
+import com.jawbr.todos.entity.Todo;
+
+/**
+ * Dados de um evento de {@code GET /api/todos/changes}.
+ *
+ * @param todo estado gravado, ou {@code null} quando a tarefa foi removida
+ */
+public record TodoChange(
+        int id,
+        Todo todo
+) {
+}
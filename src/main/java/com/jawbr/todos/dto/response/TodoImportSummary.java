@@ -0,0 +1,17 @@
+package com.jawbr.todos.dto.response;
+
+import java.util.List;
+
+/**
+ * Resumo de uma importação: linhas aceitas e rejeitadas, o detalhe das primeiras rejeições e o tempo total.
+ */
+public record TodoImportSummary(
+        long accepted,
+        long rejected,
+        List<LineError> errors,
+        long elapsedMillis
+) {
+
+    public record LineError(long line, String message) {
+    }
+}
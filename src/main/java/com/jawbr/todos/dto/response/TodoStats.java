@@ -0,0 +1,17 @@
+package com.jawbr.todos.dto.response;
+
+import lombok.Builder;
+
+import java.util.SortedMap;
+
+/**
+ * @param byPrioridade quantidade de tarefas por prioridade, só com as prioridades que têm tarefas
+ */
+@Builder
+public record TodoStats(
+        long total,
+        long pending,
+        long completed,
+        SortedMap<Integer, Long> byPrioridade
+) {
+}
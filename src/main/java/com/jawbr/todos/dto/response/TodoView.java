@@ -0,0 +1,20 @@
+package com.jawbr.todos.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+
+/**
+ * Tarefa com apenas os campos pedidos em {@code fields}; os que não foram selecionados ficam nulos e não são
+ * serializados.
+ */
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TodoView(
+        Integer id,
+        String nome,
+        String descricao,
+        Boolean realizado,
+        Integer prioridade,
+        Long version
+) {
+}
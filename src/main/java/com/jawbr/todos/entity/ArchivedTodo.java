@@ -0,0 +1,59 @@
+package com.jawbr.todos.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Tarefa realizada movida de {@code todos} para {@code todos_archive} pelo arquivamento. Mesmas colunas, mesmo id;
+ * somente leitura para a API.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+// Os mesmos índices de ordenação da tabela principal, para a listagem com includeArchived ler só o início de cada
+// tabela; realizado é sempre verdadeiro aqui
+@Table(name = "todos_archive", indexes = {
+        @Index(name = "idx_todos_archive_prioridade", columnList = "prioridade DESC, id"),
+        @Index(name = "idx_todos_archive_nome", columnList = "nome, id")
+})
+public class ArchivedTodo {
+
+    @Id
+    private int id;
+
+    private String nome;
+
+    private String descricao;
+
+    private boolean realizado;
+
+    private int prioridade;
+
+    private long version;
+
+    private Instant realizadoEm;
+
+    private Instant arquivadoEm;
+
+    public Todo toTodo() {
+        return Todo.builder()
+                .id(id)
+                .nome(nome)
+                .descricao(descricao)
+                .realizado(realizado)
+                .prioridade(prioridade)
+                .version(version)
+                .realizadoEm(realizadoEm)
+                .build();
+    }
+}
@@ -1,25 +1,38 @@
 package com.jawbr.todos.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "todos")
+// Índices para os filtros e ordenações mais comuns da listagem. As colunas terminam em id porque a listagem por cursor
+// desempata por id; com prioridade DESC e id ASC no próprio índice, o banco lê as linhas já na ordem pedida, sem sort.
+@Table(name = "todos", indexes = {
+        @Index(name = "idx_todos_realizado_prioridade", columnList = "realizado, prioridade DESC, id"),
+        @Index(name = "idx_todos_prioridade", columnList = "prioridade DESC, id"),
+        @Index(name = "idx_todos_nome", columnList = "nome, id"),
+        @Index(name = "idx_todos_realizado_em", columnList = "realizadoEm")
+})
 public class Todo {
 
+    // Atribuído por TodoIdGenerator, em blocos, único entre os shards. Ao contrário de IDENTITY, o id é conhecido antes
+    // do INSERT: decide o shard da tarefa e deixa o Hibernate agrupar os inserts em batches JDBC.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private int id;
 
     private String nome;
@@ -30,4 +43,24 @@ public class Todo {
 
     private int prioridade;
 
+    // Muda a cada escrita; é a base do ETag da tarefa e do controle otimista com If-Match
+    @Version
+    private long version;
+
+    // Quando a tarefa passou a realizada; é a idade usada pelo arquivamento (TodoArchiveService). Fora da resposta:
+    // nas atualizações com um único UPDATE, o valor gravado é decidido no banco
+    @JsonIgnore
+    private Instant realizadoEm;
+
+    // Gravações por entidade (criação, lote, importação); o UPDATE de TodoRepository#updateTodo faz o mesmo na consulta
+    @PrePersist
+    @PreUpdate
+    void updateRealizadoEm() {
+        if (!realizado) {
+            realizadoEm = null;
+        } else if (realizadoEm == null) {
+            realizadoEm = Instant.now();
+        }
+    }
+
 }
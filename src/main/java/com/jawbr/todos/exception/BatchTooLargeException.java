@@ -0,0 +1,16 @@
+package com.jawbr.todos.exception;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@EqualsAndHashCode(callSuper = true)
+@AllArgsConstructor
+@Data
+@ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+public class BatchTooLargeException extends RuntimeException {
+
+    private String message;
+}
@@ -1,16 +1,26 @@
 package com.jawbr.todos.exception;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
-@EqualsAndHashCode(callSuper = true)
-@AllArgsConstructor
-@Data
+/**
+ * Tarefa ou página inexistente. É lançada a cada id ausente e a cada página vazia, então não captura stack trace
+ * (sempre respondida com 404 por {@code TodoExceptionHandler}, nunca logada) e as mensagens fixas vêm prontas:
+ * {@link #NO_TODOS} é uma instância única, segura para compartilhar por ser imutável e sem stack trace.
+ */
 @ResponseStatus(HttpStatus.NOT_FOUND)
-public class TodoNotFoundException extends RuntimeException{
+public class TodoNotFoundException extends RuntimeException {
 
-    private String message;
+    public static final TodoNotFoundException NO_TODOS = new TodoNotFoundException("Nenhuma tarefa encontrada.");
+
+    private static final String ID_PREFIX = "Tarefa de id '";
+    private static final String ID_SUFFIX = "' não encontrada.";
+
+    public TodoNotFoundException(String message) {
+        super(message, null, false, false);
+    }
+
+    public static TodoNotFoundException forId(int id) {
+        return new TodoNotFoundException(ID_PREFIX + id + ID_SUFFIX);
+    }
 }
@@ -0,0 +1,16 @@
+package com.jawbr.todos.exception;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@EqualsAndHashCode(callSuper = true)
+@AllArgsConstructor
+@Data
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class TodoVersionConflictException extends RuntimeException {
+
+    private String message;
+}
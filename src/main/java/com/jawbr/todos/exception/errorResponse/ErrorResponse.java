@@ -2,12 +2,20 @@ package com.jawbr.todos.exception.errorResponse;
 
 import lombok.Data;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 
 @Data
 public class ErrorResponse {
 
+    // DateTimeFormatter é imutável e thread-safe; criar um por erro custava o parse do padrão a cada resposta
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd hh:mm:ss a");
+
+    // O padrão tem resolução de segundos: erros do mesmo segundo reaproveitam o texto já formatado
+    private static volatile FormattedSecond lastSecond = new FormattedSecond(Long.MIN_VALUE, null);
+
     private int status;
     private String message;
     private String timeStamp;
@@ -18,9 +26,18 @@ public class ErrorResponse {
         this.timeStamp = formatTimestamp(timeStamp);
     }
 
-    private String formatTimestamp(long timeStamp) {
-        LocalDateTime dateTime = LocalDateTime.ofInstant(java.time.Instant.ofEpochMilli(timeStamp), java.time.ZoneId.systemDefault());
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd hh:mm:ss a");
-        return dateTime.format(formatter);
+    private static String formatTimestamp(long timeStamp) {
+        long second = Math.floorDiv(timeStamp, 1000);
+        FormattedSecond cached = lastSecond;
+        if (cached.second() == second) {
+            return cached.text();
+        }
+        LocalDateTime dateTime = LocalDateTime.ofInstant(Instant.ofEpochSecond(second), ZoneId.systemDefault());
+        String text = dateTime.format(FORMATTER);
+        lastSecond = new FormattedSecond(second, text);
+        return text;
+    }
+
+    private record FormattedSecond(long second, String text) {
     }
 }
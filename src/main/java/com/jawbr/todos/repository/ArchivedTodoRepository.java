@@ -0,0 +1,44 @@
+package com.jawbr.todos.repository;
+
+import com.jawbr.todos.entity.ArchivedTodo;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface ArchivedTodoRepository extends JpaRepository<ArchivedTodo, Integer>, JpaSpecificationExecutor<ArchivedTodo> {
+
+    /**
+     * Copia as tarefas de {@code ids} para o arquivo com um único {@code INSERT ... SELECT}, sem carregá-las.
+     * Deve rodar na transação que travou e vai remover as mesmas linhas de {@code todos}.
+     *
+     * @return quantidade de linhas copiadas
+     */
+    @Modifying
+    @Query("""
+            insert into ArchivedTodo (id, nome, descricao, realizado, prioridade, version, realizadoEm, arquivadoEm)
+            select t.id, t.nome, t.descricao, t.realizado, t.prioridade, t.version, t.realizadoEm, :arquivadoEm
+            from Todo t where t.id in :ids""")
+    int copyFromTodos(@Param("ids") Collection<Integer> ids, @Param("arquivadoEm") Instant arquivadoEm);
+
+    /**
+     * Contagem por (realizado, prioridade), somada à da tabela principal nas estatísticas.
+     */
+    @Query("select t.realizado, t.prioridade, count(t) from ArchivedTodo t group by t.realizado, t.prioridade")
+    List<Object[]> countByRealizadoAndPrioridade();
+
+    @Query("select t.id from ArchivedTodo t where t.id in :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Ids maiores que {@code after}, em ordem crescente, para percorrer o arquivo inteiro por páginas.
+     */
+    @Query("select t.id from ArchivedTodo t where t.id > :after order by t.id")
+    List<Integer> findIdsAfter(@Param("after") int after, Pageable pageable);
+}
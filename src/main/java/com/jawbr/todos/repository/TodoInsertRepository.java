@@ -0,0 +1,16 @@
+package com.jawbr.todos.repository;
+
+import com.jawbr.todos.entity.Todo;
+
+import java.util.List;
+
+/**
+ * Inclusão de tarefas que já têm id ({@code TodoIdGenerator}). O {@code save} do Spring Data trataria o id preenchido
+ * como tarefa existente e faria um {@code SELECT} antes de cada {@code INSERT}.
+ */
+public interface TodoInsertRepository {
+
+    Todo insert(Todo todo);
+
+    List<Todo> insertAll(List<Todo> todos);
+}
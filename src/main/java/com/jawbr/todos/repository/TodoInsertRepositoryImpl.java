@@ -0,0 +1,30 @@
+package com.jawbr.todos.repository;
+
+import com.jawbr.todos.entity.Todo;
+import jakarta.persistence.EntityManager;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+class TodoInsertRepositoryImpl implements TodoInsertRepository {
+
+    private final EntityManager entityManager;
+
+    TodoInsertRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional
+    public Todo insert(Todo todo) {
+        entityManager.persist(todo);
+        return todo;
+    }
+
+    @Override
+    @Transactional
+    public List<Todo> insertAll(List<Todo> todos) {
+        todos.forEach(entityManager::persist);
+        return todos;
+    }
+}
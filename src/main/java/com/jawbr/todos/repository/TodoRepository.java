@@ -1,8 +1,107 @@
 package com.jawbr.todos.repository;
 
 import com.jawbr.todos.entity.Todo;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface TodoRepository extends JpaRepository<Todo, Integer> {
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
+public interface TodoRepository extends JpaRepository<Todo, Integer>, JpaSpecificationExecutor<Todo>, TodoViewRepository,
+        TodoInsertRepository {
+
+    /**
+     * Valor do lock timeout que o Hibernate traduz para {@code SKIP LOCKED} (o antigo {@code LockOptions.SKIP_LOCKED}).
+     */
+    String SKIP_LOCKED_TIMEOUT = "-2";
+
+    /**
+     * Percorre todas as tarefas com um cursor só de ida. Deve ser consumido dentro de uma transação e fechado ao
+     * final; no MySQL o fetch size só vira cursor no servidor com {@code useCursorFetch=true} na URL.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")})
+    @Query("select t from Todo t order by t.id")
+    Stream<Todo> streamAll();
+
+    /**
+     * Como {@link #streamAll()}, mas só com as colunas das estatísticas.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")})
+    @Query("select new com.jawbr.todos.repository.TodoState(t.id, t.realizado, t.prioridade) from Todo t")
+    Stream<TodoState> streamStates();
+
+    /**
+     * Contagem por (realizado, prioridade), para conferir as estatísticas mantidas em memória.
+     */
+    @Query("select t.realizado, t.prioridade, count(t) from Todo t group by t.realizado, t.prioridade")
+    List<Object[]> countByRealizadoAndPrioridade();
+
+    @Query("select t.id from Todo t where t.id in :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Ids maiores que {@code after}, em ordem crescente, para percorrer a tabela inteira por páginas.
+     */
+    @Query("select t.id from Todo t where t.id > :after order by t.id")
+    List<Integer> findIdsAfter(@Param("after") int after, Pageable pageable);
+
+    /**
+     * Atualiza a tarefa com um único {@code UPDATE}, sem carregar a entidade antes. Quando
+     * {@code expectedVersion} é informado, só atualiza se a versão atual for essa. {@code realizadoEm} guarda a data
+     * da primeira vez em que a tarefa foi marcada como realizada e é limpo quando ela volta a pendente.
+     *
+     * @return quantidade de linhas alteradas; 0 quando o id não existe ou a versão não confere
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            update Todo t
+            set t.nome = :nome, t.descricao = :descricao, t.realizado = :realizado, t.prioridade = :prioridade, t.version = :version,
+                t.realizadoEm = case when :realizado = true then coalesce(t.realizadoEm, instant) else null end
+            where t.id = :id and (:expectedVersion is null or t.version = :expectedVersion)""")
+    int updateTodo(@Param("id") int id,
+                   @Param("expectedVersion") Long expectedVersion,
+                   @Param("version") long version,
+                   @Param("nome") String nome,
+                   @Param("descricao") String descricao,
+                   @Param("realizado") boolean realizado,
+                   @Param("prioridade") int prioridade);
+
+    /**
+     * Ids das tarefas realizadas antes de {@code cutoff}, das mais antigas para as mais novas, travados até o fim da
+     * transação. Linhas já travadas por outra transação (uma atualização em andamento) são puladas, e não esperadas,
+     * onde o banco suporta {@code SKIP LOCKED}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = SKIP_LOCKED_TIMEOUT))
+    @Query("select t.id from Todo t where t.realizadoEm < :cutoff order by t.realizadoEm")
+    List<Integer> lockArchivable(@Param("cutoff") Instant cutoff, Pageable pageable);
+
+    /**
+     * Remove a tarefa com um único {@code DELETE}, sem carregar a entidade antes.
+     *
+     * @return quantidade de linhas removidas; 0 quando o id não existe
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from Todo t where t.id = :id")
+    int deleteTodoById(@Param("id") int id);
 }
@@ -0,0 +1,75 @@
+package com.jawbr.todos.repository;
+
+import com.jawbr.todos.dto.request.TodoFilter;
+import com.jawbr.todos.entity.Todo;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Predicados da listagem. Usam só os nomes dos atributos, então valem para {@link Todo} e para
+ * {@link com.jawbr.todos.entity.ArchivedTodo}.
+ */
+public final class TodoSpecifications {
+
+    private TodoSpecifications() {
+    }
+
+    /**
+     * Predicado de keyset equivalente a {@code (sortBy, id) > (value, id)} respeitando a direção de
+     * {@code sortBy}; o desempate por id é sempre ascendente. Nulos vêm antes de qualquer valor, como no MySQL e no
+     * H2: primeiro na ordem ascendente e por último na descendente.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T> Specification<T> after(String sortBy, Sort.Direction direction, Object value, int id) {
+        return (root, query, cb) -> {
+            Path<Integer> idPath = root.get("id");
+            if (sortBy.equals("id")) {
+                return cb.greaterThan(idPath, id);
+            }
+            Path<Comparable> sortPath = root.get(sortBy);
+            if (value == null) {
+                Predicate sameKey = cb.and(cb.isNull(sortPath), cb.greaterThan(idPath, id));
+                return direction.isAscending() ? cb.or(sameKey, cb.isNotNull(sortPath)) : sameKey;
+            }
+            Comparable key = (Comparable) value;
+            Predicate sameKey = cb.and(cb.equal(sortPath, key), cb.greaterThan(idPath, id));
+            return direction.isAscending()
+                    ? cb.or(cb.greaterThan(sortPath, key), sameKey)
+                    : cb.or(cb.lessThan(sortPath, key), cb.isNull(sortPath), sameKey);
+        };
+    }
+
+    /**
+     * Predicado dos filtros da listagem. Os campos foram escolhidos para usar os índices declarados em
+     * {@link Todo}: igualdade em {@code realizado}, faixa em {@code prioridade} e {@code LIKE 'prefixo%'} em
+     * {@code nome}.
+     */
+    public static <T> Specification<T> matching(TodoFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.realizado() != null) {
+                predicates.add(cb.equal(root.get("realizado"), filter.realizado()));
+            }
+            if (filter.prioridadeMin() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("prioridade"), filter.prioridadeMin()));
+            }
+            if (filter.prioridadeMax() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("prioridade"), filter.prioridadeMax()));
+            }
+            if (filter.nome() != null && !filter.nome().isEmpty()) {
+                predicates.add(cb.like(root.get("nome"), escapeLike(filter.nome()) + "%", '!'));
+            }
+            return predicates.isEmpty() ? null : cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    // '!' como caractere de escape: a barra invertida teria significado diferente entre MySQL e H2
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
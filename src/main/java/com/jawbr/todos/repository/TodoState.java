@@ -0,0 +1,7 @@
+package com.jawbr.todos.repository;
+
+/**
+ * Colunas de uma tarefa que entram nas estatísticas, lidas sem carregar a entidade.
+ */
+public record TodoState(int id, boolean realizado, int prioridade) {
+}
@@ -0,0 +1,24 @@
+package com.jawbr.todos.repository;
+
+import com.jawbr.todos.dto.response.TodoView;
+import com.jawbr.todos.entity.Todo;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Consultas que selecionam só algumas colunas de {@link Todo}, para as listagens com {@code fields}.
+ */
+public interface TodoViewRepository {
+
+    /**
+     * @param fields atributos de {@link Todo} a selecionar; os demais ficam nulos em {@link TodoView}
+     */
+    Page<TodoView> findAllViews(Specification<Todo> spec, Pageable pageable, Collection<String> fields);
+
+    List<TodoView> findViews(Specification<Todo> spec, Sort sort, int limit, Collection<String> fields);
+}
@@ -0,0 +1,99 @@
+package com.jawbr.todos.repository;
+
+import com.jawbr.todos.dto.response.TodoView;
+import com.jawbr.todos.entity.Todo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Implementação com Criteria: um {@code SELECT} de tuplas só com as colunas pedidas, sem carregar entidades no
+ * contexto de persistência.
+ */
+class TodoViewRepositoryImpl implements TodoViewRepository {
+
+    private final EntityManager entityManager;
+
+    TodoViewRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<TodoView> findAllViews(Specification<Todo> spec, Pageable pageable, Collection<String> fields) {
+        TypedQuery<Tuple> query = select(spec, pageable.getSort(), fields);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+        // O COUNT só é executado quando a página não basta para saber o total
+        return PageableExecutionUtils.getPage(toViews(query.getResultList()), pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<TodoView> findViews(Specification<Todo> spec, Sort sort, int limit, Collection<String> fields) {
+        return toViews(select(spec, sort, fields).setMaxResults(limit).getResultList());
+    }
+
+    private TypedQuery<Tuple> select(Specification<Todo> spec, Sort sort, Collection<String> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Todo> root = query.from(Todo.class);
+        query.multiselect(fields.stream()
+                .<Selection<?>>map(field -> root.get(field).alias(field))
+                .toList());
+        where(spec, root, query, cb);
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Todo> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Todo> root = query.from(Todo.class);
+        query.select(cb.count(root));
+        where(spec, root, query, cb);
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static void where(Specification<Todo> spec, Root<Todo> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        Predicate predicate = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+    }
+
+    private static List<TodoView> toViews(List<Tuple> tuples) {
+        return tuples.stream().map(TodoViewRepositoryImpl::toView).toList();
+    }
+
+    private static TodoView toView(Tuple tuple) {
+        TodoView.TodoViewBuilder view = TodoView.builder();
+        for (TupleElement<?> element : tuple.getElements()) {
+            Object value = tuple.get(element);
+            switch (element.getAlias()) {
+                case "id" -> view.id((Integer) value);
+                case "nome" -> view.nome((String) value);
+                case "descricao" -> view.descricao((String) value);
+                case "realizado" -> view.realizado((Boolean) value);
+                case "prioridade" -> view.prioridade((Integer) value);
+                case "version" -> view.version((Long) value);
+                default -> throw new IllegalArgumentException("Campo não suportado: " + element.getAlias());
+            }
+        }
+        return view.build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.jawbr.todos.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor de CSV (RFC 4180) registro a registro. Campos entre aspas podem conter vírgulas, aspas duplicadas e quebras
+ * de linha, então um registro pode ocupar mais de uma linha física.
+ * <p>
+ * A entrada é lida caractere a caractere, com limite de tamanho por campo e por registro: uma aspa sem fechamento
+ * rejeita só aquele registro, em vez de trazer o resto do arquivo para a memória. A leitura continua na linha física
+ * seguinte.
+ */
+final class CsvRecordReader {
+
+    // Quatro vezes o varchar(255) das colunas de texto
+    static final int MAX_FIELD_LENGTH = 1024;
+    static final int MAX_RECORD_LENGTH = 4 * MAX_FIELD_LENGTH;
+
+    private static final int EOF = -1;
+
+    private final BufferedReader reader;
+    private long line;
+    private long recordLine;
+
+    CsvRecordReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * @return os campos do próximo registro, ou {@code null} no fim da entrada
+     * @throws IllegalArgumentException quando o registro passa dos limites de tamanho ou termina dentro de aspas
+     */
+    List<String> next() throws IOException {
+        int c = reader.read();
+        if (c == EOF) {
+            return null;
+        }
+        recordLine = ++line;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int length = 0;
+        for (; ; c = reader.read()) {
+            if (c == EOF) {
+                if (quoted) {
+                    throw new IllegalArgumentException("Campo entre aspas sem fechamento.");
+                }
+                break;
+            }
+            if (c == '\r' || c == '\n') {
+                if (c == '\r' && peek() == '\n') {
+                    reader.read();
+                }
+                if (!quoted) {
+                    break;
+                }
+                line++;
+                field.append('\n');
+            } else if (quoted) {
+                if (c != '"') {
+                    field.append((char) c);
+                } else if (peek() == '"') {
+                    reader.read();
+                    field.append('"');
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append((char) c);
+            }
+
+            if (field.length() > MAX_FIELD_LENGTH || ++length > MAX_RECORD_LENGTH) {
+                skipLine();
+                throw new IllegalArgumentException(field.length() > MAX_FIELD_LENGTH
+                        ? String.format("Campo com mais de %d caracteres.", MAX_FIELD_LENGTH)
+                        : String.format("Registro com mais de %d caracteres.", MAX_RECORD_LENGTH));
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * @return a linha física em que começou o último registro lido
+     */
+    long recordLine() {
+        return recordLine;
+    }
+
+    private int peek() throws IOException {
+        reader.mark(1);
+        int c = reader.read();
+        reader.reset();
+        return c;
+    }
+
+    // Descarta até o fim da linha física atual
+    private void skipLine() throws IOException {
+        for (int c = reader.read(); c != EOF; c = reader.read()) {
+            if (c == '\n' || c == '\r') {
+                if (c == '\r' && peek() == '\n') {
+                    reader.read();
+                }
+                return;
+            }
+        }
+    }
+}
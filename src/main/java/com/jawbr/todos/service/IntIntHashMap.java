@@ -0,0 +1,168 @@
+package com.jawbr.todos.service;
+
+import java.util.Arrays;
+
+/**
+ * Mapa {@code int -> int} com endereçamento aberto e sondagem linear sobre dois arrays primitivos. Evita o
+ * {@code Integer} e o nó por entrada de um {@code HashMap<Integer, Integer>}, o que importa quando o mapa tem uma
+ * entrada por tarefa. Não é thread-safe.
+ */
+final class IntIntHashMap {
+
+    private static final int FREE = 0;
+
+    private final int missingValue;
+    private int[] keys;
+    private int[] values;
+    private boolean hasFreeKey;
+    private int freeKeyValue;
+    private int size;
+    private int mask;
+
+    IntIntHashMap(int expectedSize, int missingValue) {
+        this.missingValue = missingValue;
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    int get(int key) {
+        if (key == FREE) {
+            return hasFreeKey ? freeKeyValue : missingValue;
+        }
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            int current = keys[slot];
+            if (current == key) {
+                return values[slot];
+            }
+            if (current == FREE) {
+                return missingValue;
+            }
+        }
+    }
+
+    boolean containsKey(int key) {
+        if (key == FREE) {
+            return hasFreeKey;
+        }
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            int current = keys[slot];
+            if (current == key) {
+                return true;
+            }
+            if (current == FREE) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * @return o valor anterior, ou o valor de ausência
+     */
+    int put(int key, int value) {
+        if (key == FREE) {
+            int previous = hasFreeKey ? freeKeyValue : missingValue;
+            if (!hasFreeKey) {
+                size++;
+            }
+            hasFreeKey = true;
+            freeKeyValue = value;
+            return previous;
+        }
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            int current = keys[slot];
+            if (current == key) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            if (current == FREE) {
+                keys[slot] = key;
+                values[slot] = value;
+                if (++size * 2 > keys.length) {
+                    resize();
+                }
+                return missingValue;
+            }
+        }
+    }
+
+    /**
+     * @return o valor removido, ou o valor de ausência
+     */
+    int remove(int key) {
+        if (key == FREE) {
+            if (!hasFreeKey) {
+                return missingValue;
+            }
+            hasFreeKey = false;
+            size--;
+            return freeKeyValue;
+        }
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            int current = keys[slot];
+            if (current == FREE) {
+                return missingValue;
+            }
+            if (current == key) {
+                int previous = values[slot];
+                shiftKeys(slot);
+                size--;
+                return previous;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(keys, FREE);
+        hasFreeKey = false;
+        size = 0;
+    }
+
+    // Remoção sem lápides: puxa para o buraco as chaves seguintes do mesmo agrupamento que dependem dele
+    private void shiftKeys(int slot) {
+        while (true) {
+            int last = slot;
+            slot = (slot + 1) & mask;
+            int current;
+            while (true) {
+                current = keys[slot];
+                if (current == FREE) {
+                    keys[last] = FREE;
+                    return;
+                }
+                int home = slot(current);
+                if (last <= slot ? (last >= home || home > slot) : (last >= home && home > slot)) {
+                    break;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[last] = current;
+            values[last] = values[slot];
+        }
+    }
+
+    private void resize() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        mask = keys.length - 1;
+        size = hasFreeKey ? 1 : 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private int slot(int key) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
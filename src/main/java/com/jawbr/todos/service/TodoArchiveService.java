@@ -0,0 +1,106 @@
+package com.jawbr.todos.service;
+
+import com.jawbr.todos.config.CacheConfig;
+import com.jawbr.todos.config.TodoArchiveProperties;
+import com.jawbr.todos.config.TodoShards;
+import com.jawbr.todos.repository.ArchivedTodoRepository;
+import com.jawbr.todos.repository.TodoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Move as tarefas realizadas há mais de {@code todos.archive.age} de {@code todos} para {@code todos_archive}, para
+ * que a tabela principal, e os índices que a listagem percorre, fiquem com as tarefas em uso. Cada lote de
+ * {@code todos.archive.batch-size} tarefas é uma transação curta: trava os ids com {@code FOR UPDATE SKIP LOCKED},
+ * copia com {@code INSERT ... SELECT} e remove com {@code DELETE ... WHERE id IN}; uma tarefa sendo alterada no
+ * momento fica para a próxima execução. Com shards, cada um é arquivado por vez, e a tarefa fica no mesmo shard.
+ * <p>
+ * Cada tarefa movida publica {@link TodoChangedEvent#archived(int)}: para as estatísticas, a busca textual e o feed
+ * de alterações ela sai como uma remoção. A busca por id e a listagem com {@code includeArchived} continuam vendo a
+ * tarefa.
+ */
+@Service
+public class TodoArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoArchiveService.class);
+
+    private final TodoRepository todoRepository;
+    private final ArchivedTodoRepository archivedTodoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TodoArchiveProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final TodoShards shards;
+    private final Counter archived;
+
+    public TodoArchiveService(TodoRepository todoRepository, ArchivedTodoRepository archivedTodoRepository,
+                              ApplicationEventPublisher eventPublisher, TodoArchiveProperties properties,
+                              PlatformTransactionManager transactionManager, TodoShards shards,
+                              MeterRegistry meterRegistry) {
+        this.todoRepository = todoRepository;
+        this.archivedTodoRepository = archivedTodoRepository;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shards = shards;
+        this.archived = meterRegistry.counter("todos.archive.archived");
+    }
+
+    /**
+     * Arquiva em lotes, em cada shard, até sobrar menos de um lote de tarefas elegíveis.
+     *
+     * @return quantidade de tarefas arquivadas
+     */
+    @Scheduled(initialDelayString = "${todos.archive.interval:PT1H}",
+            fixedDelayString = "${todos.archive.interval:PT1H}")
+    @CacheEvict(cacheNames = CacheConfig.TODO_PAGES, allEntries = true)
+    public int archive() {
+        if (!properties.enabled()) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        Instant cutoff = Instant.now().minus(properties.age());
+        int total = 0;
+        for (int shard = 0; shard < shards.count(); shard++) {
+            total += shards.onShard(shard, () -> archiveShard(cutoff));
+        }
+
+        if (total > 0) {
+            log.info("{} tarefas arquivadas em {} ms", total, (System.nanoTime() - start) / 1_000_000);
+        }
+        return total;
+    }
+
+    private int archiveShard(Instant cutoff) {
+        int total = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            total += moved;
+        } while (moved == properties.batchSize());
+        return total;
+    }
+
+    private int archiveBatch(Instant cutoff) {
+        List<Integer> ids = todoRepository.lockArchivable(cutoff, PageRequest.of(0, properties.batchSize()));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archivedTodoRepository.copyFromTodos(ids, Instant.now());
+        todoRepository.deleteAllByIdInBatch(ids);
+        ids.forEach(id -> eventPublisher.publishEvent(TodoChangedEvent.archived(id)));
+        archived.increment(ids.size());
+        return ids.size();
+    }
+}
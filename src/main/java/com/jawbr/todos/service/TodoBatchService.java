@@ -0,0 +1,251 @@
+package com.jawbr.todos.service;
+
+import com.jawbr.todos.config.CacheConfig;
+import com.jawbr.todos.config.TodoBatchProperties;
+import com.jawbr.todos.config.TodoShards;
+import com.jawbr.todos.dto.request.TodoRequest;
+import com.jawbr.todos.dto.request.TodoUpdateRequest;
+import com.jawbr.todos.dto.response.TodoBatchResult;
+import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.exception.BatchTooLargeException;
+import com.jawbr.todos.repository.TodoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Operações em lote sobre tarefas. Cada item é validado e respondido individualmente; os itens válidos são
+ * gravados em blocos de {@link TodoBatchProperties#size()} registros, um flush por bloco, para que o Hibernate
+ * agrupe os comandos em batches JDBC. Os itens de cada shard são gravados em uma transação daquele shard; sem
+ * shards, o lote inteiro é uma transação. Inclusões e remoções esvaziam os caches de tarefas por inteiro ao final
+ * da operação; a atualização, que também é o caminho da gravação adiada, tira do cache de tarefas só os ids
+ * atualizados e esvazia o de páginas.
+ */
+@Service
+public class TodoBatchService {
+
+    private final TodoRepository todoRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final TodoBatchProperties properties;
+    private final TodoIdGenerator idGenerator;
+    private final TodoShards shards;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+
+    public TodoBatchService(TodoRepository todoRepository, EntityManager entityManager,
+                            PlatformTransactionManager transactionManager, Validator validator,
+                            TodoBatchProperties properties, TodoIdGenerator idGenerator, TodoShards shards,
+                            ApplicationEventPublisher eventPublisher, CacheManager cacheManager) {
+        this.todoRepository = todoRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.properties = properties;
+        this.idGenerator = idGenerator;
+        this.shards = shards;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+    }
+
+    @CacheEvict(cacheNames = {CacheConfig.TODOS, CacheConfig.TODO_PAGES}, allEntries = true)
+    public List<TodoBatchResult> createTodos(List<TodoRequest> todos) {
+        checkSize(todos);
+        TodoBatchResult[] results = new TodoBatchResult[todos.size()];
+        Todo[] created = new Todo[todos.size()];
+        List<List<Integer>> pending = pendingByShard();
+
+        for (int i = 0; i < todos.size(); i++) {
+            TodoRequest todo = todos.get(i);
+            Optional<String> violation = validate(todo);
+            if (violation.isPresent()) {
+                results[i] = TodoBatchResult.failure(i, null, HttpStatus.BAD_REQUEST.value(), violation.get());
+                continue;
+            }
+            created[i] = Todo.builder()
+                    .id(idGenerator.nextId())
+                    .nome(todo.nome())
+                    .descricao(todo.descricao())
+                    .prioridade(TodoService.updatePrioridadeIfIsRealizado(todo))
+                    .realizado(todo.realizado())
+                    .build();
+            pending.get(shards.shardFor(created[i].getId())).add(i);
+        }
+        writeByShard(pending, chunk -> insertChunk(created, chunk, results));
+        return Arrays.asList(results);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.TODO_PAGES, allEntries = true)
+    public List<TodoBatchResult> updateTodos(List<TodoUpdateRequest> todos) {
+        checkSize(todos);
+        TodoBatchResult[] results = new TodoBatchResult[todos.size()];
+        List<List<Integer>> pending = pendingByShard();
+
+        for (int i = 0; i < todos.size(); i++) {
+            TodoUpdateRequest todo = todos.get(i);
+            Optional<String> violation = validate(todo);
+            if (violation.isPresent()) {
+                results[i] = TodoBatchResult.failure(i, todo.id(), HttpStatus.BAD_REQUEST.value(), violation.get());
+                continue;
+            }
+            pending.get(shards.shardFor(todo.id())).add(i);
+        }
+        writeByShard(pending, chunk -> updateChunk(todos, chunk, results));
+        evictUpdated(results);
+        return Arrays.asList(results);
+    }
+
+    @CacheEvict(cacheNames = {CacheConfig.TODOS, CacheConfig.TODO_PAGES}, allEntries = true)
+    public List<TodoBatchResult> deleteTodosById(List<Integer> ids) {
+        checkSize(ids);
+        TodoBatchResult[] results = new TodoBatchResult[ids.size()];
+        List<List<Integer>> pending = pendingByShard();
+
+        for (int i = 0; i < ids.size(); i++) {
+            Integer id = ids.get(i);
+            if (id == null) {
+                results[i] = TodoBatchResult.failure(i, null, HttpStatus.BAD_REQUEST.value(), "Id da tarefa não pode estar vazio!");
+                continue;
+            }
+            pending.get(shards.shardFor(id)).add(i);
+        }
+        writeByShard(pending, chunk -> deleteChunk(ids, chunk, results));
+        return Arrays.asList(results);
+    }
+
+    private List<List<Integer>> pendingByShard() {
+        List<List<Integer>> pending = new ArrayList<>(shards.count());
+        for (int shard = 0; shard < shards.count(); shard++) {
+            pending.add(new ArrayList<>());
+        }
+        return pending;
+    }
+
+    // Uma transação por shard com itens, e nela um bloco de properties.size() itens por vez
+    private void writeByShard(List<List<Integer>> pending, Consumer<List<Integer>> writeChunk) {
+        shards.forEachShard(shard -> {
+            List<Integer> items = pending.get(shard);
+            if (items.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int from = 0; from < items.size(); from += properties.size()) {
+                    writeChunk.accept(items.subList(from, Math.min(from + properties.size(), items.size())));
+                }
+            });
+        });
+    }
+
+    private void insertChunk(Todo[] created, List<Integer> chunk, TodoBatchResult[] results) {
+        List<Todo> saved = todoRepository.insertAll(chunk.stream().map(i -> created[i]).toList());
+        flushAndClear();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            results[chunk.get(i)] = TodoBatchResult.success(chunk.get(i), HttpStatus.CREATED.value(), saved.get(i));
+            eventPublisher.publishEvent(TodoChangedEvent.created(saved.get(i)));
+        }
+    }
+
+    private void updateChunk(List<TodoUpdateRequest> todos, List<Integer> chunk, TodoBatchResult[] results) {
+        Map<Integer, Todo> existing = todoRepository.findAllById(chunk.stream().map(i -> todos.get(i).id()).toList())
+                .stream()
+                .collect(Collectors.toMap(Todo::getId, Function.identity()));
+
+        for (int i : chunk) {
+            TodoUpdateRequest todo = todos.get(i);
+            Todo target = existing.get(todo.id());
+            if (target == null) {
+                results[i] = TodoBatchResult.failure(i, todo.id(), HttpStatus.NOT_FOUND.value(), notFoundMessage(todo.id()));
+                continue;
+            }
+            if (todo.version() != null && todo.version() != target.getVersion()) {
+                results[i] = TodoBatchResult.failure(i, todo.id(), HttpStatus.PRECONDITION_FAILED.value(),
+                        String.format("Tarefa de id '%d' foi alterada por outra requisição.", todo.id()));
+                continue;
+            }
+            target.setNome(todo.nome());
+            target.setDescricao(todo.descricao());
+            target.setPrioridade(TodoService.updatePrioridadeIfIsRealizado(todo.toTodoRequest()));
+            target.setRealizado(todo.realizado());
+            results[i] = TodoBatchResult.success(i, HttpStatus.OK.value(), target);
+            eventPublisher.publishEvent(TodoChangedEvent.updated(target));
+        }
+        flushAndClear();
+    }
+
+    private void deleteChunk(List<Integer> ids, List<Integer> chunk, TodoBatchResult[] results) {
+        Set<Integer> existing = new HashSet<>(todoRepository.findExistingIds(chunk.stream()
+                .map(ids::get)
+                .collect(Collectors.toSet())));
+        if (!existing.isEmpty()) {
+            todoRepository.deleteAllByIdInBatch(existing);
+        }
+
+        for (int i : chunk) {
+            int id = ids.get(i);
+            if (existing.contains(id)) {
+                results[i] = TodoBatchResult.success(i, HttpStatus.NO_CONTENT.value(), id);
+                eventPublisher.publishEvent(TodoChangedEvent.deleted(id));
+            } else {
+                results[i] = TodoBatchResult.failure(i, id, HttpStatus.NOT_FOUND.value(), notFoundMessage(id));
+            }
+        }
+    }
+
+    // Remove em vez de substituir: uma escrita síncrona que terminou depois desta pode já ter posto a própria versão
+    private void evictUpdated(TodoBatchResult[] results) {
+        Cache todos = cacheManager.getCache(CacheConfig.TODOS);
+        if (todos == null) {
+            return;
+        }
+        for (TodoBatchResult result : results) {
+            if (result.status() == HttpStatus.OK.value()) {
+                todos.evict(result.id());
+            }
+        }
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private <T> Optional<String> validate(T todo) {
+        if (todo == null) {
+            return Optional.of("Tarefa não pode estar vazia!");
+        }
+        return validator.validate(todo).stream()
+                .map(ConstraintViolation::getMessage)
+                .findFirst();
+    }
+
+    private void checkSize(List<?> items) {
+        if (items.size() > properties.maxItems()) {
+            throw new BatchTooLargeException(String.format("Lote com %d itens excede o máximo de %d.", items.size(), properties.maxItems()));
+        }
+    }
+
+    private static String notFoundMessage(int id) {
+        return String.format("Tarefa de id '%d' não encontrada.", id);
+    }
+}
@@ -0,0 +1,84 @@
+package com.jawbr.todos.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Buffer circular com as últimas alterações, cada uma com um número de sequência crescente. Quando cheio, a
+ * alteração mais antiga dá lugar à nova.
+ * <p>
+ * A sequência começa em um valor derivado do relógio, então números emitidos por uma execução anterior da aplicação
+ * ficam abaixo da alteração mais antiga guardada e são tratados como fora do buffer.
+ */
+final class TodoChangeLog {
+
+    record Entry(long sequence, TodoChangedEvent event) {
+    }
+
+    private final TodoChangedEvent[] events;
+    private final long start;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Sequência da próxima alteração
+    private long next;
+
+    TodoChangeLog(int capacity, long start) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("A capacidade deve ser positiva.");
+        }
+        this.events = new TodoChangedEvent[capacity];
+        this.start = start;
+        this.next = start;
+    }
+
+    long append(TodoChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            events[index(next)] = event;
+            return next++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sequência da última alteração, ou a anterior à primeira quando não houve nenhuma.
+     */
+    long last() {
+        lock.readLock().lock();
+        try {
+            return next - 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Alterações posteriores a {@code after}, em ordem, até {@code max}.
+     *
+     * @return {@code null} se alterações posteriores a {@code after} já saíram do buffer, ou se {@code after} não
+     * foi emitido por este buffer
+     */
+    List<Entry> after(long after, int max) {
+        lock.readLock().lock();
+        try {
+            long oldest = Math.max(start, next - events.length);
+            if (after < oldest - 1 || after >= next) {
+                return null;
+            }
+            long to = Math.min(next, after + 1 + max);
+            List<Entry> entries = new ArrayList<>((int) (to - after - 1));
+            for (long sequence = after + 1; sequence < to; sequence++) {
+                entries.add(new Entry(sequence, events[index(sequence)]));
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int index(long sequence) {
+        return (int) Math.floorMod(sequence, (long) events.length);
+    }
+}
@@ -0,0 +1,44 @@
+package com.jawbr.todos.service;
+
+import com.jawbr.todos.entity.Todo;
+
+/**
+ * Publicado por todos os caminhos de escrita (individual, lote e importação) depois de gravar uma tarefa. Estruturas
+ * mantidas em memória a partir da tabela escutam este evento com {@code @TransactionalEventListener}, então só veem
+ * alterações efetivadas.
+ *
+ * @param type tipo da alteração
+ * @param id   id da tarefa alterada
+ * @param todo estado gravado, ou {@code null} quando a tarefa foi removida ou arquivada
+ */
+public record TodoChangedEvent(Type type, int id, Todo todo) {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED,
+        /** Movida para {@code todos_archive}: sai da tabela principal, mas continua legível pelo id. */
+        ARCHIVED
+    }
+
+    public static TodoChangedEvent created(Todo todo) {
+        return new TodoChangedEvent(Type.CREATED, todo.getId(), todo);
+    }
+
+    public static TodoChangedEvent updated(Todo todo) {
+        return new TodoChangedEvent(Type.UPDATED, todo.getId(), todo);
+    }
+
+    public static TodoChangedEvent deleted(int id) {
+        return new TodoChangedEvent(Type.DELETED, id, null);
+    }
+
+    public static TodoChangedEvent archived(int id) {
+        return new TodoChangedEvent(Type.ARCHIVED, id, null);
+    }
+
+    /**
+     * A tarefa saiu da tabela principal, removida ou arquivada.
+     */
+    public boolean isRemoved() {
+        return type == Type.DELETED || type == Type.ARCHIVED;
+    }
+}
@@ -0,0 +1,176 @@
+package com.jawbr.todos.service;
+
+import com.jawbr.todos.config.TodoChangesProperties;
+import com.jawbr.todos.dto.response.TodoChange;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fluxo de alterações em Server-Sent Events. Cada tarefa criada, alterada ou removida (após o commit) entra em um
+ * {@link TodoChangeLog} com um número de sequência, que vai no campo {@code id} do evento. Um cliente que reconecta
+ * com {@code Last-Event-ID} recebe só as alterações posteriores; se elas já saíram do buffer, recebe um evento
+ * {@value #RESET} e deve recarregar a lista.
+ * <p>
+ * Conexões ociosas não ocupam thread: a resposta fica em modo assíncrono e o envio roda no executor da aplicação
+ * (o mesmo da exportação) apenas quando há alterações pendentes para o assinante, no máximo uma tarefa por vez por
+ * assinante. O buffer é de cada instância, então a retomada só vale na instância que emitiu o id.
+ */
+@Service
+public class TodoChangesService {
+
+    static final String RESET = "reset";
+
+    // Alterações enviadas por tarefa do executor, para um assinante atrasado não segurar a thread indefinidamente
+    private static final int SEND_BATCH = 100;
+
+    private final TodoChangesProperties properties;
+    private final TaskExecutor taskExecutor;
+    private final TaskScheduler taskScheduler;
+    private final TodoChangeLog changeLog;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter resets;
+    private ScheduledFuture<?> heartbeatTask;
+
+    public TodoChangesService(TodoChangesProperties properties,
+                              @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+                              TaskScheduler taskScheduler, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.taskExecutor = taskExecutor;
+        this.taskScheduler = taskScheduler;
+        this.changeLog = new TodoChangeLog(properties.bufferSize(), TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis()));
+        this.resets = meterRegistry.counter("todos.changes.resets");
+        meterRegistry.gaugeCollectionSize("todos.changes.subscribers", Tags.empty(), subscribers);
+    }
+
+    /**
+     * @param lastEventId último id recebido pelo cliente; sem ele, só as alterações a partir de agora são enviadas
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        return subscribe(new SseEmitter(properties.timeout().toMillis()), lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, Long lastEventId) {
+        Subscriber subscriber = new Subscriber(emitter, lastEventId != null ? lastEventId : changeLog.last());
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        subscribers.add(subscriber);
+        subscriber.schedule();
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        changeLog.append(event);
+        subscribers.forEach(Subscriber::schedule);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        heartbeatTask = taskScheduler.scheduleWithFixedDelay(this::heartbeat, properties.heartbeat());
+    }
+
+    @PreDestroy
+    public void close() {
+        if (heartbeatTask != null) {
+            heartbeatTask.cancel(false);
+        }
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            subscriber.schedule();
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // Só alterado pela tarefa de envio, que nunca roda em paralelo para o mesmo assinante
+        private long cursor;
+        private volatile boolean heartbeatDue;
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        void schedule() {
+            if (closed || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                taskExecutor.execute(this::send);
+            } catch (TaskRejectedException e) {
+                scheduled.set(false);
+                emitter.completeWithError(e);
+                close();
+            }
+        }
+
+        private void send() {
+            try {
+                List<TodoChangeLog.Entry> entries = changeLog.after(cursor, SEND_BATCH);
+                if (entries == null) {
+                    resets.increment();
+                    cursor = changeLog.last();
+                    emitter.send(SseEmitter.event().id(Long.toString(cursor)).name(RESET).data(cursor));
+                } else if (!entries.isEmpty()) {
+                    for (TodoChangeLog.Entry entry : entries) {
+                        TodoChangedEvent event = entry.event();
+                        emitter.send(SseEmitter.event()
+                                .id(Long.toString(entry.sequence()))
+                                .name(event.type().name().toLowerCase(Locale.ROOT))
+                                .data(new TodoChange(event.id(), event.todo()), MediaType.APPLICATION_JSON));
+                        cursor = entry.sequence();
+                    }
+                } else if (heartbeatDue) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                heartbeatDue = false;
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectado ou resposta já encerrada
+                emitter.completeWithError(e);
+                close();
+            } finally {
+                scheduled.set(false);
+            }
+            // Alterações publicadas durante o envio encontraram scheduled ainda ligado
+            if (changeLog.last() != cursor) {
+                schedule();
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+        }
+    }
+}
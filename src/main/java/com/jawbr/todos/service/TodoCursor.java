@@ -0,0 +1,88 @@
+package com.jawbr.todos.service;
+
+import com.jawbr.todos.dto.response.TodoView;
+import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.exception.InvalidCursorException;
+import org.springframework.beans.BeanWrapperImpl;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor opaco da listagem por keyset: guarda o campo de ordenação, o valor desse campo e o id do último
+ * registro entregue. Serializado como {@code sortBy \n id \n <tipo><valor>} em Base64 URL-safe; valor nulo é só o
+ * tipo {@code n}.
+ */
+record TodoCursor(String sortBy, Object value, int id) {
+
+    private static final String INVALID_CURSOR = "Cursor inválido.";
+
+    static TodoCursor of(String sortBy, Todo todo) {
+        return new TodoCursor(sortBy, new BeanWrapperImpl(todo).getPropertyValue(sortBy), todo.getId());
+    }
+
+    static TodoCursor of(String sortBy, TodoView view) {
+        Object value = switch (sortBy) {
+            case "id" -> view.id();
+            case "nome" -> view.nome();
+            case "descricao" -> view.descricao();
+            case "realizado" -> view.realizado();
+            case "prioridade" -> view.prioridade();
+            case "version" -> view.version();
+            default -> throw new InvalidCursorException(INVALID_CURSOR);
+        };
+        return new TodoCursor(sortBy, value, view.id());
+    }
+
+    static TodoCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\n", 3);
+            return new TodoCursor(parts[0], decodeValue(parts[2]), Integer.parseInt(parts[1]));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException(INVALID_CURSOR);
+        }
+    }
+
+    String encode() {
+        String raw = sortBy + "\n" + id + "\n" + encodeValue(value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    TodoCursor requireSortBy(String expectedSortBy) {
+        if (!sortBy.equals(expectedSortBy)) {
+            throw new InvalidCursorException(String.format("Cursor gerado para sortBy '%s' não pode ser usado com sortBy '%s'.", sortBy, expectedSortBy));
+        }
+        return this;
+    }
+
+    private static String encodeValue(Object value) {
+        if (value == null) {
+            return "n";
+        }
+        if (value instanceof Integer) {
+            return "i" + value;
+        }
+        if (value instanceof Long) {
+            return "l" + value;
+        }
+        if (value instanceof Boolean) {
+            return "b" + value;
+        }
+        if (value instanceof String) {
+            return "s" + value;
+        }
+        throw new IllegalStateException("Tipo de chave de cursor não suportado: " + value);
+    }
+
+    private static Object decodeValue(String encoded) {
+        String raw = encoded.substring(1);
+        return switch (encoded.charAt(0)) {
+            case 'n' -> null;
+            case 'i' -> Integer.parseInt(raw);
+            case 'l' -> Long.parseLong(raw);
+            case 'b' -> Boolean.parseBoolean(raw);
+            case 's' -> raw;
+            default -> throw new IllegalArgumentException(encoded);
+        };
+    }
+}
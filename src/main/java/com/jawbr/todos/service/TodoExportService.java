@@ -0,0 +1,128 @@
+package com.jawbr.todos.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.jawbr.todos.config.TodoShards;
+import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.repository.TodoRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+/**
+ * Exportação da tabela inteira direto para o stream de saída. As tarefas são lidas por um cursor só de ida e
+ * desanexadas do contexto de persistência logo após serem escritas, então a memória usada não depende do tamanho
+ * da tabela. Com shards, cada um é lido por vez, em ordem de id dentro do shard.
+ */
+@Service
+public class TodoExportService {
+
+    private static final String CSV_HEADER = "id,nome,descricao,realizado,prioridade,version\n";
+
+    private final TodoRepository todoRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectWriter todoWriter;
+    private final ObjectMapper objectMapper;
+    private final TodoShards shards;
+
+    public TodoExportService(TodoRepository todoRepository, EntityManager entityManager,
+                             PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                             TodoShards shards) {
+        this.todoRepository = todoRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.todoWriter = objectMapper.writerFor(Todo.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.shards = shards;
+    }
+
+    public void exportTodos(OutputStream out, TodoDataFormat format) {
+        try {
+            switch (format) {
+                case NDJSON -> writeNdjson(out);
+                case CSV -> writeCsv(out);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeNdjson(OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            forEachTodo(todo -> {
+                todoWriter.writeValue(generator, todo);
+                generator.writeRaw('\n');
+            });
+        }
+    }
+
+    private void writeCsv(OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        forEachTodo(todo -> {
+            writer.write(Integer.toString(todo.getId()));
+            writer.write(',');
+            writeCsvField(writer, todo.getNome());
+            writer.write(',');
+            writeCsvField(writer, todo.getDescricao());
+            writer.write(',');
+            writer.write(Boolean.toString(todo.isRealizado()));
+            writer.write(',');
+            writer.write(Integer.toString(todo.getPrioridade()));
+            writer.write(',');
+            writer.write(Long.toString(todo.getVersion()));
+            writer.write('\n');
+        });
+        writer.flush();
+    }
+
+    // Um cursor por shard, cada um na sua transação
+    private void forEachTodo(TodoWriter action) {
+        shards.forEachShard(shard -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Todo> todos = todoRepository.streamAll()) {
+                for (Todo todo : (Iterable<Todo>) todos::iterator) {
+                    action.write(todo);
+                    entityManager.detach(todo);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }));
+    }
+
+    // RFC 4180: campos com vírgula, aspas ou quebra de linha vão entre aspas, com aspas duplicadas
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    @FunctionalInterface
+    private interface TodoWriter {
+
+        void write(Todo todo) throws IOException;
+    }
+}
@@ -0,0 +1,61 @@
+package com.jawbr.todos.service;
+
+import com.jawbr.todos.config.TodoDataSourceProperties;
+import com.jawbr.todos.config.TodoShards;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ids das tarefas, únicos entre todos os shards. Blocos de {@code todos.datasource.id-block-size} ids são reservados na
+ * tabela {@code todos_ids} do shard 0, em uma transação própria, e entregues da memória; só uma a cada
+ * {@code id-block-size} inclusões vai ao banco. Os ids que sobram de um bloco quando a aplicação para não são
+ * reaproveitados, como na sequência em blocos do Hibernate usada antes.
+ */
+@Service
+public class TodoIdGenerator {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TodoShards shards;
+    private final int blockSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long next;
+    private long limit;
+
+    public TodoIdGenerator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                           TodoShards shards, TodoDataSourceProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Chamado também de dentro das transações de inclusão, que podem estar em outro shard
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.shards = shards;
+        this.blockSize = properties.idBlockSize();
+    }
+
+    public int nextId() {
+        lock.lock();
+        try {
+            if (next == limit) {
+                reserveBlock();
+            }
+            return Math.toIntExact(next++);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // O UPDATE trava a linha até o fim da transação, então instâncias concorrentes recebem blocos diferentes
+    private void reserveBlock() {
+        long end = shards.onShard(0, () -> transactionTemplate.execute(status -> {
+            jdbcTemplate.update("update todos_ids set next_val = next_val + ?", blockSize);
+            return jdbcTemplate.queryForObject("select next_val from todos_ids", Long.class);
+        }));
+        next = end - blockSize;
+        limit = end;
+    }
+}
@@ -0,0 +1,278 @@
+package com.jawbr.todos.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.jawbr.todos.config.CacheConfig;
+import com.jawbr.todos.config.TodoImportProperties;
+import com.jawbr.todos.config.TodoShards;
+import com.jawbr.todos.dto.request.TodoRequest;
+import com.jawbr.todos.dto.response.TodoImportSummary;
+import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.repository.TodoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Importação em massa a partir de NDJSON ou CSV. O corpo é lido linha a linha, cada registro é validado com as
+ * mesmas regras de {@link TodoRequest} e os válidos são gravados em transações de
+ * {@link TodoImportProperties#chunkSize()} tarefas, com inserts em batch, uma transação por shard do bloco. Só um
+ * bloco fica em memória por vez, e cada linha ou registro tem tamanho limitado: um maior é rejeitado sem ser guardado.
+ */
+@Service
+public class TodoImportService {
+
+    private static final int MAX_LINE_LENGTH = CsvRecordReader.MAX_RECORD_LENGTH;
+
+    private final TodoRepository todoRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectReader todoReader;
+    private final TodoImportProperties properties;
+    private final TodoIdGenerator idGenerator;
+    private final TodoShards shards;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TodoImportService(TodoRepository todoRepository, EntityManager entityManager,
+                             PlatformTransactionManager transactionManager, Validator validator,
+                             ObjectMapper objectMapper, TodoImportProperties properties,
+                             TodoIdGenerator idGenerator, TodoShards shards,
+                             ApplicationEventPublisher eventPublisher) {
+        this.todoRepository = todoRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.todoReader = objectMapper.readerFor(TodoRequest.class);
+        this.properties = properties;
+        this.idGenerator = idGenerator;
+        this.shards = shards;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @CacheEvict(cacheNames = {CacheConfig.TODOS, CacheConfig.TODO_PAGES}, allEntries = true)
+    public TodoImportSummary importTodos(InputStream in, TodoDataFormat format) {
+        long start = System.nanoTime();
+        Import state = new Import();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        try {
+            switch (format) {
+                case NDJSON -> readNdjson(reader, state);
+                case CSV -> readCsv(reader, state);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        state.flush();
+        return new TodoImportSummary(state.accepted, state.rejected, state.errors,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void readNdjson(BufferedReader reader, Import state) throws IOException {
+        long line = 0;
+        while (true) {
+            String current;
+            line++;
+            try {
+                current = readLine(reader);
+            } catch (IllegalArgumentException e) {
+                state.reject(line, e.getMessage());
+                continue;
+            }
+            if (current == null) {
+                return;
+            }
+            if (current.isBlank()) {
+                continue;
+            }
+            try {
+                TodoRequest todo = todoReader.readValue(current);
+                if (todo == null) {
+                    state.reject(line, "Linha deve conter um objeto JSON.");
+                } else {
+                    state.add(line, todo);
+                }
+            } catch (JsonProcessingException e) {
+                state.reject(line, "JSON inválido.");
+            }
+        }
+    }
+
+    /**
+     * Como {@link BufferedReader#readLine()}, mas guarda no máximo {@link #MAX_LINE_LENGTH} caracteres: uma linha
+     * maior é descartada até o fim e lança {@link IllegalArgumentException}.
+     */
+    private static String readLine(BufferedReader reader) throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        StringBuilder line = new StringBuilder();
+        boolean oversized = false;
+        for (; c != -1 && c != '\n' && c != '\r'; c = reader.read()) {
+            if (line.length() < MAX_LINE_LENGTH) {
+                line.append((char) c);
+            } else {
+                oversized = true;
+            }
+        }
+        if (c == '\r') {
+            reader.mark(1);
+            if (reader.read() != '\n') {
+                reader.reset();
+            }
+        }
+        if (oversized) {
+            throw new IllegalArgumentException(String.format("Linha com mais de %d caracteres.", MAX_LINE_LENGTH));
+        }
+        return line.toString();
+    }
+
+    private void readCsv(BufferedReader reader, Import state) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header;
+        try {
+            header = csv.next();
+        } catch (IllegalArgumentException e) {
+            state.reject(csv.recordLine(), e.getMessage());
+            return;
+        }
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        while (true) {
+            List<String> fields;
+            try {
+                fields = csv.next();
+            } catch (IllegalArgumentException e) {
+                // Registro grande demais ou aspas sem fechamento: rejeita só ele e segue da próxima linha
+                state.reject(csv.recordLine(), e.getMessage());
+                continue;
+            }
+            if (fields == null) {
+                return;
+            }
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            try {
+                state.add(csv.recordLine(), new TodoRequest(
+                        field(fields, columns, "nome"),
+                        field(fields, columns, "descricao"),
+                        Optional.ofNullable(field(fields, columns, "realizado"))
+                                .map(v -> v.equalsIgnoreCase("true") || v.equals("1"))
+                                .orElse(false),
+                        Optional.ofNullable(field(fields, columns, "prioridade"))
+                                .filter(v -> !v.isBlank())
+                                .map(v -> Integer.parseInt(v.trim()))
+                                .orElse(0)));
+            } catch (NumberFormatException e) {
+                state.reject(csv.recordLine(), "Prioridade da tarefa deve ser um número inteiro!");
+            }
+        }
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index == null || index >= fields.size() ? null : fields.get(index);
+    }
+
+    /**
+     * Estado de uma importação em andamento: o bloco pendente e as contagens.
+     */
+    private final class Import {
+
+        private final List<Todo> chunk = new ArrayList<>(properties.chunkSize());
+        private long chunkFirstLine;
+        private long chunkLastLine;
+        private long accepted;
+        private long rejected;
+        private final List<TodoImportSummary.LineError> errors = new ArrayList<>();
+
+        void add(long line, TodoRequest todo) {
+            Optional<String> violation = validator.validate(todo).stream()
+                    .map(ConstraintViolation::getMessage)
+                    .findFirst();
+            if (violation.isPresent()) {
+                reject(line, violation.get());
+                return;
+            }
+            if (chunk.isEmpty()) {
+                chunkFirstLine = line;
+            }
+            chunkLastLine = line;
+            chunk.add(Todo.builder()
+                    .id(idGenerator.nextId())
+                    .nome(todo.nome())
+                    .descricao(todo.descricao())
+                    .prioridade(TodoService.updatePrioridadeIfIsRealizado(todo))
+                    .realizado(todo.realizado())
+                    .build());
+            if (chunk.size() == properties.chunkSize()) {
+                flush();
+            }
+        }
+
+        void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < properties.maxErrors()) {
+                errors.add(new TodoImportSummary.LineError(line, message));
+            }
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            Map<Integer, List<Todo>> byShard = new HashMap<>();
+            for (Todo todo : chunk) {
+                byShard.computeIfAbsent(shards.shardFor(todo.getId()), shard -> new ArrayList<>()).add(todo);
+            }
+            byShard.forEach(this::insert);
+            chunk.clear();
+        }
+
+        private void insert(int shard, List<Todo> todos) {
+            try {
+                shards.onShard(shard, () -> transactionTemplate.executeWithoutResult(status -> {
+                    todoRepository.insertAll(todos).forEach(todo -> eventPublisher.publishEvent(TodoChangedEvent.created(todo)));
+                    entityManager.flush();
+                    entityManager.clear();
+                }));
+                accepted += todos.size();
+            } catch (DataAccessException e) {
+                // A parte do bloco que cabe a esse shard volta atrás; as linhas dela são contadas como rejeitadas
+                rejected += todos.size();
+                if (errors.size() < properties.maxErrors()) {
+                    errors.add(new TodoImportSummary.LineError(chunkFirstLine, String.format(
+                            "Falha ao gravar as linhas %d a %d: %s", chunkFirstLine, chunkLastLine,
+                            e.getMostSpecificCause().getMessage())));
+                }
+            }
+        }
+    }
+}
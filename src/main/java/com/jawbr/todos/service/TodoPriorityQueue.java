@@ -0,0 +1,200 @@
+package com.jawbr.todos.service;
+
+import java.util.Arrays;
+
+/**
+ * Heap binário indexado sobre as tarefas pendentes, na ordem da fila de trabalho: {@code prioridade} decrescente e,
+ * no empate, id crescente, a mesma ordem da listagem com {@code sortBy=prioridade}. Ids e prioridades ficam em dois
+ * {@code int[]} paralelos, na ordem do heap, e a posição de cada id em um {@link IntIntHashMap}; incluir, mudar a
+ * prioridade ou remover qualquer tarefa custa O(log n), sem objeto nem boxing por tarefa.
+ *
+ * <p>Não é thread-safe; o acesso é coordenado por {@link TodoQueueService}.
+ */
+final class TodoPriorityQueue {
+
+    private static final int ABSENT = -1;
+
+    private final IntIntHashMap positions;
+    private int[] ids;
+    private int[] prioridades;
+    private int size;
+
+    TodoPriorityQueue(int expectedSize) {
+        int capacity = Math.max(16, expectedSize);
+        this.positions = new IntIntHashMap(capacity, ABSENT);
+        this.ids = new int[capacity];
+        this.prioridades = new int[capacity];
+    }
+
+    /**
+     * Inclui a tarefa ou, se já está no heap, muda a prioridade dela.
+     */
+    void put(int id, int prioridade) {
+        int position = positions.get(id);
+        if (position == ABSENT) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                prioridades = Arrays.copyOf(prioridades, size * 2);
+            }
+            ids[size] = id;
+            prioridades[size] = prioridade;
+            positions.put(id, size);
+            siftUp(size++);
+            return;
+        }
+        int previous = prioridades[position];
+        prioridades[position] = prioridade;
+        if (prioridade > previous) {
+            siftUp(position);
+        } else if (prioridade < previous) {
+            siftDown(position);
+        }
+    }
+
+    /**
+     * @return se a tarefa estava no heap
+     */
+    boolean remove(int id) {
+        int position = positions.remove(id);
+        if (position == ABSENT) {
+            return false;
+        }
+        int last = --size;
+        if (position != last) {
+            // A última folha ocupa o buraco e sobe ou desce até o lugar dela
+            ids[position] = ids[last];
+            prioridades[position] = prioridades[last];
+            positions.put(ids[position], position);
+            siftDown(siftUp(position));
+        }
+        return true;
+    }
+
+    boolean contains(int id) {
+        return positions.get(id) != ABSENT;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Id da primeira tarefa da fila; só com o heap não vazio.
+     */
+    int peek() {
+        return ids[0];
+    }
+
+    int prioridade(int id) {
+        return prioridades[positions.get(id)];
+    }
+
+    /**
+     * As {@code n} primeiras tarefas, em ordem, sem alterar o heap. Um segundo heap, de posições candidatas, começa
+     * na raiz; a cada candidata retirada entram os dois filhos dela. São {@code n} retiradas em um heap de no máximo
+     * {@code n + 1} posições: O(n log n), independente do tamanho da fila.
+     */
+    int[] top(int n) {
+        int count = Math.min(n, size);
+        int[] result = new int[count];
+        if (count == 0) {
+            return result;
+        }
+        int[] candidates = new int[count + 1];
+        int candidateCount = 1;
+        for (int i = 0; i < count; i++) {
+            int position = candidates[0];
+            result[i] = ids[position];
+            candidates[0] = candidates[--candidateCount];
+            siftDownCandidate(candidates, candidateCount, 0);
+            for (int child = 2 * position + 1; child <= 2 * position + 2 && child < size; child++) {
+                candidates[candidateCount] = child;
+                siftUpCandidate(candidates, candidateCount++);
+            }
+        }
+        return result;
+    }
+
+    // Ordem da fila entre duas posições do heap
+    private boolean before(int a, int b) {
+        return prioridades[a] != prioridades[b] ? prioridades[a] > prioridades[b] : ids[a] < ids[b];
+    }
+
+    private int siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!before(position, parent)) {
+                break;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+        return position;
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && before(child + 1, child)) {
+                child++;
+            }
+            if (!before(child, position)) {
+                return;
+            }
+            swap(position, child);
+            position = child;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int id = ids[a];
+        int prioridade = prioridades[a];
+        ids[a] = ids[b];
+        prioridades[a] = prioridades[b];
+        ids[b] = id;
+        prioridades[b] = prioridade;
+        positions.put(ids[a], a);
+        positions.put(ids[b], b);
+    }
+
+    private void siftUpCandidate(int[] candidates, int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!before(candidates[index], candidates[parent])) {
+                return;
+            }
+            swapCandidates(candidates, index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDownCandidate(int[] candidates, int count, int index) {
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= count) {
+                return;
+            }
+            if (child + 1 < count && before(candidates[child + 1], candidates[child])) {
+                child++;
+            }
+            if (!before(candidates[child], candidates[index])) {
+                return;
+            }
+            swapCandidates(candidates, index, child);
+            index = child;
+        }
+    }
+
+    private static void swapCandidates(int[] candidates, int a, int b) {
+        int candidate = candidates[a];
+        candidates[a] = candidates[b];
+        candidates[b] = candidate;
+    }
+}
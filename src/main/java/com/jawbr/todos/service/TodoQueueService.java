@@ -0,0 +1,201 @@
+package com.jawbr.todos.service;
+
+import com.jawbr.todos.config.TodoShards;
+import com.jawbr.todos.dto.request.TodoRequest;
+import com.jawbr.todos.dto.response.TodoView;
+import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.exception.TodoNotFoundException;
+import com.jawbr.todos.exception.TodoVersionConflictException;
+import com.jawbr.todos.repository.TodoRepository;
+import com.jawbr.todos.repository.TodoState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Fila de trabalho das tarefas pendentes ("o que fazer agora") sobre o {@link TodoPriorityQueue}. O heap é carregado
+ * na subida da aplicação e depois mantido pelos {@link TodoChangedEvent} de todos os caminhos de escrita, então a
+ * consulta das próximas tarefas só toca a memória.
+ * <p>
+ * A retirada ({@link #claim()}) tira a primeira tarefa do heap sob a trava, o que basta entre os workers de uma
+ * instância, e a marca como realizada com a atualização condicional de {@link TodoService}, pela versão lida: entre
+ * instâncias, só uma retirada da mesma tarefa grava. Entradas que não estão mais pendentes no banco são descartadas.
+ */
+@Service
+public class TodoQueueService {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoQueueService.class);
+    private static final int MAX_NEXT = 100;
+
+    private final TodoRepository todoRepository;
+    private final TodoService todoService;
+    private final TransactionTemplate transactionTemplate;
+    private final TodoShards shards;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private TodoPriorityQueue queue = new TodoPriorityQueue(0);
+    // Alterações recebidas durante a recarga, reaplicadas sobre o heap novo antes da troca
+    private List<TodoChangedEvent> pending;
+
+    public TodoQueueService(TodoRepository todoRepository, TodoService todoService,
+                            PlatformTransactionManager transactionManager, TodoShards shards) {
+        this.todoRepository = todoRepository;
+        this.todoService = todoService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.shards = shards;
+    }
+
+    /**
+     * As {@code n} primeiras tarefas pendentes (no máximo 100), só com id e prioridade.
+     */
+    public List<TodoView> next(int n) {
+        lock.readLock().lock();
+        try {
+            int[] ids = queue.top(Math.min(Math.max(n, 0), MAX_NEXT));
+            List<TodoView> next = new ArrayList<>(ids.length);
+            for (int id : ids) {
+                next.add(TodoView.builder().id(id).prioridade(queue.prioridade(id)).build());
+            }
+            return next;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retira a primeira tarefa pendente e a marca como realizada.
+     *
+     * @return a tarefa como ficou gravada
+     * @throws TodoNotFoundException quando não há tarefa pendente
+     */
+    public Todo claim() {
+        while (true) {
+            int id;
+            int prioridade;
+            lock.writeLock().lock();
+            try {
+                if (queue.isEmpty()) {
+                    throw TodoNotFoundException.NO_TODOS;
+                }
+                id = queue.peek();
+                prioridade = queue.prioridade(id);
+                queue.remove(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            try {
+                Optional<Todo> current = shards.onShard(shards.shardFor(id), () -> todoRepository.findById(id));
+                if (current.isEmpty() || current.get().isRealizado()) {
+                    continue;
+                }
+                Todo todo = current.get();
+                try {
+                    return todoService.updateTodo(id, new TodoRequest(todo.getNome(), todo.getDescricao(), true,
+                            todo.getPrioridade()), todo.getVersion());
+                } catch (TodoVersionConflictException | TodoNotFoundException e) {
+                    // Alterada ou removida por outra requisição depois da leitura; se ainda pendente, volta para a fila
+                    requeue(id);
+                }
+            } catch (RuntimeException e) {
+                // Falha de banco ou de shard: a tarefa não pode sumir da fila até a próxima subida
+                restore(id, prioridade);
+                throw e;
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        TodoPriorityQueue rebuilt = new TodoPriorityQueue(0);
+        try {
+            shards.forEachShard(shard -> transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<TodoState> states = todoRepository.streamStates()) {
+                    states.filter(state -> !state.realizado())
+                            .forEach(state -> rebuilt.put(state.id(), state.prioridade()));
+                }
+            }));
+        } catch (RuntimeException e) {
+            // Mantém o heap atual, que continua recebendo as alterações
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pending.forEach(event -> apply(rebuilt, event));
+            pending = null;
+            queue = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Fila de trabalho carregada com {} tarefas pendentes em {} ms", rebuilt.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(queue, event);
+            if (pending != null) {
+                pending.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void requeue(int id) {
+        shards.onShard(shards.shardFor(id), () -> todoRepository.findById(id))
+                .filter(todo -> !todo.isRealizado())
+                .ifPresent(todo -> onTodoChanged(TodoChangedEvent.updated(todo)));
+    }
+
+    /**
+     * Devolve a tarefa retirada com a prioridade que tinha, sem passar pelo banco, a menos que uma alteração já a
+     * tenha recolocado. Se ela deixou de estar pendente nesse meio tempo, a próxima retirada a descarta.
+     */
+    private void restore(int id, int prioridade) {
+        lock.writeLock().lock();
+        try {
+            if (!queue.contains(id)) {
+                queue.put(id, prioridade);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void apply(TodoPriorityQueue queue, TodoChangedEvent event) {
+        if (event.isRemoved() || event.todo().isRealizado()) {
+            queue.remove(event.id());
+        } else {
+            queue.put(event.id(), event.todo().getPrioridade());
+        }
+    }
+}
@@ -0,0 +1,517 @@
+package com.jawbr.todos.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Índice invertido em memória sobre {@code nome} e {@code descricao}.
+ *
+ * <p>Cada tarefa indexada recebe um número interno de documento, sempre crescente, então as listas de ocorrências
+ * ({@code int[]} de documentos e de pesos) ficam ordenadas apenas acrescentando ao final. Atualizar ou remover uma
+ * tarefa só marca o documento antigo como apagado; quando os apagados passam da metade dos vivos o índice é
+ * compactado. Termos muito frequentes são guardados como bitsets (ver {@link Postings}). A busca exige todos os
+ * termos (interseção a partir da lista esparsa mais curta) e ordena por {@code soma(peso * idf)}, com ocorrências
+ * no nome valendo mais que na descrição.
+ *
+ * <p>Não é thread-safe; o acesso é coordenado por {@link TodoSearchService}.
+ */
+final class TodoSearchIndex {
+
+    private static final int NOME_WEIGHT = 3;
+    private static final int DESCRICAO_WEIGHT = 1;
+    private static final int MIN_COMPACTION = 1024;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "as", "os", "da", "de", "do", "das", "dos", "em", "na", "no", "nas", "nos", "um", "uma", "uns", "umas",
+            "ao", "aos", "para", "pra", "por", "com", "que", "se", "ou");
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final IntIntHashMap docByTodoId;
+    private long[] deleted = new long[0];
+    private int[] todoIdByDoc;
+    // Listas de ocorrências de cada documento vivo, para descontar o documento delas quando for apagado
+    private Postings[][] postingsByDoc;
+    private int docCount;
+    private int deletedCount;
+
+    TodoSearchIndex(int expectedSize) {
+        this.docByTodoId = new IntIntHashMap(expectedSize, -1);
+        this.todoIdByDoc = new int[Math.max(16, expectedSize)];
+        this.postingsByDoc = new Postings[todoIdByDoc.length][];
+    }
+
+    /**
+     * Indexa a tarefa, substituindo a versão anterior se houver.
+     */
+    void put(int todoId, String nome, String descricao) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        tokenize(nome, token -> weights.merge(token, NOME_WEIGHT, Integer::sum));
+        tokenize(descricao, token -> weights.merge(token, DESCRICAO_WEIGHT, Integer::sum));
+
+        if (docCount == todoIdByDoc.length) {
+            todoIdByDoc = Arrays.copyOf(todoIdByDoc, docCount + (docCount >> 1));
+            postingsByDoc = Arrays.copyOf(postingsByDoc, todoIdByDoc.length);
+        }
+        int doc = docCount++;
+        todoIdByDoc[doc] = todoId;
+        markDeleted(docByTodoId.put(todoId, doc));
+        Postings[] lists = new Postings[weights.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            lists[i] = postings.computeIfAbsent(entry.getKey(), t -> new Postings());
+            lists[i++].add(doc, entry.getValue());
+        }
+        postingsByDoc[doc] = lists;
+        compactIfNeeded();
+    }
+
+    void remove(int todoId) {
+        markDeleted(docByTodoId.remove(todoId));
+        compactIfNeeded();
+    }
+
+    int size() {
+        return docByTodoId.size();
+    }
+
+    /**
+     * @return os ids das tarefas em {@code [offset, offset + limit)} da lista ordenada por relevância e o total de
+     * tarefas que contêm todos os termos
+     */
+    Hits search(String query, long offset, int limit) {
+        List<Postings> found = new ArrayList<>();
+        for (String term : distinctTerms(query)) {
+            Postings list = postings.get(term);
+            if (list == null) {
+                return Hits.EMPTY;
+            }
+            found.add(list);
+        }
+        if (found.isEmpty()) {
+            return Hits.EMPTY;
+        }
+        // Densas por último: nelas cada candidato custa só um teste de bit
+        found.sort(Comparator.comparing(Postings::isDense).thenComparingInt(list -> list.size));
+        Postings[] lists = found.toArray(new Postings[0]);
+
+        int live = size();
+        int candidates = Integer.MAX_VALUE;
+        double[] idf = new double[lists.length];
+        for (int i = 0; i < idf.length; i++) {
+            idf[i] = Math.log(1 + (double) live / Math.max(1, lists[i].live));
+            candidates = Math.min(candidates, lists[i].live);
+        }
+
+        // Nenhuma tarefa além das que contêm o termo mais raro: o heap nunca é maior que elas, e uma página depois
+        // delas só conta o total
+        int capacity = (int) Math.min(offset + limit, candidates);
+        TopHits top = new TopHits(offset < capacity ? capacity : 0);
+        int total = lists[0].isDense()
+                ? intersectDense(lists, idf, top)
+                : intersectSparse(lists, idf, top);
+        return new Hits(offset < capacity ? top.drain((int) offset, todoIdByDoc) : new int[0], total);
+    }
+
+    /**
+     * Todas as listas são densas: a interseção é um {@code AND} palavra a palavra dos bitsets, sem desvios por
+     * documento que não casa.
+     */
+    private int intersectDense(Postings[] lists, double[] idf, TopHits top) {
+        int total = 0;
+        int words = (docCount + 63) >>> 6;
+        for (int w = 0; w < words; w++) {
+            long word = w < deleted.length ? ~deleted[w] : -1L;
+            for (int i = 0; i < lists.length && word != 0; i++) {
+                word &= lists[i].word(w);
+            }
+            while (word != 0) {
+                int doc = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                double score = 0;
+                for (int i = 0; i < lists.length; i++) {
+                    score += lists[i].denseWeight(doc) * idf[i];
+                }
+                total++;
+                top.offer(doc, score);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Percorre a lista mais curta (esparsa) e procura cada documento nas demais: teste de bit nas densas, cursor
+     * que só avança nas esparsas.
+     */
+    private int intersectSparse(Postings[] lists, double[] idf, TopHits top) {
+        int total = 0;
+        int[] cursors = new int[lists.length];
+        Postings rarest = lists[0];
+        candidates:
+        for (int p = 0; p < rarest.size; p++) {
+            int doc = rarest.docs[p];
+            if (isDeleted(doc)) {
+                continue;
+            }
+            double score = rarest.weights[p] * idf[0];
+            for (int i = 1; i < lists.length; i++) {
+                Postings other = lists[i];
+                if (other.isDense()) {
+                    if (!other.contains(doc)) {
+                        continue candidates;
+                    }
+                    score += other.denseWeight(doc) * idf[i];
+                    continue;
+                }
+                int at = other.advance(cursors[i], doc);
+                cursors[i] = at;
+                if (at == other.size) {
+                    break candidates;
+                }
+                if (other.docs[at] != doc) {
+                    continue candidates;
+                }
+                score += other.weights[at] * idf[i];
+            }
+            total++;
+            top.offer(doc, score);
+        }
+        return total;
+    }
+
+    private boolean isDeleted(int doc) {
+        int w = doc >>> 6;
+        return w < deleted.length && (deleted[w] & (1L << doc)) != 0;
+    }
+
+    private void markDeleted(int doc) {
+        if (doc >= 0) {
+            int w = doc >>> 6;
+            if (w >= deleted.length) {
+                deleted = Arrays.copyOf(deleted, Math.max(w + 1, deleted.length + (deleted.length >> 1)));
+            }
+            deleted[w] |= 1L << doc;
+            deletedCount++;
+            for (Postings list : postingsByDoc[doc]) {
+                list.live--;
+            }
+            postingsByDoc[doc] = null;
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (deletedCount < MIN_COMPACTION || deletedCount < size() / 2) {
+            return;
+        }
+        int[] newDoc = new int[docCount];
+        int live = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (isDeleted(doc)) {
+                newDoc[doc] = -1;
+            } else {
+                newDoc[doc] = live;
+                todoIdByDoc[live] = todoIdByDoc[doc];
+                postingsByDoc[live] = postingsByDoc[doc];
+                docByTodoId.put(todoIdByDoc[live], live);
+                live++;
+            }
+        }
+        for (Iterator<Postings> it = postings.values().iterator(); it.hasNext(); ) {
+            Postings list = it.next();
+            list.remap(newDoc, live);
+            if (list.size == 0) {
+                it.remove();
+            }
+        }
+        Arrays.fill(postingsByDoc, live, docCount, null);
+        docCount = live;
+        deleted = new long[0];
+        deletedCount = 0;
+    }
+
+    static List<String> distinctTerms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        tokenize(text, terms::add);
+        return new ArrayList<>(terms);
+    }
+
+    /**
+     * Separa o texto em termos: sem acentos, em minúsculas, só letras e dígitos, sem palavras de uma letra e sem
+     * as palavras mais comuns do português.
+     */
+    static void tokenize(String text, Consumer<String> sink) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i <= folded.length(); i++) {
+            char c = i < folded.length() ? folded.charAt(i) : ' ';
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else if (!token.isEmpty()) {
+                String term = token.toString();
+                token.setLength(0);
+                if (term.length() > 1 && !STOP_WORDS.contains(term)) {
+                    sink.accept(term);
+                }
+            }
+        }
+    }
+
+    record Hits(int[] todoIds, int total) {
+
+        static final Hits EMPTY = new Hits(new int[0], 0);
+    }
+
+    /**
+     * Lista de ocorrências de um termo. Enquanto o termo é raro guarda documentos em ordem crescente e o peso em
+     * cada um; quando passa a aparecer em mais de 1/8 dos documentos vira um bitset indexado pelo documento com o
+     * peso em um byte, o que ocupa menos memória nessa densidade e troca a busca por cursor por um teste de bit.
+     * A compactação devolve à forma esparsa as listas que ficaram abaixo de 1/16.
+     */
+    private static final class Postings {
+
+        private static final int DENSE_MIN_SIZE = 512;
+
+        private int[] docs = new int[4];
+        private int[] weights = new int[4];
+        private long[] bits;
+        private byte[] denseWeights;
+        // Ocorrências, inclusive em documentos apagados ainda não compactados
+        private int size;
+        // Ocorrências em documentos vivos, a frequência usada no idf
+        private int live;
+
+        boolean isDense() {
+            return bits != null;
+        }
+
+        void add(int doc, int weight) {
+            if (bits == null && size >= DENSE_MIN_SIZE && size * 8L > doc) {
+                densify(doc + 1);
+            }
+            if (bits != null) {
+                if (doc >= denseWeights.length) {
+                    int capacity = Math.max(doc + 1, denseWeights.length + (denseWeights.length >> 1));
+                    denseWeights = Arrays.copyOf(denseWeights, capacity);
+                    bits = Arrays.copyOf(bits, (capacity + 63) >>> 6);
+                }
+                bits[doc >>> 6] |= 1L << doc;
+                denseWeights[doc] = (byte) Math.min(weight, 255);
+                size++;
+                live++;
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+            live++;
+        }
+
+        long word(int w) {
+            return w < bits.length ? bits[w] : 0L;
+        }
+
+        boolean contains(int doc) {
+            return (word(doc >>> 6) & (1L << doc)) != 0;
+        }
+
+        int denseWeight(int doc) {
+            return denseWeights[doc] & 0xFF;
+        }
+
+        /**
+         * Primeira posição a partir de {@code from} com documento {@code >= doc}; {@code size} se não houver. Olha
+         * primeiro as posições seguintes, o caso comum quando as listas têm densidade parecida, e só então salta
+         * com busca exponencial e binária.
+         */
+        int advance(int from, int doc) {
+            int end = Math.min(size, from + 8);
+            int at = from;
+            while (at < end && docs[at] < doc) {
+                at++;
+            }
+            if (at < end || at == size) {
+                return at;
+            }
+            int low = at;
+            int step = 8;
+            int high = at;
+            while (high < size && docs[high] < doc) {
+                low = high + 1;
+                high = at + step;
+                step <<= 1;
+            }
+            at = Arrays.binarySearch(docs, low, Math.min(high, size), doc);
+            return at >= 0 ? at : -at - 1;
+        }
+
+        void remap(int[] newDoc, int newCount) {
+            if (bits != null) {
+                long[] oldBits = bits;
+                byte[] oldWeights = denseWeights;
+                bits = new long[(newCount + 63) >>> 6];
+                denseWeights = new byte[newCount];
+                size = 0;
+                for (int w = 0; w < oldBits.length; w++) {
+                    for (long word = oldBits[w]; word != 0; word &= word - 1) {
+                        int old = (w << 6) + Long.numberOfTrailingZeros(word);
+                        int doc = newDoc[old];
+                        if (doc >= 0) {
+                            bits[doc >>> 6] |= 1L << doc;
+                            denseWeights[doc] = oldWeights[old];
+                            size++;
+                        }
+                    }
+                }
+                if (size * 16L < newCount) {
+                    sparsify();
+                }
+                return;
+            }
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = newDoc[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    weights[kept] = weights[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            if (size >= DENSE_MIN_SIZE && size * 8L > newCount) {
+                densify(newCount);
+            } else if (docs.length > 16 && kept < docs.length / 4) {
+                docs = Arrays.copyOf(docs, Math.max(4, kept));
+                weights = Arrays.copyOf(weights, Math.max(4, kept));
+            }
+        }
+
+        private void densify(int capacity) {
+            bits = new long[(capacity + 63) >>> 6];
+            denseWeights = new byte[capacity];
+            for (int i = 0; i < size; i++) {
+                bits[docs[i] >>> 6] |= 1L << docs[i];
+                denseWeights[docs[i]] = (byte) Math.min(weights[i], 255);
+            }
+            docs = null;
+            weights = null;
+        }
+
+        private void sparsify() {
+            docs = new int[Math.max(4, size)];
+            weights = new int[docs.length];
+            int i = 0;
+            for (int w = 0; w < bits.length; w++) {
+                for (long word = bits[w]; word != 0; word &= word - 1) {
+                    int doc = (w << 6) + Long.numberOfTrailingZeros(word);
+                    docs[i] = doc;
+                    weights[i++] = denseWeight(doc);
+                }
+            }
+            bits = null;
+            denseWeights = null;
+        }
+    }
+
+    /**
+     * Min-heap de tamanho fixo com os {@code capacity} melhores documentos. Empate de pontuação favorece o
+     * documento indexado antes.
+     */
+    private static final class TopHits {
+
+        private final int[] docs;
+        private final double[] scores;
+        private int size;
+
+        TopHits(int capacity) {
+            this.docs = new int[capacity];
+            this.scores = new double[capacity];
+        }
+
+        void offer(int doc, double score) {
+            if (docs.length == 0) {
+                return;
+            }
+            if (size < docs.length) {
+                docs[size] = doc;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (worse(docs[0], scores[0], doc, score)) {
+                docs[0] = doc;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        int[] drain(int offset, int[] todoIdByDoc) {
+            int[] ranked = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                ranked[i] = todoIdByDoc[docs[0]];
+                docs[0] = docs[size - 1];
+                scores[0] = scores[size - 1];
+                size--;
+                siftDown(0);
+            }
+            return offset >= ranked.length ? new int[0] : Arrays.copyOfRange(ranked, offset, ranked.length);
+        }
+
+        // a é pior que b: menor pontuação, ou mesma pontuação e documento mais novo
+        private static boolean worse(int docA, double scoreA, int docB, double scoreB) {
+            return scoreA < scoreB || (scoreA == scoreB && docA > docB);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!worse(docs[i], scores[i], docs[parent], scores[parent])) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                if (left >= size) {
+                    return;
+                }
+                int right = left + 1;
+                int worst = right < size && worse(docs[right], scores[right], docs[left], scores[left]) ? right : left;
+                if (!worse(docs[worst], scores[worst], docs[i], scores[i])) {
+                    return;
+                }
+                swap(i, worst);
+                i = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int doc = docs[a];
+            docs[a] = docs[b];
+            docs[b] = doc;
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
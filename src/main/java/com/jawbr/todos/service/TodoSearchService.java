@@ -0,0 +1,162 @@
+package com.jawbr.todos.service;
+
+import com.jawbr.todos.config.TodoShards;
+import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.exception.InvalidParameterException;
+import com.jawbr.todos.exception.TodoNotFoundException;
+import com.jawbr.todos.repository.TodoRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Busca textual sobre o {@link TodoSearchIndex}. O índice é reconstruído na subida da aplicação lendo a tabela por
+ * cursor e depois mantido pelos {@link TodoChangedEvent} de todos os caminhos de escrita. A busca em si só toca a
+ * memória; o banco é consultado apenas para carregar, por id, as tarefas da página pedida, em cada shard que tem
+ * alguma delas.
+ */
+@Service
+public class TodoSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoSearchService.class);
+
+    private final TodoRepository todoRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TodoShards shards;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private TodoSearchIndex index = new TodoSearchIndex(0);
+    // Alterações recebidas durante a reconstrução, reaplicadas sobre o índice novo antes da troca
+    private List<TodoChangedEvent> pending;
+
+    public TodoSearchService(TodoRepository todoRepository, EntityManager entityManager,
+                             PlatformTransactionManager transactionManager, TodoShards shards) {
+        this.todoRepository = todoRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.shards = shards;
+    }
+
+    public Page<Todo> searchTodos(String q, Integer page, Integer pageSize) {
+        int size = Math.min(Optional.ofNullable(pageSize).orElse(10), 50);
+        int number = Optional.ofNullable(page).orElse(0);
+        if (number < 0 || size < 1) {
+            throw new InvalidParameterException("Página não pode ser negativa e o tamanho da página deve ser positivo.");
+        }
+
+        TodoSearchIndex.Hits hits;
+        lock.readLock().lock();
+        try {
+            hits = index.search(q, (long) number * size, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (hits.todoIds().length == 0) {
+            throw TodoNotFoundException.NO_TODOS;
+        }
+
+        Map<Integer, List<Integer>> idsByShard = Arrays.stream(hits.todoIds())
+                .boxed()
+                .collect(Collectors.groupingBy(shards::shardFor));
+        Map<Integer, Todo> todos = shards.onAllShards(shard -> idsByShard.containsKey(shard)
+                        ? todoRepository.findAllById(idsByShard.get(shard))
+                        : List.<Todo>of())
+                .stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toMap(Todo::getId, Function.identity()));
+        List<Todo> content = Arrays.stream(hits.todoIds())
+                .mapToObj(todos::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(content, PageRequest.of(number, size), hits.total());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long size = 0;
+        for (int shard = 0; shard < shards.count(); shard++) {
+            size += shards.onShard(shard, () -> todoRepository.count());
+        }
+        TodoSearchIndex rebuilt = new TodoSearchIndex((int) size);
+        try {
+            shards.forEachShard(shard -> transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Todo> todos = todoRepository.streamAll()) {
+                    todos.forEach(todo -> {
+                        rebuilt.put(todo.getId(), todo.getNome(), todo.getDescricao());
+                        entityManager.detach(todo);
+                    });
+                }
+            }));
+        } catch (RuntimeException e) {
+            // Mantém o índice atual, que continua recebendo as alterações
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pending.forEach(event -> apply(rebuilt, event));
+            pending = null;
+            index = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Índice de busca reconstruído com {} tarefas em {} ms", rebuilt.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(index, event);
+            if (pending != null) {
+                pending.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void apply(TodoSearchIndex index, TodoChangedEvent event) {
+        if (event.isRemoved()) {
+            index.remove(event.id());
+        } else {
+            index.put(event.id(), event.todo().getNome(), event.todo().getDescricao());
+        }
+    }
+}
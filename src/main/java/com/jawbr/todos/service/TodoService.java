@@ -1,77 +1,459 @@
 package com.jawbr.todos.service;
 
+import com.jawbr.todos.config.CacheConfig;
+import com.jawbr.todos.config.TodoListingProperties;
+import com.jawbr.todos.config.TodoShards;
+import com.jawbr.todos.dto.request.TodoFilter;
 import com.jawbr.todos.dto.request.TodoRequest;
+import com.jawbr.todos.dto.response.CursorPage;
+import com.jawbr.todos.dto.response.TodoView;
+import com.jawbr.todos.entity.ArchivedTodo;
 import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.exception.InvalidParameterException;
 import com.jawbr.todos.exception.TodoNotFoundException;
+import com.jawbr.todos.exception.TodoVersionConflictException;
+import com.jawbr.todos.repository.ArchivedTodoRepository;
 import com.jawbr.todos.repository.TodoRepository;
+import com.jawbr.todos.repository.TodoSpecifications;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 @Service
 public class TodoService {
 
+    private static final AtomicLong LAST_VERSION = new AtomicLong();
+
+    // Timer com as tags class, method e exception; a contagem por exception dá os sucessos e falhas de cada operação
+    private static final String SERVICE_TIMER = "todos.service";
+
+    // Ordem dos campos em TodoView; id e version sempre vão na resposta, pois identificam a tarefa e formam o ETag
+    private static final List<String> VIEW_FIELDS = List.of("id", "nome", "descricao", "realizado", "prioridade", "version");
+
+    // Com várias fontes, cada uma devolve offset + pageSize linhas para a intercalação; além disso, só pelo cursor
+    private static final int MAX_MERGED_OFFSET = 10_000;
+
     private final TodoRepository todoRepository;
+    private final ArchivedTodoRepository archivedTodoRepository;
+    private final TodoIdGenerator idGenerator;
+    private final TodoShards shards;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TodoListingProperties listingProperties;
+    private final TodoTextOrder textOrder;
 
-    public TodoService(TodoRepository todoRepository) {
+    public TodoService(TodoRepository todoRepository, ArchivedTodoRepository archivedTodoRepository,
+                       TodoIdGenerator idGenerator, TodoShards shards, ApplicationEventPublisher eventPublisher,
+                       TodoListingProperties listingProperties, TodoTextOrder textOrder) {
         this.todoRepository = todoRepository;
+        this.archivedTodoRepository = archivedTodoRepository;
+        this.idGenerator = idGenerator;
+        this.shards = shards;
+        this.eventPublisher = eventPublisher;
+        this.listingProperties = listingProperties;
+        this.textOrder = textOrder;
     }
 
-    public Page<Todo> findAllTodos(Integer page, Integer pageSize, String sortBy) {
-        pageSize = Math.min(Optional.ofNullable(pageSize).orElse(10), 50);
-        sortBy = Optional.ofNullable(sortBy)
-                .filter(s -> !s.isEmpty())
-                .orElse("id");
-        Sort.Direction direction = sortBy.equalsIgnoreCase("prioridade") ? Sort.Direction.DESC : Sort.Direction.ASC;
-        return Optional.of(todoRepository.findAll(
-                        PageRequest.of(Optional.ofNullable(page).orElse(0),
-                                pageSize,
-                                direction,
-                                sortBy)))
-                .filter(list -> !list.isEmpty())
-                .orElseThrow(() -> new TodoNotFoundException("Nenhuma tarefa encontrada."));
+    @Cacheable(cacheNames = CacheConfig.TODO_PAGES, key = "{#page, #pageSize, #sortBy, #filter}")
+    @Transactional(readOnly = true)
+    @Timed(SERVICE_TIMER)
+    public Page<Todo> findAllTodos(Integer page, Integer pageSize, String sortBy, TodoFilter filter) {
+        Pageable pageable = resolvePageable(page, pageSize, sortBy);
+        if (isSingleSource(filter)) {
+            return requireContent(todoRepository.findAll(TodoSpecifications.matching(filter), pageable));
+        }
+        return requireContent(findAllMerged(pageable, filter));
+    }
+
+    /**
+     * Listagem por página que seleciona no banco só as colunas em {@code fields}, além de id e version.
+     */
+    @Cacheable(cacheNames = CacheConfig.TODO_PAGES, key = "{#page, #pageSize, #sortBy, #filter, #fields}")
+    @Transactional(readOnly = true)
+    @Timed(SERVICE_TIMER)
+    public Page<TodoView> findAllTodos(Integer page, Integer pageSize, String sortBy, TodoFilter filter, Collection<String> fields) {
+        Pageable pageable = resolvePageable(page, pageSize, sortBy);
+        List<String> resolved = resolveFields(fields);
+        if (isSingleSource(filter)) {
+            return requireContent(todoRepository.findAllViews(TodoSpecifications.matching(filter), pageable, resolved));
+        }
+        return requireContent(findAllMerged(pageable, filter).map(todo -> toView(todo, resolved)));
+    }
+
+    /**
+     * Listagem por keyset: busca os registros seguintes ao cursor {@code after} com
+     * {@code WHERE (sortBy, id) > (?, ?)}, sem OFFSET e sem a consulta de COUNT da paginação por página.
+     * Um {@code after} vazio começa do início da listagem.
+     */
+    @Transactional(readOnly = true)
+    @Timed(SERVICE_TIMER)
+    public CursorPage<Todo> findAllTodosAfter(String after, Integer pageSize, String sortBy, TodoFilter filter) {
+        int size = resolvePageSize(pageSize);
+        String sort = resolveSortBy(sortBy);
+        Sort.Direction direction = resolveDirection(sort);
+
+        // Busca um registro a mais só para saber se existe próxima página
+        List<Todo> todos = isSingleSource(filter)
+                ? todoRepository.findBy(seek(after, sort, direction, filter), query -> query
+                        .sortBy(resolveKeysetSort(sort, direction))
+                        .limit(size + 1)
+                        .all())
+                : findMerged(after, sort, direction, filter, size + 1);
+        return cursorPage(todos, size, todo -> TodoCursor.of(sort, todo));
+    }
 
+    /**
+     * Listagem por keyset que seleciona só as colunas em {@code fields}, além de id, version e da coluna de
+     * ordenação, que forma o cursor.
+     */
+    @Transactional(readOnly = true)
+    @Timed(SERVICE_TIMER)
+    public CursorPage<TodoView> findAllTodosAfter(String after, Integer pageSize, String sortBy, TodoFilter filter, Collection<String> fields) {
+        int size = resolvePageSize(pageSize);
+        String sort = resolveSortBy(sortBy);
+        Sort.Direction direction = resolveDirection(sort);
+
+        List<String> resolved = resolveFields(fields, sort);
+        List<TodoView> todos = isSingleSource(filter)
+                ? todoRepository.findViews(seek(after, sort, direction, filter), resolveKeysetSort(sort, direction), size + 1, resolved)
+                : findMerged(after, sort, direction, filter, size + 1).stream().map(todo -> toView(todo, resolved)).toList();
+        return cursorPage(todos, size, todo -> TodoCursor.of(sort, todo));
+    }
+
+    /**
+     * Busca no shard dono do id, na tabela principal e, se não achar, no arquivo; tarefas arquivadas são só de
+     * leitura, então atualizá-las ou removê-las responde 404.
+     */
+    @Cacheable(cacheNames = CacheConfig.TODOS, key = "#id")
+    @Transactional(readOnly = true)
+    @Timed(SERVICE_TIMER)
+    public Todo findTodoById(int id) {
+        return shards.onShard(shards.shardFor(id), () -> todoRepository.findById(id)
+                        .or(() -> archivedTodoRepository.findById(id).map(ArchivedTodo::toTodo)))
+                .orElseThrow(() -> TodoNotFoundException.forId(id));
     }
 
+    /**
+     * Busca só na tabela principal, sem cache: a versão é a gravada agora, e tarefas arquivadas respondem 404, como na
+     * atualização.
+     */
+    @Transactional(readOnly = true)
+    @Timed(SERVICE_TIMER)
+    public Todo findLiveTodoById(int id) {
+        return shards.onShard(shards.shardFor(id), () -> todoRepository.findById(id))
+                .orElseThrow(() -> TodoNotFoundException.forId(id));
+    }
+
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.TODOS, key = "#result.id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.TODO_PAGES, allEntries = true))
+    @Timed(SERVICE_TIMER)
     public Todo createTodo(TodoRequest todo) {
         Todo newTodo = Todo.builder()
+                .id(idGenerator.nextId())
                 .nome(todo.nome())
                 .descricao(todo.descricao())
                 .prioridade(updatePrioridadeIfIsRealizado(todo))
                 .realizado(todo.realizado())
                 .build();
-        return todoRepository.save(newTodo);
+        Todo saved = shards.onShard(shards.shardFor(newTodo.getId()), () -> todoRepository.insert(newTodo));
+        eventPublisher.publishEvent(TodoChangedEvent.created(saved));
+        return saved;
     }
 
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.TODOS, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.TODO_PAGES, allEntries = true))
+    @Timed(SERVICE_TIMER)
     public Todo updateTodo(int id, TodoRequest todo) {
-        return todoRepository.findById(id)
-                .map((t) -> {
-                    Todo updatedTodo = Todo.builder()
-                            .id(id)
-                            .nome(todo.nome())
-                            .descricao(todo.descricao())
-                            .prioridade(updatePrioridadeIfIsRealizado(todo))
-                            .realizado(todo.realizado())
-                            .build();
+        return update(id, todo, null);
+    }
 
-                    return todoRepository.save(updatedTodo);
-                })
-                .orElseThrow(() -> new TodoNotFoundException(String.format("Tarefa de id '%d' não encontrada.", id)));
+    /**
+     * Atualização condicional: só grava se a versão atual da tarefa ainda for {@code expectedVersion}.
+     */
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.TODOS, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.TODO_PAGES, allEntries = true))
+    @Timed(SERVICE_TIMER)
+    public Todo updateTodo(int id, TodoRequest todo, long expectedVersion) {
+        return update(id, todo, expectedVersion);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.TODOS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.TODO_PAGES, allEntries = true)})
+    @Timed(SERVICE_TIMER)
     public void deleteTodoById(int id) {
-        todoRepository.findById(id).ifPresentOrElse(
-                todoRepository::delete, () -> {
-                    throw new TodoNotFoundException(String.format("Tarefa de id '%d' não encontrada.", id));
+        if (shards.onShard(shards.shardFor(id), () -> todoRepository.deleteTodoById(id)) == 0) {
+            throw TodoNotFoundException.forId(id);
+        }
+        eventPublisher.publishEvent(TodoChangedEvent.deleted(id));
+    }
+
+    private Todo update(int id, TodoRequest todo, Long expectedVersion) {
+        Todo updatedTodo = Todo.builder()
+                .id(id)
+                .nome(todo.nome())
+                .descricao(todo.descricao())
+                .prioridade(updatePrioridadeIfIsRealizado(todo))
+                .realizado(todo.realizado())
+                .version(nextVersion())
+                .build();
+
+        int shard = shards.shardFor(id);
+        int updated = shards.onShard(shard, () -> todoRepository.updateTodo(id, expectedVersion, updatedTodo.getVersion(),
+                updatedTodo.getNome(), updatedTodo.getDescricao(), updatedTodo.isRealizado(), updatedTodo.getPrioridade()));
+        if (updated == 0) {
+            if (expectedVersion != null && shards.onShard(shard, () -> todoRepository.existsById(id))) {
+                throw new TodoVersionConflictException(String.format("Tarefa de id '%d' foi alterada por outra requisição.", id));
+            }
+            throw TodoNotFoundException.forId(id);
+        }
+        eventPublisher.publishEvent(TodoChangedEvent.updated(updatedTodo));
+        return updatedTodo;
+    }
+
+    /**
+     * A nova versão é gerada aqui, e não com {@code version + 1} no banco, para que o UPDATE não precise de um
+     * SELECT para devolver a versão gravada. Os valores são crescentes e baseados no relógio em microssegundos,
+     * então não se repetem para a mesma tarefa nem quando o Hibernate incrementa a versão em +1 nas atualizações em lote.
+     */
+    private static long nextVersion() {
+        long now = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        return LAST_VERSION.updateAndGet(last -> Math.max(last + 1, now));
+    }
+
+    private <T> Specification<T> seek(String after, String sort, Sort.Direction direction, TodoFilter filter) {
+        return Optional.ofNullable(after)
+                .filter(a -> !a.isEmpty())
+                .map(a -> TodoCursor.decode(a).requireSortBy(sort))
+                .map(cursor -> TodoSpecifications.<T>after(sort, direction, cursor.value(), cursor.id()))
+                .orElse(Specification.where(null))
+                .and(TodoSpecifications.matching(filter));
+    }
+
+    // Sem shards e sem o arquivo, a listagem é uma consulta só, com OFFSET e COUNT no banco
+    private boolean isSingleSource(TodoFilter filter) {
+        return shards.count() == 1 && !filter.includeArchived();
+    }
+
+    /**
+     * Página por OFFSET sobre várias fontes (shards e arquivo): lê de cada uma as {@code offset + pageSize} primeiras
+     * tarefas na ordem pedida, as mesmas linhas que o OFFSET já percorreria em uma fonte só, e intercala as listas. O
+     * total é a soma das contagens.
+     */
+    private Page<Todo> findAllMerged(Pageable pageable, TodoFilter filter) {
+        if (pageable.getOffset() > MAX_MERGED_OFFSET - pageable.getPageSize()) {
+            throw new InvalidParameterException(String.format(
+                    "Com shards ou includeArchived, a paginação por página vai até a tarefa %d; para ir além, use after.",
+                    MAX_MERGED_OFFSET));
+        }
+        Sort.Order order = pageable.getSort().iterator().next();
+        int offset = (int) pageable.getOffset();
+        List<Todo> merged = findMerged(null, order.getProperty(), order.getDirection(), filter,
+                offset + pageable.getPageSize());
+        List<Todo> content = merged.size() > offset ? merged.subList(offset, merged.size()) : List.of();
+        return PageableExecutionUtils.getPage(content, pageable, () -> shards.onAllShards(shard -> count(filter))
+                .stream()
+                .mapToLong(Long::longValue)
+                .sum());
+    }
+
+    private long count(TodoFilter filter) {
+        long count = todoRepository.count(TodoSpecifications.matching(filter));
+        return filter.includeArchived() ? count + archivedTodoRepository.count(TodoSpecifications.matching(filter)) : count;
+    }
+
+    /**
+     * As primeiras {@code limit} tarefas depois do cursor {@code after}, na ordem de {@link #resolveKeysetSort}, em
+     * todos os shards e, com {@code includeArchived}, também no arquivo. Os shards são consultados em paralelo.
+     */
+    private List<Todo> findMerged(String after, String sort, Sort.Direction direction, TodoFilter filter, int limit) {
+        Sort keysetSort = resolveKeysetSort(sort, direction);
+        Specification<Todo> spec = seek(after, sort, direction, filter);
+        Specification<ArchivedTodo> archivedSpec = seek(after, sort, direction, filter);
+        List<List<Todo>> sources = new ArrayList<>();
+        shards.onAllShards(shard -> {
+            List<Todo> active = todoRepository.findBy(spec, query -> query.sortBy(keysetSort).limit(limit).all());
+            if (!filter.includeArchived()) {
+                return List.of(active);
+            }
+            List<Todo> archived = archivedTodoRepository.findBy(archivedSpec, query -> query
+                            .sortBy(keysetSort)
+                            .limit(limit)
+                            .all())
+                    .stream()
+                    .map(ArchivedTodo::toTodo)
+                    .toList();
+            return List.of(active, archived);
+        }).forEach(sources::addAll);
+        return merge(sources, comparator(sort, direction), limit);
+    }
+
+    // Intercalação de k listas já ordenadas, com um heap das cabeças de cada lista
+    private static List<Todo> merge(List<List<Todo>> sources, Comparator<Todo> order, int limit) {
+        int[] next = new int[sources.size()];
+        PriorityQueue<Integer> heads = new PriorityQueue<>(Math.max(1, sources.size()),
+                Comparator.comparing(source -> sources.get(source).get(next[source]), order));
+        for (int source = 0; source < sources.size(); source++) {
+            if (!sources.get(source).isEmpty()) {
+                heads.add(source);
+            }
+        }
+        List<Todo> merged = new ArrayList<>(limit);
+        while (merged.size() < limit && !heads.isEmpty()) {
+            int source = heads.poll();
+            merged.add(sources.get(source).get(next[source]++));
+            if (next[source] < sources.get(source).size()) {
+                heads.add(source);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * A ordem do banco, em Java: textos na ordem da collation do banco ({@link TodoTextOrder}), nulos primeiro e
+     * desempate por id ascendente.
+     */
+    private Comparator<Todo> comparator(String sort, Sort.Direction direction) {
+        Comparator<Todo> byValue = switch (sort) {
+            case "id" -> Comparator.comparingInt(Todo::getId);
+            case "nome" -> Comparator.comparing(Todo::getNome, Comparator.nullsFirst(textOrder));
+            case "descricao" -> Comparator.comparing(Todo::getDescricao, Comparator.nullsFirst(textOrder));
+            case "realizado" -> Comparator.comparing(Todo::isRealizado);
+            case "prioridade" -> Comparator.comparingInt(Todo::getPrioridade);
+            case "version" -> Comparator.comparingLong(Todo::getVersion);
+            default -> throw new IllegalArgumentException("Ordenação não suportada: " + sort);
+        };
+        byValue = direction.isAscending() ? byValue : byValue.reversed();
+        return sort.equals("id") ? byValue : byValue.thenComparingInt(Todo::getId);
+    }
+
+    private static TodoView toView(Todo todo, List<String> fields) {
+        TodoView.TodoViewBuilder view = TodoView.builder();
+        for (String field : fields) {
+            switch (field) {
+                case "id" -> view.id(todo.getId());
+                case "nome" -> view.nome(todo.getNome());
+                case "descricao" -> view.descricao(todo.getDescricao());
+                case "realizado" -> view.realizado(todo.isRealizado());
+                case "prioridade" -> view.prioridade(todo.getPrioridade());
+                case "version" -> view.version(todo.getVersion());
+                default -> throw new IllegalArgumentException("Campo não suportado: " + field);
+            }
+        }
+        return view.build();
+    }
+
+    /**
+     * Página vazia é 404, a menos que {@code todos.listing.empty-page-not-found=false}.
+     */
+    private <T> Page<T> requireContent(Page<T> page) {
+        if (page.isEmpty() && listingProperties.emptyPageNotFound()) {
+            throw TodoNotFoundException.NO_TODOS;
+        }
+        return page;
+    }
+
+    private <T> CursorPage<T> cursorPage(List<T> todos, int size, Function<T, TodoCursor> cursor) {
+        if (todos.isEmpty()) {
+            if (listingProperties.emptyPageNotFound()) {
+                throw TodoNotFoundException.NO_TODOS;
+            }
+            return new CursorPage<>(todos, 0, false, null);
+        }
+
+        boolean hasNext = todos.size() > size;
+        List<T> content = hasNext ? todos.subList(0, size) : todos;
+        String next = hasNext ? cursor.apply(content.get(size - 1)).encode() : null;
+        return new CursorPage<>(content, content.size(), hasNext, next);
+    }
+
+    private Pageable resolvePageable(Integer page, Integer pageSize, String sortBy) {
+        String sort = resolveSortBy(sortBy);
+        int number = Optional.ofNullable(page).orElse(0);
+        if (number < 0) {
+            throw new InvalidParameterException("Página não pode ser negativa.");
+        }
+        return PageRequest.of(number, resolvePageSize(pageSize), resolveDirection(sort), sort);
+    }
+
+    /**
+     * Valida os nomes pedidos (campo inexistente gera {@code PropertyReferenceException}, respondida com 400) e
+     * devolve-os na ordem de {@link TodoView}, sempre com id, version e {@code required}. Aceita nomes separados
+     * por vírgula.
+     */
+    private static List<String> resolveFields(Collection<String> fields, String... required) {
+        Set<String> requested = new HashSet<>(List.of("id", "version"));
+        requested.addAll(List.of(required));
+        for (String field : fields) {
+            for (String name : field.split(",")) {
+                String trimmed = name.trim();
+                if (!trimmed.isEmpty()) {
+                    PropertyPath.from(trimmed, Todo.class);
+                    requested.add(trimmed);
                 }
-        );
+            }
+        }
+        return VIEW_FIELDS.stream().filter(requested::contains).toList();
+    }
+
+    private int resolvePageSize(Integer pageSize) {
+        int size = Math.min(Optional.ofNullable(pageSize).orElse(10), 50);
+        if (size < 1) {
+            throw new InvalidParameterException("O tamanho da página deve ser positivo.");
+        }
+        return size;
+    }
+
+    /**
+     * Só os campos da resposta ordenam a listagem: são os que o cursor consegue guardar e o cliente consegue ver.
+     */
+    private String resolveSortBy(String sortBy) {
+        String sort = Optional.ofNullable(sortBy)
+                .filter(s -> !s.isEmpty())
+                .orElse("id");
+        if (!VIEW_FIELDS.contains(sort)) {
+            throw new InvalidParameterException(String.format("Ordenação por '%s' não suportada. Valores suportados: %s.",
+                    sort, String.join(", ", VIEW_FIELDS)));
+        }
+        return sort;
+    }
+
+    private Sort.Direction resolveDirection(String sortBy) {
+        return sortBy.equalsIgnoreCase("prioridade") ? Sort.Direction.DESC : Sort.Direction.ASC;
+    }
 
+    private Sort resolveKeysetSort(String sortBy, Sort.Direction direction) {
+        Sort sort = Sort.by(direction, sortBy);
+        return sortBy.equals("id") ? sort : sort.and(Sort.by("id"));
     }
 
-    private int updatePrioridadeIfIsRealizado(TodoRequest todo) {
+    static int updatePrioridadeIfIsRealizado(TodoRequest todo) {
         return todo.realizado() ? 0 : todo.prioridade();
     }
 }
@@ -0,0 +1,131 @@
+package com.jawbr.todos.service;
+
+import com.jawbr.todos.config.TodoDataSourceProperties;
+import com.jawbr.todos.config.TodoShards;
+import com.jawbr.todos.entity.ArchivedTodo;
+import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.repository.ArchivedTodoRepository;
+import com.jawbr.todos.repository.TodoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Move cada tarefa para o shard dono do id depois que a lista de shards muda. Com
+ * {@code todos.datasource.rebalance=true} a aplicação roda o rebalanceamento assim que fica pronta e encerra; as
+ * outras instâncias devem estar paradas, porque uma alteração feita no shard antigo depois da cópia se perde.
+ * <p>
+ * Cada shard é percorrido por id, em páginas. As tarefas de outro dono são copiadas para ele, pulando as que já
+ * estão lá, e só então removidas da origem; uma execução interrompida pode ser repetida. O arquivo
+ * ({@code todos_archive}) é movido do mesmo jeito.
+ */
+@Service
+public class TodoShardRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoShardRebalancer.class);
+    private static final int PAGE_SIZE = 500;
+
+    private final TodoRepository todoRepository;
+    private final ArchivedTodoRepository archivedTodoRepository;
+    private final TodoShards shards;
+    private final TransactionTemplate transactionTemplate;
+    private final TodoDataSourceProperties properties;
+
+    public TodoShardRebalancer(TodoRepository todoRepository, ArchivedTodoRepository archivedTodoRepository,
+                               TodoShards shards, PlatformTransactionManager transactionManager,
+                               TodoDataSourceProperties properties) {
+        this.todoRepository = todoRepository;
+        this.archivedTodoRepository = archivedTodoRepository;
+        this.shards = shards;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebalanceOnReady(ApplicationReadyEvent event) {
+        if (properties.rebalance()) {
+            rebalance();
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+
+    /**
+     * @return quantidade de tarefas movidas, ativas e arquivadas
+     */
+    public int rebalance() {
+        long start = System.nanoTime();
+        int moved = 0;
+        for (int shard = 0; shard < shards.count(); shard++) {
+            moved += rebalance(shard, todoRepository::findIdsAfter, this::moveTodos);
+            moved += rebalance(shard, archivedTodoRepository::findIdsAfter, this::moveArchived);
+        }
+        log.info("{} tarefas movidas entre {} shards em {} ms", moved, shards.count(),
+                (System.nanoTime() - start) / 1_000_000);
+        return moved;
+    }
+
+    private int rebalance(int source, IdPages pages, Move move) {
+        int moved = 0;
+        int after = 0;
+        List<Integer> ids;
+        do {
+            int current = after;
+            ids = shards.onShard(source, () -> pages.after(current, PageRequest.of(0, PAGE_SIZE)));
+            if (ids.isEmpty()) {
+                break;
+            }
+            after = ids.get(ids.size() - 1);
+            Map<Integer, List<Integer>> misplaced = ids.stream()
+                    .filter(id -> shards.shardFor(id) != source)
+                    .collect(Collectors.groupingBy(shards::shardFor));
+            for (Map.Entry<Integer, List<Integer>> entry : misplaced.entrySet()) {
+                moved += move.apply(source, entry.getKey(), entry.getValue());
+            }
+        } while (ids.size() == PAGE_SIZE);
+        return moved;
+    }
+
+    private int moveTodos(int source, int target, List<Integer> ids) {
+        List<Todo> todos = shards.onShard(source, () -> todoRepository.findAllById(ids));
+        shards.onShard(target, () -> transactionTemplate.executeWithoutResult(status -> {
+            Set<Integer> existing = new HashSet<>(todoRepository.findExistingIds(ids));
+            todoRepository.insertAll(todos.stream().filter(todo -> !existing.contains(todo.getId())).toList());
+        }));
+        shards.onShard(source, () -> todoRepository.deleteAllByIdInBatch(ids));
+        return todos.size();
+    }
+
+    private int moveArchived(int source, int target, List<Integer> ids) {
+        List<ArchivedTodo> todos = shards.onShard(source, () -> archivedTodoRepository.findAllById(ids));
+        shards.onShard(target, () -> transactionTemplate.executeWithoutResult(status -> {
+            Set<Integer> existing = new HashSet<>(archivedTodoRepository.findExistingIds(ids));
+            archivedTodoRepository.saveAll(todos.stream().filter(todo -> !existing.contains(todo.getId())).toList());
+        }));
+        shards.onShard(source, () -> archivedTodoRepository.deleteAllByIdInBatch(ids));
+        return todos.size();
+    }
+
+    @FunctionalInterface
+    private interface IdPages {
+
+        List<Integer> after(int id, PageRequest page);
+    }
+
+    @FunctionalInterface
+    private interface Move {
+
+        int apply(int source, int target, List<Integer> ids);
+    }
+}
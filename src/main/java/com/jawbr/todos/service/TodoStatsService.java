@@ -0,0 +1,251 @@
+package com.jawbr.todos.service;
+
+import com.jawbr.todos.config.TodoShards;
+import com.jawbr.todos.dto.response.TodoStats;
+import com.jawbr.todos.repository.ArchivedTodoRepository;
+import com.jawbr.todos.repository.TodoRepository;
+import com.jawbr.todos.repository.TodoState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Estatísticas da tabela de tarefas (pendentes, realizadas e quantidade por prioridade) mantidas em memória. Os
+ * contadores são carregados na subida da aplicação e depois ajustados pelos {@link TodoChangedEvent} de todos os
+ * caminhos de escrita; a leitura só soma contadores, sem tocar o banco.
+ * <p>
+ * Como o evento de atualização traz só o estado novo, o estado anterior de cada tarefa (realizado e prioridade) fica
+ * guardado por id para saber qual contador decrementar. Periodicamente ({@code todos.stats.reconcile-interval}) os
+ * contadores são conferidos com um {@code GROUP BY} no banco e recarregados se divergirem, por exemplo após
+ * alterações feitas direto no banco. Com shards, a carga e a conferência percorrem um shard por vez.
+ * <p>
+ * Tarefas arquivadas continuam nos totais: o arquivamento só esquece o estado guardado pelo id, sem mexer nos
+ * contadores, e a carga e a conferência somam as contagens de {@code todos_archive}, que é somente leitura.
+ */
+@Service
+public class TodoStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoStatsService.class);
+
+    private final TodoRepository todoRepository;
+    private final ArchivedTodoRepository archivedTodoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TodoShards shards;
+    // Serializa as escritas; a leitura não passa por aqui
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Counts counts = new Counts(0);
+    // Alterações recebidas durante a recarga, reaplicadas sobre os contadores novos antes da troca
+    private List<TodoChangedEvent> pending;
+
+    public TodoStatsService(TodoRepository todoRepository, ArchivedTodoRepository archivedTodoRepository,
+                            PlatformTransactionManager transactionManager, TodoShards shards) {
+        this.todoRepository = todoRepository;
+        this.archivedTodoRepository = archivedTodoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.shards = shards;
+    }
+
+    /**
+     * Os contadores são lidos um a um, sem trava: com escritas em andamento, a soma de pendentes e realizadas pode
+     * diferir por alguns itens do histograma.
+     */
+    public TodoStats getStats() {
+        return counts.snapshot();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+
+        long size = 0;
+        for (int shard = 0; shard < shards.count(); shard++) {
+            size += shards.onShard(shard, () -> todoRepository.count());
+        }
+        Counts rebuilt = new Counts((int) size);
+        try {
+            // O arquivo antes da tabela principal: uma tarefa arquivada entre as duas leituras fica de fora até a
+            // próxima conferência, em vez de contar duas vezes
+            shards.forEachShard(shard -> archivedTodoRepository.countByRealizadoAndPrioridade()
+                    .forEach(row -> rebuilt.addArchived((Boolean) row[0], ((Number) row[1]).intValue(),
+                            ((Number) row[2]).longValue())));
+            shards.forEachShard(shard -> transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<TodoState> states = todoRepository.streamStates()) {
+                    states.forEach(state -> rebuilt.put(state.id(), state.realizado(), state.prioridade()));
+                }
+            }));
+        } catch (RuntimeException e) {
+            // Mantém os contadores atuais, que continuam recebendo as alterações
+            lock.lock();
+            try {
+                pending = null;
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+
+        lock.lock();
+        try {
+            pending.forEach(rebuilt::apply);
+            pending = null;
+            counts = rebuilt;
+        } finally {
+            lock.unlock();
+        }
+        log.info("Estatísticas carregadas com {} tarefas em {} ms", rebuilt.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Confere os contadores com o banco e recarrega se divergirem. Uma escrita entre a consulta e a comparação
+     * também gera divergência; nesse caso a recarga é só desnecessária, não incorreta.
+     */
+    @Scheduled(initialDelayString = "${todos.stats.reconcile-interval:PT10M}",
+            fixedDelayString = "${todos.stats.reconcile-interval:PT10M}")
+    public void reconcile() {
+        List<Object[]> rows = new ArrayList<>();
+        shards.forEachShard(shard -> {
+            rows.addAll(todoRepository.countByRealizadoAndPrioridade());
+            rows.addAll(archivedTodoRepository.countByRealizadoAndPrioridade());
+        });
+        TodoStats expected = toStats(rows);
+        TodoStats actual = getStats();
+        if (!expected.equals(actual)) {
+            log.warn("Estatísticas divergentes do banco (memória: {}, banco: {}); recarregando", actual, expected);
+            rebuild();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        lock.lock();
+        try {
+            counts.apply(event);
+            if (pending != null) {
+                pending.add(event);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static TodoStats toStats(List<Object[]> rows) {
+        long pending = 0;
+        long completed = 0;
+        SortedMap<Integer, Long> byPrioridade = new TreeMap<>();
+        for (Object[] row : rows) {
+            long count = ((Number) row[2]).longValue();
+            if ((Boolean) row[0]) {
+                completed += count;
+            } else {
+                pending += count;
+            }
+            byPrioridade.merge(((Number) row[1]).intValue(), count, Long::sum);
+        }
+        return new TodoStats(pending + completed, pending, completed, byPrioridade);
+    }
+
+    /**
+     * Contadores e estado por id. As escritas acontecem sob a trava do serviço; os {@link LongAdder} podem ser
+     * lidos de qualquer thread.
+     */
+    private static final class Counts {
+
+        private final IntIntHashMap prioridadeById;
+        private final BitSet realizados = new BitSet();
+        private final LongAdder pending = new LongAdder();
+        private final LongAdder completed = new LongAdder();
+        private final ConcurrentMap<Integer, LongAdder> byPrioridade = new ConcurrentHashMap<>();
+
+        Counts(int expectedSize) {
+            this.prioridadeById = new IntIntHashMap(expectedSize, 0);
+        }
+
+        void apply(TodoChangedEvent event) {
+            if (event.type() == TodoChangedEvent.Type.ARCHIVED) {
+                archive(event.id());
+            } else if (event.isRemoved()) {
+                remove(event.id());
+            } else {
+                put(event.id(), event.todo().isRealizado(), event.todo().getPrioridade());
+            }
+        }
+
+        // Idempotente: reaplicar o mesmo estado (como na recarga) não altera os contadores
+        void put(int id, boolean realizado, int prioridade) {
+            if (prioridadeById.containsKey(id)) {
+                if (realizados.get(id) == realizado && prioridadeById.get(id) == prioridade) {
+                    return;
+                }
+                remove(id);
+            }
+            prioridadeById.put(id, prioridade);
+            realizados.set(id, realizado);
+            (realizado ? completed : pending).increment();
+            byPrioridade.computeIfAbsent(prioridade, p -> new LongAdder()).increment();
+        }
+
+        void remove(int id) {
+            if (!prioridadeById.containsKey(id)) {
+                return;
+            }
+            int prioridade = prioridadeById.remove(id);
+            (realizados.get(id) ? completed : pending).decrement();
+            realizados.clear(id);
+            byPrioridade.get(prioridade).decrement();
+        }
+
+        // A tarefa sai da tabela principal, mas continua nos contadores
+        void archive(int id) {
+            if (prioridadeById.containsKey(id)) {
+                prioridadeById.remove(id);
+                realizados.clear(id);
+            }
+        }
+
+        void addArchived(boolean realizado, int prioridade, long count) {
+            (realizado ? completed : pending).add(count);
+            byPrioridade.computeIfAbsent(prioridade, p -> new LongAdder()).add(count);
+        }
+
+        int size() {
+            return prioridadeById.size();
+        }
+
+        TodoStats snapshot() {
+            long pendingCount = pending.sum();
+            long completedCount = completed.sum();
+            SortedMap<Integer, Long> histogram = new TreeMap<>();
+            byPrioridade.forEach((prioridade, count) -> {
+                long sum = count.sum();
+                if (sum > 0) {
+                    histogram.put(prioridade, sum);
+                }
+            });
+            return new TodoStats(pendingCount + completedCount, pendingCount, completedCount, histogram);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.jawbr.todos.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.text.Collator;
+import java.util.Comparator;
+import java.util.Locale;
+
+/**
+ * Ordem em que o banco ordena as colunas de texto ({@code nome}, {@code descricao}), reproduzida em Java para
+ * intercalar as listagens com várias fontes (shards e arquivo). A intercalação precisa concordar com o
+ * {@code ORDER BY} de cada fonte e com o filtro do cursor, que o banco avalia com a própria collation; uma ordem
+ * diferente pula ou repete tarefas entre as páginas.
+ * <p>
+ * A ordem é descoberta na primeira comparação, depois das migrações: no MySQL pela collation da coluna
+ * {@code todos.nome} ({@code _bin} compara os code points; {@code _ci}/{@code _ai_ci} ignoram maiúsculas e acentos,
+ * aproximados pelo {@link Collator} da raiz); no H2, e nos demais bancos, os textos são comparados caractere a
+ * caractere, como em {@link String#compareTo}. Todos os shards usam o mesmo banco, então a ordem vem do shard 0.
+ */
+@Component
+public class TodoTextOrder implements Comparator<String> {
+
+    private final DataSource dataSource;
+    private volatile Comparator<String> order;
+
+    @Autowired
+    public TodoTextOrder(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    private TodoTextOrder(Comparator<String> order) {
+        this.dataSource = null;
+        this.order = order;
+    }
+
+    /**
+     * Ordem fixa, sem consultar o banco.
+     */
+    public static TodoTextOrder of(Comparator<String> order) {
+        return new TodoTextOrder(order);
+    }
+
+    @Override
+    public int compare(String a, String b) {
+        Comparator<String> resolved = order;
+        if (resolved == null) {
+            resolved = resolve();
+            order = resolved;
+        }
+        return resolved.compare(a, b);
+    }
+
+    private Comparator<String> resolve() {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        String product = jdbc.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"MySQL".equals(product) && !"MariaDB".equals(product)) {
+            return Comparator.naturalOrder();
+        }
+        return forMySqlCollation(jdbc.queryForObject("""
+                select coalesce((select collation_name from information_schema.columns
+                                 where table_schema = database() and table_name = 'todos' and column_name = 'nome'),
+                                @@collation_database)""", String.class));
+    }
+
+    static Comparator<String> forMySqlCollation(String collation) {
+        String name = collation.toLowerCase(Locale.ROOT);
+        if (name.endsWith("_bin")) {
+            return TodoTextOrder::compareCodePoints;
+        }
+        Collator collator = Collator.getInstance(Locale.ROOT);
+        if (name.endsWith("_as_cs") || name.endsWith("_cs")) {
+            collator.setStrength(Collator.TERTIARY);
+        } else if (name.endsWith("_as_ci")) {
+            collator.setStrength(Collator.SECONDARY);
+        } else {
+            collator.setStrength(Collator.PRIMARY);
+        }
+        return collator::compare;
+    }
+
+    private static int compareCodePoints(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int x = a.codePointAt(i);
+            int y = b.codePointAt(j);
+            if (x != y) {
+                return Integer.compare(x, y);
+            }
+            i += Character.charCount(x);
+            j += Character.charCount(y);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+}
@@ -0,0 +1,200 @@
+package com.jawbr.todos.service;
+
+import com.jawbr.todos.config.TodoBatchProperties;
+import com.jawbr.todos.config.TodoWriteBehindProperties;
+import com.jawbr.todos.dto.request.TodoRequest;
+import com.jawbr.todos.dto.request.TodoUpdateRequest;
+import com.jawbr.todos.dto.response.TodoBatchResult;
+import com.jawbr.todos.entity.Todo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Gravação adiada de atualizações. Cada atualização aceita substitui a anterior da mesma tarefa ainda não gravada, e a
+ * cada {@code todos.write-behind.window} as pendentes são gravadas em lote por
+ * {@link TodoBatchService#updateTodos(List)}: uma rajada de alterações na mesma tarefa vira um único {@code UPDATE}.
+ * <p>
+ * Até a gravação, {@link #pending(int)} devolve o estado aceito, para que a busca por id enxergue a própria escrita;
+ * a listagem e a busca textual só mudam depois da gravação. Na parada da aplicação as pendentes são gravadas antes de
+ * o banco ser fechado; uma queda do processo perde no máximo uma janela de atualizações.
+ * <p>
+ * Cada pendente guarda a versão da tarefa em que foi aceita, e a gravação só acontece se a tarefa ainda estiver nela:
+ * uma escrita síncrona no meio da janela (PUT, {@code If-Match}, retirada da fila de trabalho, outra instância)
+ * prevalece, e a pendente é descartada e contada em {@code todos.write_behind.conflicts}. Alterações e remoções
+ * síncronas vistas por esta instância descartam a pendente na hora.
+ */
+@Service
+public class TodoWriteBehindService {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoWriteBehindService.class);
+
+    private static final String PREFER_ASYNC = "respond-async";
+
+    private final TodoService todoService;
+    private final TodoBatchService todoBatchService;
+    private final TodoBatchProperties batchProperties;
+    private final TodoWriteBehindProperties properties;
+    private final TaskScheduler taskScheduler;
+    private final Counter accepted;
+    private final Counter written;
+    private final Counter conflicts;
+    // Estado aceito e ainda não gravado, por id
+    private final Map<Integer, Todo> pending = new ConcurrentHashMap<>();
+    // Estado sendo gravado; continua visível em pending(int) até o fim da transação
+    private final Map<Integer, Todo> inflight = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+    private ScheduledFuture<?> flushTask;
+
+    public TodoWriteBehindService(TodoService todoService, TodoBatchService todoBatchService,
+                                  TodoBatchProperties batchProperties, TodoWriteBehindProperties properties,
+                                  TaskScheduler taskScheduler, MeterRegistry meterRegistry) {
+        this.todoService = todoService;
+        this.todoBatchService = todoBatchService;
+        this.batchProperties = batchProperties;
+        this.properties = properties;
+        this.taskScheduler = taskScheduler;
+        // accepted / written é o fator de agrupamento das atualizações
+        this.accepted = meterRegistry.counter("todos.write_behind.accepted");
+        this.written = meterRegistry.counter("todos.write_behind.written");
+        this.conflicts = meterRegistry.counter("todos.write_behind.conflicts");
+    }
+
+    /**
+     * @param prefer valor do cabeçalho {@code Prefer}
+     */
+    public boolean accepts(String prefer) {
+        return properties.enabled() && prefer != null && prefer.contains(PREFER_ASYNC);
+    }
+
+    /**
+     * Aceita a atualização para gravação adiada. A tarefa precisa existir na tabela principal (arquivada responde 404,
+     * como no PUT síncrono), o que custa uma leitura por tarefa por janela: as seguintes partem da pendente. A versão
+     * devolvida é a atual, já que a nova só é conhecida na gravação, e é a versão esperada pela gravação.
+     */
+    public Todo updateTodo(int id, TodoRequest todo) {
+        if (closed) {
+            return todoService.updateTodo(id, todo);
+        }
+        Todo current = pending(id).orElseGet(() -> todoService.findLiveTodoById(id));
+        Todo updated = Todo.builder()
+                .id(id)
+                .nome(todo.nome())
+                .descricao(todo.descricao())
+                .prioridade(TodoService.updatePrioridadeIfIsRealizado(todo))
+                .realizado(todo.realizado())
+                .version(current.getVersion())
+                .build();
+        pending.put(id, updated);
+        accepted.increment();
+        return updated;
+    }
+
+    /**
+     * Estado aceito e ainda não gravado da tarefa.
+     */
+    public Optional<Todo> pending(int id) {
+        Todo todo = pending.get(id);
+        return Optional.ofNullable(todo != null ? todo : inflight.get(id));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (properties.enabled()) {
+            flushTask = taskScheduler.scheduleWithFixedDelay(this::flush, properties.window());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        closed = true;
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
+        flush();
+    }
+
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Todo> todos = new ArrayList<>(pending.size());
+        for (Integer id : pending.keySet()) {
+            Todo todo = pending.get(id);
+            // Publica em inflight antes de tirar de pending, para a leitura nunca cair no banco ainda desatualizado.
+            // Se outra atualização chegou no meio, ela continua em pending para a próxima gravação
+            if (todo != null) {
+                inflight.put(id, todo);
+                pending.remove(id, todo);
+                todos.add(todo);
+            }
+        }
+
+        for (int from = 0; from < todos.size(); from += batchProperties.maxItems()) {
+            List<Todo> chunk = todos.subList(from, Math.min(from + batchProperties.maxItems(), todos.size()));
+            try {
+                List<TodoBatchResult> results = todoBatchService.updateTodos(chunk.stream()
+                        .map(todo -> new TodoUpdateRequest(todo.getId(), todo.getNome(), todo.getDescricao(),
+                                todo.isRealizado(), todo.getPrioridade(), todo.getVersion()))
+                        .toList());
+                for (int i = 0; i < results.size(); i++) {
+                    TodoBatchResult result = results.get(i);
+                    if (result.status() == HttpStatus.OK.value()) {
+                        written.increment();
+                        rebase(chunk.get(i), result.todo().getVersion());
+                    } else if (result.status() == HttpStatus.PRECONDITION_FAILED.value()) {
+                        conflicts.increment();
+                        log.info("Atualização adiada da tarefa {} descartada: a tarefa foi alterada depois de aceita", result.id());
+                    } else {
+                        log.debug("Atualização adiada da tarefa {} descartada: {}", result.id(), result.message());
+                    }
+                }
+            } catch (RuntimeException e) {
+                // Volta para a fila sem sobrescrever atualizações mais novas, que já estão em pending
+                log.warn("Falha ao gravar {} atualizações adiadas; nova tentativa na próxima janela", chunk.size(), e);
+                chunk.forEach(todo -> pending.putIfAbsent(todo.getId(), todo));
+            } finally {
+                chunk.forEach(todo -> inflight.remove(todo.getId(), todo));
+            }
+        }
+    }
+
+    // Uma atualização aceita durante a gravação partiu da mesma versão; passa a esperar a versão recém-gravada
+    private void rebase(Todo flushed, long version) {
+        pending.computeIfPresent(flushed.getId(), (id, todo) -> todo.getVersion() != flushed.getVersion() ? todo
+                : Todo.builder()
+                        .id(id)
+                        .nome(todo.getNome())
+                        .descricao(todo.getDescricao())
+                        .prioridade(todo.getPrioridade())
+                        .realizado(todo.isRealizado())
+                        .version(version)
+                        .build());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTodoChanged(TodoChangedEvent event) {
+        if (event.isRemoved()) {
+            pending.remove(event.id());
+        } else if (!inflight.containsKey(event.id())) {
+            // Durante a gravação o evento pode ser da própria gravação; uma escrita síncrona concorrente a ela aparece
+            // como conflito na próxima janela
+            pending.computeIfPresent(event.id(), (id, todo) -> todo.getVersion() == event.todo().getVersion() ? todo : null);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+-- Mesmo esquema de db/migration/mysql, para os testes e o teste de carga em H2
+
+create table todos (
+    id integer generated by default as identity,
+    prioridade integer not null,
+    realizado boolean not null,
+    descricao varchar(255),
+    nome varchar(255),
+    primary key (id)
+);
@@ -0,0 +1,14 @@
+-- Mesmo esquema de db/migration/mysql, para os testes e o teste de carga em H2. Os bancos H2 são criados vazios, então
+-- a sequência começa em 1
+
+alter table todos add column version bigint default 0 not null;
+
+alter table todos alter column version drop default;
+
+alter table todos alter column id drop identity;
+
+create sequence todos_seq start with 1 increment by 50;
+
+create index idx_todos_realizado_prioridade on todos (realizado, prioridade desc, id);
+create index idx_todos_prioridade on todos (prioridade desc, id);
+create index idx_todos_nome on todos (nome, id);
@@ -0,0 +1,22 @@
+-- Mesmo esquema de db/migration/mysql, para os testes e o teste de carga em H2
+
+alter table todos add column realizado_em timestamp(6) with time zone;
+
+update todos set realizado_em = current_timestamp where realizado = true;
+
+create index idx_todos_realizado_em on todos (realizado_em);
+
+create table todos_archive (
+    id integer not null,
+    prioridade integer not null,
+    realizado boolean not null,
+    arquivado_em timestamp(6) with time zone,
+    realizado_em timestamp(6) with time zone,
+    version bigint not null,
+    descricao varchar(255),
+    nome varchar(255),
+    primary key (id)
+);
+
+create index idx_todos_archive_prioridade on todos_archive (prioridade desc, id);
+create index idx_todos_archive_nome on todos_archive (nome, id);
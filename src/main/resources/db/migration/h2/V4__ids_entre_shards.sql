@@ -0,0 +1,7 @@
+-- Mesmo esquema de db/migration/mysql, para os testes e o teste de carga em H2
+
+create table todos_ids (
+    next_val bigint not null
+);
+
+insert into todos_ids select greatest((next value for todos_seq) + 50, (select coalesce(max(id), 0) + 1 from todos));
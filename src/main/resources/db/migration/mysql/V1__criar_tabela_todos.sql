@@ -0,0 +1,12 @@
+-- Esquema que o Hibernate criava com ddl-auto=update a partir de Todo, antes das migrações. O banco em si vem de
+-- sql-script/criarDB.sql (utf8mb4). Bancos que já têm a tabela recebem esta versão como baseline, sem executá-la, e
+-- seguem a partir da V2.
+
+create table todos (
+    id integer not null auto_increment,
+    prioridade integer not null,
+    realizado bit not null,
+    descricao varchar(255),
+    nome varchar(255),
+    primary key (id)
+) engine=InnoDB;
@@ -0,0 +1,19 @@
+-- Versão das tarefas (@Version, base do ETag e do If-Match), ids pela sequência todos_seq em vez de AUTO_INCREMENT
+-- (o Hibernate agrupa os inserts em batches JDBC) e os índices da listagem. As tarefas existentes começam na versão 0.
+
+alter table todos add column version bigint not null default 0;
+
+alter table todos alter column version drop default;
+
+alter table todos modify id integer not null;
+
+-- Emulação da sequência todos_seq (alocação em blocos de 50 no Hibernate): o primeiro bloco começa depois do maior id
+create table todos_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into todos_seq select coalesce(max(id), 0) + 50 from todos;
+
+create index idx_todos_realizado_prioridade on todos (realizado, prioridade desc, id);
+create index idx_todos_prioridade on todos (prioridade desc, id);
+create index idx_todos_nome on todos (nome, id);
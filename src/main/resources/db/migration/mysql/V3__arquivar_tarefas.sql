@@ -0,0 +1,23 @@
+-- Data de conclusão das tarefas e a tabela do arquivamento (TodoArchiveService). Sem histórico, as tarefas já
+-- realizadas contam a partir desta migração e só são arquivadas depois de todos.archive.age.
+
+alter table todos add column realizado_em datetime(6);
+
+update todos set realizado_em = utc_timestamp(6) where realizado = true;
+
+create index idx_todos_realizado_em on todos (realizado_em);
+
+create table todos_archive (
+    id integer not null,
+    prioridade integer not null,
+    realizado bit not null,
+    arquivado_em datetime(6),
+    realizado_em datetime(6),
+    version bigint not null,
+    descricao varchar(255),
+    nome varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_todos_archive_prioridade on todos_archive (prioridade desc, id);
+create index idx_todos_archive_nome on todos_archive (nome, id);
@@ -0,0 +1,9 @@
+-- Ids das tarefas reservados em blocos pela aplicação (TodoIdGenerator), únicos entre os shards, no lugar da sequência
+-- todos_seq do Hibernate, que era de cada banco. Começa depois de todo id que a sequência já reservou; só a tabela do
+-- shard 0 é usada.
+
+create table todos_ids (
+    next_val bigint not null
+) engine=InnoDB;
+
+insert into todos_ids select greatest(next_val + 50, (select coalesce(max(id), 0) + 1 from todos)) from todos_seq;
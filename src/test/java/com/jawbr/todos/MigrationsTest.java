@@ -0,0 +1,38 @@
+package com.jawbr.todos;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MigrationsTest {
+
+    // Banco criado pela aplicação antes das migrações, com ddl-auto=update: recebe a V1 como baseline e segue da V2
+    @Test
+    public void canUpgradeDatabaseCreatedBeforeMigrationsTest() {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:legacy;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table todos (id integer generated by default as identity, descricao varchar(255), "
+                + "nome varchar(255), prioridade integer not null, realizado boolean not null, primary key (id))");
+        jdbc.update("insert into todos (nome, descricao, prioridade, realizado) values ('A', 'a', 1, true)");
+        jdbc.update("insert into todos (id, nome, descricao, prioridade, realizado) values (500, 'B', 'b', 2, false)");
+
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        assertEquals(List.of(0L, 0L), jdbc.queryForList("select version from todos order by id", Long.class));
+        assertEquals(1, jdbc.queryForObject("select count(*) from todos where realizado_em is not null", Integer.class));
+        assertTrue(jdbc.queryForObject("select next_val from todos_ids", Long.class) > 500);
+    }
+}
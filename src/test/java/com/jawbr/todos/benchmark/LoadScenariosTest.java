@@ -0,0 +1,273 @@
+package com.jawbr.todos.benchmark;
+
+import com.jawbr.todos.TodosApplication;
+import com.jawbr.todos.dto.request.TodoRequest;
+import com.jawbr.todos.service.TodoBatchService;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Teste de carga de ponta a ponta: sobe a aplicação inteira com a configuração de {@code application.properties}
+ * (cache, batch, métricas), trocando só o banco por H2 em memória, e dispara requisições HTTP reais em cenários com pesos
+ * por operação. Cada cenário grava o histograma de latência de cada operação ({@code <cenario>-<operacao>.hgrm}, no
+ * formato do HdrHistogram) e uma linha por operação em {@code summary.csv}, no diretório {@code loadtest.out}. Só roda
+ * quando pedido:
+ *
+ * <pre>
+ * mvn test -Dtest=LoadScenariosTest -Dloadtest=true \
+ *     -Dloadtest.scenarios=read,write,mixed -Dloadtest.concurrency=32 -Dloadtest.seconds=30 -Dloadtest.todos=10000
+ * mvn test -Dtest=LoadScenariosTest -Dloadtest=true -Dloadtest.mix=list:80,get:10,create:10
+ * </pre>
+ *
+ * <p>Os clientes trabalham em ciclo fechado (cada um espera a resposta antes de enviar a próxima) e sorteiam as
+ * operações com sementes fixas, então duas execuções na mesma máquina enviam a mesma sequência. Como em todo ciclo
+ * fechado, uma pausa longa do servidor atrasa as requisições seguintes em vez de aparecer nos percentis; compare
+ * vazão e percentis entre commits, não com valores absolutos de produção.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+public class LoadScenariosTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 32);
+    private static final int SECONDS = Integer.getInteger("loadtest.seconds", 30);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmupSeconds", 10);
+    private static final int TODOS = Integer.getInteger("loadtest.todos", 10_000);
+    private static final long SEED = Long.getLong("loadtest.seed", 42);
+    private static final Path OUT = Path.of(System.getProperty("loadtest.out", "target/loadtest"));
+
+    private static final String[] SORT_BY = {"id", "nome", "prioridade", "realizado"};
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    enum Operation {
+        LIST, GET, CREATE, UPDATE, DELETE
+    }
+
+    /**
+     * Cenários prontos; {@code -Dloadtest.mix=list:50,get:20,...} acrescenta um cenário {@code custom}.
+     */
+    private static final Map<String, String> PRESETS = Map.of(
+            "read", "list:70,get:30",
+            "write", "create:60,update:40",
+            "mixed", "list:50,get:20,create:15,update:10,delete:5");
+
+    @Test
+    public void runLoadScenariosTest() throws Exception {
+        Map<String, Map<Operation, Integer>> scenarios = new LinkedHashMap<>();
+        for (String name : System.getProperty("loadtest.scenarios", "read,write,mixed").split(",")) {
+            scenarios.put(name.trim(), parseMix(PRESETS.get(name.trim())));
+        }
+        if (System.getProperty("loadtest.mix") != null) {
+            scenarios.put("custom", parseMix(System.getProperty("loadtest.mix")));
+        }
+
+        Files.createDirectories(OUT);
+        List<String> summary = new ArrayList<>();
+        summary.add("scenario,operation,requests,errors,throughput_rps,p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+        int errors = 0;
+        for (Map.Entry<String, Map<Operation, Integer>> scenario : scenarios.entrySet()) {
+            // Aplicação nova por cenário: um cenário não herda o banco nem o cache aquecido do anterior
+            try (ConfigurableApplicationContext context = start(scenario.getKey())) {
+                seed(context);
+                int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+                Run run = new Run(port, scenario.getValue());
+                run.drive(WARMUP_SECONDS);
+                run.reset();
+                long elapsed = run.drive(SECONDS);
+                errors += run.report(scenario.getKey(), elapsed, summary);
+            }
+        }
+        Files.write(OUT.resolve("summary.csv"), summary);
+        summary.forEach(System.out::println);
+        assertEquals(0, errors, "requisições com erro (5xx ou falha de conexão)");
+    }
+
+    private static ConfigurableApplicationContext start(String scenario) {
+        // Argumentos de linha de comando têm precedência sobre o application.properties carregado abaixo
+        return new SpringApplicationBuilder(TodosApplication.class).run(
+                "--spring.config.additional-location=optional:file:target/classes/application.properties",
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest-" + scenario + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.datasource.hikari.maximum-pool-size=" + Math.max(10, CONCURRENCY / 2),
+                // Mede a capacidade do serviço: todos os clientes saem do mesmo endereço e seriam limitados juntos
+                "--todos.admission.enabled=false",
+                "--logging.level.root=warn");
+    }
+
+    private static void seed(ConfigurableApplicationContext context) {
+        TodoBatchService batch = context.getBean(TodoBatchService.class);
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int from = 0; from < TODOS; from += 1000) {
+            batch.createTodos(IntStream.range(from, Math.min(TODOS, from + 1000))
+                    .mapToObj(i -> request(random, i))
+                    .toList());
+        }
+    }
+
+    private static TodoRequest request(SplittableRandom random, int i) {
+        return new TodoRequest("Tarefa " + i, "Descrição da tarefa " + i + " gerada para o teste de carga",
+                random.nextInt(4) == 0, random.nextInt(10));
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        if (mix == null) {
+            throw new IllegalArgumentException("Cenário desconhecido; use " + PRESETS.keySet() + " ou -Dloadtest.mix");
+        }
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(Operation.valueOf(parts[0].toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1]));
+        }
+        return weights;
+    }
+
+    /**
+     * Uma execução de um cenário: clientes em virtual threads, um histograma por operação.
+     */
+    private static final class Run {
+
+        private final String baseUrl;
+        private final Operation[] wheel;
+        private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        private final Map<Operation, LongAdder> failures = new EnumMap<>(Operation.class);
+        private final AtomicInteger maxId = new AtomicInteger(TODOS);
+        private int round;
+
+        Run(int port, Map<Operation, Integer> weights) {
+            this.baseUrl = "http://localhost:" + port + "/api/todos";
+            List<Operation> wheel = new ArrayList<>();
+            weights.forEach((operation, weight) -> {
+                for (int i = 0; i < weight; i++) {
+                    wheel.add(operation);
+                }
+                // Até 60s, com 3 dígitos significativos
+                latencies.put(operation, new ConcurrentHistogram(TimeUnit.SECONDS.toMicros(60), 3));
+                failures.put(operation, new LongAdder());
+            });
+            this.wheel = wheel.toArray(Operation[]::new);
+        }
+
+        void reset() {
+            latencies.values().forEach(Histogram::reset);
+            failures.values().forEach(LongAdder::reset);
+        }
+
+        /**
+         * @return duração real da carga, em nanossegundos
+         */
+        long drive(int seconds) throws InterruptedException {
+            long start = System.nanoTime();
+            long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+            long roundSeed = SEED + 1000L * round++;
+            try (HttpClient http = HttpClient.newHttpClient();
+                 ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int c = 0; c < CONCURRENCY; c++) {
+                    SplittableRandom random = new SplittableRandom(roundSeed + c);
+                    clients.execute(() -> {
+                        while (System.nanoTime() < deadline) {
+                            Operation operation = wheel[random.nextInt(wheel.length)];
+                            HttpRequest request = request(operation, random);
+                            long begin = System.nanoTime();
+                            try {
+                                HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+                                if (response.statusCode() >= 500) {
+                                    failures.get(operation).increment();
+                                } else if (operation == Operation.CREATE) {
+                                    Matcher id = ID.matcher(response.body());
+                                    if (id.find()) {
+                                        maxId.accumulateAndGet(Integer.parseInt(id.group(1)), Math::max);
+                                    }
+                                }
+                            } catch (IOException | InterruptedException e) {
+                                failures.get(operation).increment();
+                            }
+                            latencies.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - begin));
+                        }
+                    });
+                }
+            }
+            return System.nanoTime() - start;
+        }
+
+        // 404 em GET, PUT e DELETE é esperado: o id sorteado pode ter sido removido por outro cliente
+        private HttpRequest request(Operation operation, SplittableRandom random) {
+            int id = random.nextInt(maxId.get()) + 1;
+            return switch (operation) {
+                case LIST -> HttpRequest.newBuilder(URI.create(baseUrl + "?page=" + random.nextInt(TODOS / 20)
+                        + "&pageSize=20&sortBy=" + SORT_BY[random.nextInt(SORT_BY.length)])).build();
+                case GET -> HttpRequest.newBuilder(URI.create(baseUrl + "/" + id)).build();
+                case CREATE -> json(HttpRequest.newBuilder(URI.create(baseUrl)), "POST", random);
+                case UPDATE -> json(HttpRequest.newBuilder(URI.create(baseUrl + "/" + id)), "PUT", random);
+                case DELETE -> HttpRequest.newBuilder(URI.create(baseUrl + "/" + id)).DELETE().build();
+            };
+        }
+
+        private static HttpRequest json(HttpRequest.Builder builder, String method, SplittableRandom random) {
+            String body = String.format("{\"nome\":\"Tarefa %d\",\"descricao\":\"Gerada no teste de carga\","
+                    + "\"realizado\":%b,\"prioridade\":%d}", random.nextInt(1_000_000), random.nextInt(4) == 0, random.nextInt(10));
+            return builder.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+
+        int report(String scenario, long elapsedNanos, List<String> summary) throws IOException {
+            double seconds = elapsedNanos / 1e9;
+            int errors = 0;
+            long total = 0;
+            for (Operation operation : latencies.keySet()) {
+                Histogram histogram = latencies.get(operation);
+                int failed = failures.get(operation).intValue();
+                errors += failed;
+                total += histogram.getTotalCount();
+                summary.add(String.format(Locale.ROOT, "%s,%s,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f",
+                        scenario, operation.name().toLowerCase(Locale.ROOT), histogram.getTotalCount(), failed,
+                        histogram.getTotalCount() / seconds,
+                        millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                        histogram.getMaxValue() / 1000.0));
+                Path file = OUT.resolve(scenario + "-" + operation.name().toLowerCase(Locale.ROOT) + ".hgrm");
+                try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                    // Valores em microssegundos; 1000.0 converte a saída para milissegundos
+                    histogram.outputPercentileDistribution(out, 1000.0);
+                }
+            }
+            summary.add(String.format(Locale.ROOT, "%s,all,%d,%d,%.1f,,,,,", scenario, total, errors, total / seconds));
+            return errors;
+        }
+
+        private static double millis(Histogram histogram, double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.jawbr.todos.benchmark;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tempo até a primeira requisição atendida: do início do processo {@code java} até a primeira resposta de
+ * {@code GET /api/todos} sem erro de servidor, com H2 em memória no lugar do MySQL. Mede o jar de
+ * {@code ./mvnw -Pstartup package} em cada combinação (sem otimização, AOT, AOT com CDS e AOT com CDS e inicialização
+ * tardia) e, com {@code -Dbenchmark.baselineJar}, um jar de outro commit para comparar. Só roda quando pedido:
+ *
+ * <pre>
+ * ./mvnw -Pstartup package -DskipTests
+ * mvn test -Dtest=StartupTimeBenchmarkTest -Dbenchmark=true -Dbenchmark.runs=5 \
+ *     -Dbenchmark.baselineJar=../todos-main/target/todos-0.0.1-SNAPSHOT.jar
+ * </pre>
+ *
+ * <p>Em H2 a subida não inclui a conexão e as consultas de metadados de um MySQL de verdade, então os tempos absolutos
+ * são menores que os de produção; compare os modos entre si.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class StartupTimeBenchmarkTest {
+
+    private static final int RUNS = Integer.getInteger("benchmark.runs", 5);
+    private static final Path TARGET = Path.of("target");
+    private static final Path OUT = Path.of(System.getProperty("benchmark.out", "target/startup"));
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    @Test
+    public void measureTimeToFirstRequestTest() throws Exception {
+        Path jar = startupJar();
+        String archive = "-XX:SharedArchiveFile=" + TARGET.resolve("todos.jsa");
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        if (System.getProperty("benchmark.baselineJar") != null) {
+            modes.put("baseline", List.of("-jar", System.getProperty("benchmark.baselineJar")));
+        }
+        modes.put("jar", List.of("-jar", jar.toString()));
+        modes.put("aot", List.of("-Dspring.aot.enabled=true", "-jar", jar.toString()));
+        modes.put("aot-cds", List.of(archive, "-Dspring.aot.enabled=true", "-jar", jar.toString()));
+        modes.put("aot-cds-lazy", List.of(archive, "-Dspring.aot.enabled=true", "-jar", jar.toString(),
+                "--spring.profiles.active=lazy"));
+
+        Files.createDirectories(OUT);
+        List<String> summary = new ArrayList<>();
+        summary.add("mode,runs,min_ms,median_ms,max_ms");
+        for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+            long[] millis = new long[RUNS];
+            for (int i = 0; i < RUNS; i++) {
+                millis[i] = timeToFirstRequest(mode.getValue());
+            }
+            Arrays.sort(millis);
+            summary.add(String.format(Locale.ROOT, "%s,%d,%d,%d,%d",
+                    mode.getKey(), RUNS, millis[0], millis[RUNS / 2], millis[RUNS - 1]));
+        }
+        Files.write(OUT.resolve("summary.csv"), summary);
+        summary.forEach(System.out::println);
+    }
+
+    private static long timeToFirstRequest(List<String> mode) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(mode);
+        command.addAll(List.of(
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:mem:startup",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"));
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/todos"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(OUT.resolve("last-run.log").toFile())
+                .start();
+        try {
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                assertTrue(process.isAlive(), "a aplicação encerrou na subida; veja " + OUT.resolve("last-run.log"));
+                try {
+                    // A listagem vazia pode responder 404 (todos.listing.*); basta ter passado pelo controller
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 500) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // Servidor ainda não está ouvindo
+                }
+                Thread.sleep(5);
+            }
+            throw new AssertionError("sem resposta em " + TIMEOUT);
+        } finally {
+            process.destroy();
+            process.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private static Path startupJar() throws IOException {
+        try (Stream<Path> files = Files.list(TARGET)) {
+            return files.filter(file -> file.getFileName().toString().matches("todos-.*\\.jar"))
+                    .findFirst()
+                    .filter(jar -> Files.exists(TARGET.resolve("todos.jsa")))
+                    .orElseThrow(() -> new IllegalStateException("Rode ./mvnw -Pstartup package -DskipTests antes"));
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
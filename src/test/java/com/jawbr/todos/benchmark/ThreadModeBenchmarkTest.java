@@ -0,0 +1,184 @@
+package com.jawbr.todos.benchmark;
+
+import com.jawbr.todos.TodosApplication;
+import com.jawbr.todos.dto.request.TodoRequest;
+import com.jawbr.todos.service.TodoBatchService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara vazão e latência (p50/p99) do modo padrão (pool de threads do Tomcat) com o modo de virtual threads sob alta
+ * concorrência. Cada modo sobe a aplicação inteira em uma porta aleatória, com H2 e sem cache, e cada comando no banco
+ * ganha um atraso fixo para simular a ida e volta de rede até o MySQL. Só roda quando pedido:
+ *
+ * <pre>
+ * mvn test -Dtest=ThreadModeBenchmarkTest -Dbenchmark=true \
+ *     -Dbenchmark.concurrency=1000 -Dbenchmark.requests=50000 -Dbenchmark.dbLatencyMillis=5 -Dbenchmark.poolSize=50
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class ThreadModeBenchmarkTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 1000);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 50_000);
+    private static final int DB_LATENCY_MILLIS = Integer.getInteger("benchmark.dbLatencyMillis", 5);
+    private static final int POOL_SIZE = Integer.getInteger("benchmark.poolSize", 50);
+    private static final int TODOS = 1000;
+
+    @Test
+    public void comparePlatformAndVirtualThreadsTest() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+        System.out.printf("%nconcurrency=%d requests=%d dbLatency=%dms poolSize=%d%n",
+                CONCURRENCY, REQUESTS, DB_LATENCY_MILLIS, POOL_SIZE);
+        System.out.println(platform);
+        System.out.println(virtual);
+    }
+
+    private static Result run(boolean virtualThreads) throws Exception {
+        AtomicInteger virtualExecutions = new AtomicInteger();
+        AtomicInteger executions = new AtomicInteger();
+        AtomicBoolean latency = new AtomicBoolean();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TodosApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + virtualThreads,
+                        "spring.jpa.show-sql=false",
+                        "spring.cache.type=none",
+                        "spring.jpa.open-in-view=false",
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "spring.datasource.hikari.minimum-idle=" + POOL_SIZE,
+                        "spring.datasource.hikari.connection-timeout=30000",
+                        "server.tomcat.max-connections=20000",
+                        "server.tomcat.accept-count=1000",
+                        // Compara os modos de thread com a mesma carga; o controle de admissão recusaria o excedente
+                        "todos.admission.enabled=false",
+                        "todos.threads.virtual=" + virtualThreads)
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(
+                        new LatencyDataSourcePostProcessor(latency, executions, virtualExecutions)))
+                .run()) {
+            context.getBean(TodoBatchService.class).createTodos(IntStream.range(0, TODOS)
+                    .mapToObj(i -> new TodoRequest("Todo " + i, "Benchmark", false, i % 10))
+                    .toList());
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            latency.set(true);
+
+            load(port, Math.min(REQUESTS / 10, 5000));
+            executions.set(0);
+            virtualExecutions.set(0);
+            long start = System.nanoTime();
+            long[] latencies = load(port, REQUESTS);
+            long elapsed = System.nanoTime() - start;
+
+            Arrays.sort(latencies);
+            return new Result(virtualThreads ? "virtual " : "platform",
+                    REQUESTS / (elapsed / 1e9),
+                    latencies[latencies.length / 2] / 1e6,
+                    latencies[(int) (latencies.length * 0.99)] / 1e6,
+                    virtualExecutions.get() * 100.0 / Math.max(1, executions.get()));
+        }
+    }
+
+    private static long[] load(int port, int requests) throws InterruptedException {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        try (HttpClient http = HttpClient.newHttpClient();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CONCURRENCY; c++) {
+                clients.execute(() -> {
+                    for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        int id = ThreadLocalRandom.current().nextInt(TODOS) + 1;
+                        HttpRequest request = HttpRequest.newBuilder(
+                                URI.create("http://localhost:" + port + "/api/todos/" + id)).build();
+                        long start = System.nanoTime();
+                        try {
+                            if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - start;
+                    }
+                });
+            }
+        }
+        assertEquals(0, failures.get(), "requisições com falha");
+        return latencies;
+    }
+
+    private record Result(String mode, double throughput, double p50Millis, double p99Millis, double virtualPercent) {
+
+        @Override
+        public String toString() {
+            return String.format("%s  %8.0f req/s  p50 %7.2f ms  p99 %7.2f ms  (%.0f%% dos comandos SQL em virtual threads)",
+                    mode, throughput, p50Millis, p99Millis, virtualPercent);
+        }
+    }
+
+    /**
+     * Envolve o DataSource para que, depois da carga inicial, cada execução de comando espere
+     * {@code DB_LATENCY_MILLIS}, segurando a conexão como faria uma ida e volta real até o banco.
+     */
+    private record LatencyDataSourcePostProcessor(AtomicBoolean latency, AtomicInteger executions,
+                                                  AtomicInteger virtualExecutions)
+            implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return proxy(DataSource.class, dataSource, (method, result) -> method.getName().equals("getConnection")
+                    ? proxy(Connection.class, (Connection) result, (m, r) -> m.getName().equals("prepareStatement")
+                            ? proxy(PreparedStatement.class, (PreparedStatement) r, null)
+                            : r)
+                    : result);
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T proxy(Class<T> type, T target, BiFunction<Method, Object, Object> wrap) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (p, method, args) -> {
+                if (type == PreparedStatement.class && method.getName().startsWith("execute") && latency.get()) {
+                    executions.incrementAndGet();
+                    if (Thread.currentThread().isVirtual()) {
+                        virtualExecutions.incrementAndGet();
+                    }
+                    Thread.sleep(DB_LATENCY_MILLIS);
+                }
+                try {
+                    Object result = method.invoke(target, args);
+                    return wrap == null ? result : wrap.apply(method, result);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.jawbr.todos.config;
+
+import com.jawbr.todos.exception.ServiceOverloadedException;
+import com.jawbr.todos.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdmissionControlInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void rateLimitsEachClientTest() {
+        AdmissionControlInterceptor interceptor = interceptor(
+                new TodoAdmissionProperties.Limits(1, 2, 20, 4, 200, 1.5),
+                new TodoAdmissionProperties.Limits(0, 0, 20, 4, 200, 1.5));
+
+        admit(interceptor, request("GET", "10.0.0.1"));
+        admit(interceptor, request("GET", "10.0.0.1"));
+        TooManyRequestsException exc = assertThrows(TooManyRequestsException.class,
+                () -> interceptor.preHandle(request("GET", "10.0.0.1"), new MockHttpServletResponse(), null));
+
+        assertEquals(1, exc.getRetryAfterSeconds());
+        // Outro cliente e as escritas têm baldes próprios
+        admit(interceptor, request("GET", "10.0.0.2"));
+        admit(interceptor, request("POST", "10.0.0.1"));
+        assertEquals(1, count("read", "rate_limited"));
+        assertEquals(3, count("read", "admitted"));
+        assertEquals(1, count("write", "admitted"));
+    }
+
+    @Test
+    public void rejectsAboveConcurrencyLimitTest() {
+        AdmissionControlInterceptor interceptor = interceptor(
+                new TodoAdmissionProperties.Limits(0, 0, 20, 4, 200, 1.5),
+                new TodoAdmissionProperties.Limits(0, 0, 2, 2, 2, 1.5));
+
+        MockHttpServletRequest first = request("PUT", "10.0.0.1");
+        admit(interceptor, first);
+        admit(interceptor, request("DELETE", "10.0.0.2"));
+        assertThrows(ServiceOverloadedException.class,
+                () -> interceptor.preHandle(request("POST", "10.0.0.3"), new MockHttpServletResponse(), null));
+        // Leituras não disputam as vagas das escritas
+        admit(interceptor, request("GET", "10.0.0.3"));
+
+        interceptor.afterCompletion(first, new MockHttpServletResponse(), null, null);
+
+        admit(interceptor, request("POST", "10.0.0.3"));
+        assertEquals(1, count("write", "overloaded"));
+        assertEquals(2, meterRegistry.get("todos.admission.inflight").tag("kind", "write").gauge().value());
+    }
+
+    @Test
+    public void limitFollowsLatencyTest() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(20, 4, 200, 1.5);
+
+        for (int i = 0; i < 200; i++) {
+            drain(limiter, fill(limiter), 1_000_000);
+        }
+        int grown = limiter.limit();
+        assertTrue(grown > 20, "limite cresce com latência estável: " + grown);
+
+        // Latência 10x maior: o limite cai em vez de enfileirar mais requisições (e volta a crescer à medida que a
+        // referência de longo prazo se acostuma com a nova latência)
+        for (int i = 0; i < 5; i++) {
+            drain(limiter, fill(limiter), 10_000_000);
+        }
+        assertTrue(limiter.limit() < grown / 2, "limite cai com a latência: " + limiter.limit());
+        assertTrue(limiter.limit() >= 4);
+    }
+
+    private AdmissionControlInterceptor interceptor(TodoAdmissionProperties.Limits reads,
+                                                    TodoAdmissionProperties.Limits writes) {
+        return new AdmissionControlInterceptor(new TodoAdmissionProperties(true, null, 100, reads, writes), meterRegistry);
+    }
+
+    private static MockHttpServletRequest request(String method, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/todos");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+
+    private static void admit(AdmissionControlInterceptor interceptor, MockHttpServletRequest request) {
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), null));
+    }
+
+    private double count(String kind, String outcome) {
+        return meterRegistry.get("todos.admission.requests").tag("kind", kind).tag("outcome", outcome).counter().count();
+    }
+
+    private static int fill(ConcurrencyLimiter limiter) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        return acquired;
+    }
+
+    private static void drain(ConcurrencyLimiter limiter, int acquired, long rttNanos) {
+        for (int i = 0; i < acquired; i++) {
+            limiter.release(rttNanos, false);
+        }
+    }
+}
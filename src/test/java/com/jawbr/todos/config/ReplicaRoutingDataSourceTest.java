@@ -0,0 +1,146 @@
+package com.jawbr.todos.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.servlet.Servlet;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = h2("routing-primary");
+
+    @AfterEach
+    public void reset() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReplicaRoutingDataSource.usePrimary(false);
+    }
+
+    @Test
+    public void canRouteReadOnlyTransactionsToReplicaTest() throws SQLException {
+        ReplicaRoutingDataSource dataSource = routing(replica("replica-1", h2("routing-replica-1")));
+
+        assertEquals("ROUTING-PRIMARY", database(dataSource));
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals("ROUTING-REPLICA-1", database(dataSource));
+
+        ReplicaRoutingDataSource.usePrimary(true);
+        assertEquals("ROUTING-PRIMARY", database(dataSource));
+    }
+
+    @Test
+    public void canAlternateBetweenReplicasTest() throws SQLException {
+        ReplicaRoutingDataSource dataSource = routing(replica("replica-1", h2("routing-replica-1")),
+                replica("replica-2", h2("routing-replica-2")));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(List.of("ROUTING-REPLICA-1", "ROUTING-REPLICA-2", "ROUTING-REPLICA-1"),
+                List.of(database(dataSource), database(dataSource), database(dataSource)));
+    }
+
+    @Test
+    public void canFallBackToPrimaryTest() throws SQLException {
+        AtomicInteger attempts = new AtomicInteger();
+        ReplicaRoutingDataSource dataSource = routing(replica("replica-1", new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                attempts.incrementAndGet();
+                throw new SQLException("Connection refused");
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return getConnection();
+            }
+        }));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals("ROUTING-PRIMARY", database(dataSource));
+        assertEquals("ROUTING-PRIMARY", database(dataSource));
+        assertEquals(1, attempts.get());
+        assertEquals(2, dataSource.fallbacks());
+    }
+
+    @Test
+    public void canStickToPrimaryAfterWriteTest() throws Exception {
+        ReadAfterWriteFilter filter = new ReadAfterWriteFilter(Duration.ofSeconds(5));
+        ReplicaRoutingDataSource dataSource = routing(replica("replica-1", h2("routing-replica-1")));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        String[] seen = new String[1];
+
+        MockHttpServletResponse write = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("PUT", "/api/todos/1"), write,
+                new MockFilterChain(servlet(() -> seen[0] = database(dataSource))));
+        Cookie cookie = write.getCookie(ReadAfterWriteFilter.COOKIE);
+
+        assertNotNull(cookie);
+        assertEquals("ROUTING-PRIMARY", seen[0]);
+
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/api/todos/1");
+        read.setCookies(cookie);
+        filter.doFilter(read, new MockHttpServletResponse(), new MockFilterChain(servlet(() -> seen[0] = database(dataSource))));
+        assertEquals("ROUTING-PRIMARY", seen[0]);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/todos/1"), new MockHttpServletResponse(),
+                new MockFilterChain(servlet(() -> seen[0] = database(dataSource))));
+        assertEquals("ROUTING-REPLICA-1", seen[0]);
+    }
+
+    private ReplicaRoutingDataSource routing(ReplicaRoutingDataSource.Replica... replicas) {
+        return new ReplicaRoutingDataSource(primary, List.of(replicas), Duration.ofMinutes(1));
+    }
+
+    private static ReplicaRoutingDataSource.Replica replica(String name, DataSource dataSource) {
+        return new ReplicaRoutingDataSource.Replica(name, dataSource);
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+    }
+
+    // Nome do banco em que o comando realmente rodou
+    private static String database(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             ResultSet result = connection.createStatement().executeQuery("select database()")) {
+            result.next();
+            return result.getString(1);
+        }
+    }
+
+    private static Servlet servlet(SqlAction action) {
+        return new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                try {
+                    action.run();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+    }
+
+    private interface SqlAction {
+        void run() throws SQLException;
+    }
+}
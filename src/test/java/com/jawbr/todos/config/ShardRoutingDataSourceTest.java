@@ -0,0 +1,54 @@
+package com.jawbr.todos.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ShardRoutingDataSourceTest {
+
+    private final TodoShards shards = new TodoShards(3);
+    private final ShardRoutingDataSource dataSource = new ShardRoutingDataSource(
+            List.of(h2("shard-0"), h2("shard-1"), h2("shard-2")));
+
+    @AfterEach
+    public void close() {
+        shards.destroy();
+    }
+
+    @Test
+    public void canRouteToShardOnCurrentThreadTest() {
+        assertEquals("SHARD-0", database());
+        assertEquals("SHARD-2", shards.onShard(2, this::database));
+        assertEquals("SHARD-1", shards.onShard(1, () -> List.of(database(), shards.onShard(2, this::database), database()))
+                .get(2));
+        assertEquals("SHARD-0", database());
+    }
+
+    @Test
+    public void canQueryAllShardsInParallelTest() {
+        assertEquals(List.of("SHARD-0", "SHARD-1", "SHARD-2"), shards.onAllShards(shard -> database()));
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+    }
+
+    // Nome do banco em que o comando realmente rodou
+    private String database() {
+        try (Connection connection = dataSource.getConnection();
+             ResultSet result = connection.createStatement().executeQuery("select database()")) {
+            result.next();
+            return result.getString(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.jawbr.todos.config;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnknownFieldSet;
+import com.jawbr.todos.dto.request.TodoRequest;
+import com.jawbr.todos.dto.response.CursorPage;
+import com.jawbr.todos.dto.response.OffsetPage;
+import com.jawbr.todos.dto.response.TodoView;
+import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.exception.errorResponse.ErrorResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static com.jawbr.todos.config.TodoProtobufHttpMessageConverter.APPLICATION_PROTOBUF;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TodoProtobufHttpMessageConverterTest {
+
+    private final TodoProtobufHttpMessageConverter converter = new TodoProtobufHttpMessageConverter();
+
+    private final Todo todo = Todo.builder()
+            .id(7)
+            .nome("Finalizar Projeto")
+            .descricao("Descrição com acentuação")
+            .realizado(true)
+            .prioridade(5)
+            .version(1_700_000_000_000_000L)
+            .build();
+
+    @Test
+    public void canWriteOffsetPageTest() throws IOException {
+        UnknownFieldSet page = write(new OffsetPage<>(List.of(todo, todo), 2, 10, 21, 3));
+
+        assertEquals(2, page.getField(1).getLengthDelimitedList().size());
+        assertEquals(List.of(2L), page.getField(2).getVarintList());
+        assertEquals(List.of(10L), page.getField(3).getVarintList());
+        assertEquals(List.of(21L), page.getField(4).getVarintList());
+        assertEquals(List.of(3L), page.getField(5).getVarintList());
+
+        UnknownFieldSet first = UnknownFieldSet.parseFrom(page.getField(1).getLengthDelimitedList().get(0));
+        assertEquals(List.of(7L), first.getField(1).getVarintList());
+        assertEquals("Finalizar Projeto", first.getField(2).getLengthDelimitedList().get(0).toStringUtf8());
+        assertEquals("Descrição com acentuação", first.getField(3).getLengthDelimitedList().get(0).toStringUtf8());
+        assertEquals(List.of(1L), first.getField(4).getVarintList());
+        assertEquals(List.of(5L), first.getField(5).getVarintList());
+        assertEquals(List.of(todo.getVersion()), first.getField(6).getVarintList());
+    }
+
+    @Test
+    public void canWriteCursorPageWithFieldsTest() throws IOException {
+        TodoView view = TodoView.builder()
+                .id(7)
+                .nome("Finalizar Projeto")
+                .version(1L)
+                .build();
+
+        UnknownFieldSet page = write(new CursorPage<>(List.of(view), 1, false, null));
+
+        UnknownFieldSet first = UnknownFieldSet.parseFrom(page.getField(1).getLengthDelimitedList().get(0));
+        assertTrue(first.hasField(2));
+        assertFalse(first.hasField(3));
+        assertFalse(first.hasField(4));
+        assertFalse(first.hasField(5));
+        assertEquals(List.of(0L), page.getField(3).getVarintList());
+        assertFalse(page.hasField(4));
+    }
+
+    @Test
+    public void canWriteErrorResponseTest() throws IOException {
+        UnknownFieldSet error = write(new ErrorResponse(404, "Tarefa de id '7' não encontrada.", 0));
+
+        assertEquals(List.of(404L), error.getField(1).getVarintList());
+        assertEquals("Tarefa de id '7' não encontrada.", error.getField(2).getLengthDelimitedList().get(0).toStringUtf8());
+    }
+
+    @Test
+    public void canReadTodoRequestTest() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CodedOutputStream output = CodedOutputStream.newInstance(bytes);
+        output.writeString(1, "Finalizar Projeto");
+        output.writeString(2, "Descrição");
+        output.writeBool(3, true);
+        output.writeInt32(4, 3);
+        // Campo desconhecido é ignorado
+        output.writeBytes(9, ByteString.copyFromUtf8("extra"));
+        output.flush();
+
+        Object request = converter.read(TodoRequest.class, new MockHttpInputMessage(bytes.toByteArray()));
+
+        assertEquals(new TodoRequest("Finalizar Projeto", "Descrição", true, 3), request);
+        assertTrue(converter.canRead(TodoRequest.class, APPLICATION_PROTOBUF));
+        assertFalse(converter.canRead(Todo.class, APPLICATION_PROTOBUF));
+        assertFalse(converter.canWrite(Todo.class, MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    public void cannotReadInvalidTodoRequestTest() {
+        MockHttpInputMessage input = new MockHttpInputMessage("{\"nome\":\"x\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(HttpMessageNotReadableException.class, () -> converter.read(TodoRequest.class, input));
+    }
+
+    private UnknownFieldSet write(Object body) throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(body, APPLICATION_PROTOBUF, output);
+        assertEquals(APPLICATION_PROTOBUF, output.getHeaders().getContentType());
+        return UnknownFieldSet.parseFrom(output.getBodyAsBytes());
+    }
+}
@@ -0,0 +1,62 @@
+package com.jawbr.todos.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TodoShardsTest {
+
+    private static final int IDS = 100_000;
+
+    @Test
+    public void canSpreadIdsEvenlyTest() {
+        int[] counts = new int[4];
+        for (int id = 1; id <= IDS; id++) {
+            counts[TodoShards.shardFor(id, 4)]++;
+        }
+
+        for (int count : counts) {
+            assertTrue(Math.abs(count - IDS / 4) < IDS / 100, "tarefas por shard: " + count);
+        }
+    }
+
+    @Test
+    public void canMoveOnlyToNewShardTest() {
+        int moved = 0;
+        for (int id = 1; id <= IDS; id++) {
+            int before = TodoShards.shardFor(id, 3);
+            int after = TodoShards.shardFor(id, 4);
+            if (before != after) {
+                assertEquals(3, after);
+                moved++;
+            }
+        }
+
+        assertTrue(Math.abs(moved - IDS / 4) < IDS / 100, "tarefas movidas: " + moved);
+    }
+
+    @Test
+    public void canUseSingleShardWithoutHashTest() {
+        TodoShards shards = new TodoShards(1);
+
+        assertEquals(0, shards.shardFor(42));
+        assertEquals(Thread.currentThread(), shards.onAllShards(shard -> Thread.currentThread()).get(0));
+    }
+
+    @Test
+    public void canRethrowFailureFromShardTest() {
+        TodoShards shards = new TodoShards(2);
+        try {
+            assertThrows(IllegalArgumentException.class, () -> shards.onAllShards(shard -> {
+                if (shard == 1) {
+                    throw new IllegalArgumentException();
+                }
+                return shard;
+            }));
+        } finally {
+            shards.destroy();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.jawbr.todos.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jawbr.todos.dto.request.TodoRequest;
+import com.jawbr.todos.dto.response.TodoBatchResult;
+import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.exception.BatchTooLargeException;
+import com.jawbr.todos.service.TodoBatchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TodoBatchController.class)
+@AutoConfigureMockMvc
+public class TodoBatchControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TodoBatchService todoBatchService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static final String PATH = "/api/todos/batch";
+
+    @Test
+    public void canCreateTodosTest() throws Exception {
+        TodoRequest valid = TodoRequest.builder()
+                .nome("Valid TODO")
+                .descricao("Valid Description")
+                .prioridade(10)
+                .build();
+        TodoRequest invalid = TodoRequest.builder()
+                .nome("")
+                .descricao("Valid Description")
+                .build();
+        Todo todo = Todo.builder()
+                .id(1)
+                .nome(valid.nome())
+                .descricao(valid.descricao())
+                .prioridade(valid.prioridade())
+                .build();
+
+        when(todoBatchService.createTodos(List.of(valid, invalid))).thenReturn(List.of(
+                TodoBatchResult.success(0, 201, todo),
+                TodoBatchResult.failure(1, null, 400, "Nome da tarefa não pode estar vazia!")));
+
+        mockMvc.perform(MockMvcRequestBuilders.post(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(valid, invalid))))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status", is(201)))
+                .andExpect(jsonPath("$[0].todo.id", is(1)))
+                .andExpect(jsonPath("$[1].status", is(400)))
+                .andExpect(jsonPath("$[1].message", is("Nome da tarefa não pode estar vazia!")))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    public void canDeleteTodosTest() throws Exception {
+        when(todoBatchService.deleteTodosById(List.of(1, 2))).thenReturn(List.of(
+                TodoBatchResult.success(0, 204, 1),
+                TodoBatchResult.failure(1, 2, 404, "Tarefa de id '2' não encontrada.")));
+
+        mockMvc.perform(MockMvcRequestBuilders.delete(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2]"))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].status", is(204)))
+                .andExpect(jsonPath("$[1].status", is(404)))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    public void cannotProcessBatchLargerThanMaxItemsTest() throws Exception {
+        when(todoBatchService.deleteTodosById(List.of(1, 2))).thenThrow(new BatchTooLargeException("Lote com 2 itens excede o máximo de 1."));
+
+        mockMvc.perform(MockMvcRequestBuilders.delete(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2]"))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.message", is("Lote com 2 itens excede o máximo de 1.")))
+                .andDo(MockMvcResultHandlers.print());
+    }
+}
@@ -0,0 +1,48 @@
+package com.jawbr.todos.controller;
+
+import com.jawbr.todos.service.TodoChangesService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TodoChangesController.class)
+@AutoConfigureMockMvc
+public class TodoChangesControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TodoChangesService todoChangesService;
+
+    private static final String PATH = "/api/todos/changes";
+
+    @Test
+    public void canStreamChangesTest() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        emitter.send(SseEmitter.event().id("11").name("deleted").data("{\"id\":1,\"todo\":null}"));
+        when(todoChangesService.subscribe(10L)).thenReturn(emitter);
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH)
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Last-Event-ID", "10"))
+                .andExpect(request().asyncStarted())
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string(containsString("id:11\nevent:deleted\ndata:{\"id\":1,\"todo\":null}\n\n")))
+                .andDo(MockMvcResultHandlers.print());
+    }
+}
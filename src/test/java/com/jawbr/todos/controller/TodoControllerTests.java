@@ -1,10 +1,24 @@
 package com.jawbr.todos.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnknownFieldSet;
+import com.jawbr.todos.config.TodoProtobufHttpMessageConverter;
+import com.jawbr.todos.dto.request.TodoFilter;
 import com.jawbr.todos.dto.request.TodoRequest;
+import com.jawbr.todos.dto.response.CursorPage;
+import com.jawbr.todos.dto.response.TodoView;
 import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.exception.InvalidCursorException;
+import com.jawbr.todos.exception.ServiceOverloadedException;
 import com.jawbr.todos.exception.TodoNotFoundException;
+import com.jawbr.todos.exception.TodoVersionConflictException;
+import com.jawbr.todos.exception.TooManyRequestsException;
 import com.jawbr.todos.service.TodoService;
+import com.jawbr.todos.service.TodoWriteBehindService;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,26 +30,32 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 
+import java.io.ByteArrayOutputStream;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest
+@WebMvcTest(TodoController.class)
 @AutoConfigureMockMvc
 public class TodoControllerTests {
 
@@ -45,10 +65,14 @@ public class TodoControllerTests {
     @MockBean
     private TodoService todoService;
 
+    @MockBean
+    private TodoWriteBehindService todoWriteBehindService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     private static final String PATH = "/api/todos";
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
 
     private Todo todo;
     private TodoRequest todoRequest;
@@ -76,7 +100,7 @@ public class TodoControllerTests {
         Pageable pageable = PageRequest.of(0, 10);
         Page<Todo> page = new PageImpl<>(list, pageable, list.size());
 
-        when(todoService.findAllTodos(0, 10, "id")).thenReturn(page);
+        when(todoService.findAllTodos(0, 10, "id", TodoFilter.NONE)).thenReturn(page);
 
         mockMvc.perform(MockMvcRequestBuilders.get(PATH + "?page=0&pageSize=10&sortBy=id")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -90,9 +114,87 @@ public class TodoControllerTests {
                 .andDo(MockMvcResultHandlers.print());
     }
 
+    @Test
+    public void canFindAllTodosWithFilterTest() throws Exception {
+        Page<Todo> page = new PageImpl<>(Collections.singletonList(todo), PageRequest.of(0, 10), 1);
+        TodoFilter filter = TodoFilter.builder()
+                .realizado(false)
+                .prioridadeMin(5)
+                .prioridadeMax(10)
+                .nome("Valid")
+                .build();
+
+        when(todoService.findAllTodos(null, null, "prioridade", filter)).thenReturn(page);
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "?sortBy=prioridade&realizado=false&prioridadeMin=5&prioridadeMax=10&nome=Valid"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id", is(todo.getId())))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    public void canFindAllTodosIncludingArchivedTest() throws Exception {
+        Page<Todo> page = new PageImpl<>(Collections.singletonList(todo), PageRequest.of(0, 10), 1);
+        TodoFilter filter = TodoFilter.builder().includeArchived(true).build();
+
+        when(todoService.findAllTodos(null, null, null, filter)).thenReturn(page);
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "?includeArchived=true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    public void canFindAllTodosWithFieldsTest() throws Exception {
+        TodoView view = TodoView.builder().id(1).nome("Valid TODO").version(0L).build();
+        Page<TodoView> page = new PageImpl<>(Collections.singletonList(view), PageRequest.of(0, 10), 1);
+
+        when(todoService.findAllTodos(null, null, null, TodoFilter.NONE, List.of("nome"))).thenReturn(page);
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "?fields=nome"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.content[0].id", is(1)))
+                .andExpect(jsonPath("$.content[0].nome", is(view.nome())))
+                .andExpect(jsonPath("$.content[0].descricao").doesNotExist())
+                .andExpect(jsonPath("$.page", is(0)))
+                .andExpect(jsonPath("$.pageSize", is(10)))
+                .andExpect(jsonPath("$.totalElements", is(1)))
+                .andExpect(jsonPath("$.pageable").doesNotExist())
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    public void cannotFindAllTodosWithInvalidFilterTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "?prioridadeMin=alta"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Valor 'alta' inválido para o parâmetro 'prioridadeMin'.")))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    public void canFindAllTodosNotModifiedTest() throws Exception {
+        Page<Todo> page = new PageImpl<>(Collections.singletonList(todo), PageRequest.of(0, 10), 1);
+
+        when(todoService.findAllTodos(0, 10, "id", TodoFilter.NONE)).thenReturn(page);
+
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get(PATH + "?page=0&pageSize=10&sortBy=id"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Assertions.assertTrue(Objects.requireNonNull(eTag).startsWith("W/"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "?page=0&pageSize=10&sortBy=id")
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
     @Test
     public void cannotFindAllTodosTest() throws Exception {
-        when(todoService.findAllTodos(0, 10, "id")).thenThrow(new TodoNotFoundException("Nenhuma tarefa encontrada"));
+        when(todoService.findAllTodos(0, 10, "id", TodoFilter.NONE)).thenThrow(new TodoNotFoundException("Nenhuma tarefa encontrada"));
 
         mockMvc.perform(MockMvcRequestBuilders.get(PATH + "?page=0&pageSize=10&sortBy=id")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -102,6 +204,95 @@ public class TodoControllerTests {
                 .andDo(MockMvcResultHandlers.print());
     }
 
+    @Test
+    public void canFindAllTodosAfterCursorTest() throws Exception {
+        CursorPage<Todo> page = new CursorPage<>(Collections.singletonList(todo), 1, true, "bmV4dA");
+
+        when(todoService.findAllTodosAfter("", 1, "prioridade", TodoFilter.NONE)).thenReturn(page);
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "?after=&pageSize=1&sortBy=prioridade")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id", is(todo.getId())))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.next", is("bmV4dA")))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    public void cannotFindAllTodosAfterInvalidCursorTest() throws Exception {
+        when(todoService.findAllTodosAfter("invalid", null, null, TodoFilter.NONE)).thenThrow(new InvalidCursorException("Cursor inválido."));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "?after=invalid")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Cursor inválido.")))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    public void canFindTodoByIdTest() throws Exception {
+        when(todoService.findTodoById(1)).thenReturn(todo);
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(todo.getId())))
+                .andExpect(jsonPath("$.nome", is(todo.getNome())))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    public void canFindTodoByIdNotModifiedTest() throws Exception {
+        todo.setVersion(7);
+        when(todoService.findTodoById(1)).thenReturn(todo);
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1-7\"")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-7\""))
+                .andExpect(content().string(""))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    public void cannotFindTodoByIdTest() throws Exception {
+        when(todoService.findTodoById(2)).thenThrow(new TodoNotFoundException("Tarefa de id '2' não encontrada."));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Tarefa de id '2' não encontrada.")))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    public void cannotFindTodoByIdWhenOverloadedTest() throws Exception {
+        when(todoService.findTodoById(1)).thenThrow(new ServiceOverloadedException("Servidor sobrecarregado. Tente novamente em instantes.", 1));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.status", is(503)))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    public void cannotCreateTodoWhenRateLimitedTest() throws Exception {
+        when(todoService.createTodo(todoRequest)).thenThrow(new TooManyRequestsException("Limite de requisições excedido. Tente novamente em instantes.", 3));
+
+        mockMvc.perform(MockMvcRequestBuilders.post(PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(todoRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "3"))
+                .andExpect(jsonPath("$.message", is("Limite de requisições excedido. Tente novamente em instantes.")))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
     @Test
     public void canCreateTodoTest() throws Exception {
         when(todoService.createTodo(todoRequest)).thenReturn(todo);
@@ -119,6 +310,73 @@ public class TodoControllerTests {
                 .andDo(MockMvcResultHandlers.print());
     }
 
+    @Test
+    public void canFindAllTodosAsCborTest() throws Exception {
+        Page<Todo> page = new PageImpl<>(Collections.singletonList(todo), PageRequest.of(0, 10), 1);
+
+        when(todoService.findAllTodos(null, null, null, TodoFilter.NONE)).thenReturn(page);
+
+        byte[] body = mockMvc.perform(MockMvcRequestBuilders.get(PATH)
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode response = new ObjectMapper(new CBORFactory()).readTree(body);
+        Assertions.assertEquals(todo.getNome(), response.get("content").get(0).get("nome").asText());
+        Assertions.assertEquals(1, response.get("totalElements").asInt());
+    }
+
+    @Test
+    public void canCreateTodoFromSmileTest() throws Exception {
+        when(todoService.createTodo(todoRequest)).thenReturn(todo);
+
+        mockMvc.perform(MockMvcRequestBuilders.post(PATH)
+                        .contentType(SMILE)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(new ObjectMapper(new SmileFactory()).writeValueAsBytes(todoRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.nome", is(todo.getNome())))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    public void canCreateTodoFromProtobufTest() throws Exception {
+        when(todoService.createTodo(todoRequest)).thenReturn(todo);
+
+        ByteArrayOutputStream request = new ByteArrayOutputStream();
+        CodedOutputStream output = CodedOutputStream.newInstance(request);
+        output.writeString(1, todoRequest.nome());
+        output.writeString(2, todoRequest.descricao());
+        output.writeInt32(4, todoRequest.prioridade());
+        output.flush();
+
+        byte[] body = mockMvc.perform(MockMvcRequestBuilders.post(PATH)
+                        .contentType(TodoProtobufHttpMessageConverter.APPLICATION_PROTOBUF)
+                        .accept(TodoProtobufHttpMessageConverter.APPLICATION_PROTOBUF)
+                        .content(request.toByteArray()))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(TodoProtobufHttpMessageConverter.APPLICATION_PROTOBUF))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        UnknownFieldSet response = UnknownFieldSet.parseFrom(body);
+        Assertions.assertEquals(todo.getNome(), response.getField(2).getLengthDelimitedList().get(0).toStringUtf8());
+    }
+
+    @Test
+    public void cannotFindTodoByIdAsProtobufTest() throws Exception {
+        when(todoService.findTodoById(2)).thenThrow(new TodoNotFoundException("Tarefa de id '2' não encontrada."));
+
+        byte[] body = mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/2")
+                        .accept(TodoProtobufHttpMessageConverter.APPLICATION_PROTOBUF))
+                .andExpect(status().isNotFound())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        UnknownFieldSet response = UnknownFieldSet.parseFrom(body);
+        Assertions.assertEquals(List.of(404L), response.getField(1).getVarintList());
+    }
+
     @Test
     public void cannotCreateTodoTest() throws Exception {
         TodoRequest request = TodoRequest.builder()
@@ -152,6 +410,57 @@ public class TodoControllerTests {
                 .andDo(MockMvcResultHandlers.print());
     }
 
+    @Test
+    public void canUpdateTodoAsynchronouslyTest() throws Exception {
+        when(todoWriteBehindService.accepts("respond-async")).thenReturn(true);
+        when(todoWriteBehindService.updateTodo(1, todoRequest)).thenReturn(todo);
+        when(todoWriteBehindService.pending(1)).thenReturn(Optional.of(todo));
+
+        mockMvc.perform(MockMvcRequestBuilders.put(PATH + "/1")
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(todoRequest)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(jsonPath("$.nome", is(todo.getNome())))
+                .andDo(MockMvcResultHandlers.print());
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.nome", is(todo.getNome())));
+
+        verify(todoService, never()).updateTodo(1, todoRequest);
+        verify(todoService, never()).findTodoById(1);
+    }
+
+    @Test
+    public void canUpdateTodoWithIfMatchTest() throws Exception {
+        todo.setVersion(8);
+        when(todoService.updateTodo(1, todoRequest, 7L)).thenReturn(todo);
+
+        mockMvc.perform(MockMvcRequestBuilders.put(PATH + "/1")
+                        .header(HttpHeaders.IF_MATCH, "\"1-7\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(todoRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-8\""))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    public void cannotUpdateTodoWithStaleIfMatchTest() throws Exception {
+        when(todoService.updateTodo(1, todoRequest, 7L)).thenThrow(new TodoVersionConflictException("Tarefa de id '1' foi alterada por outra requisição."));
+
+        mockMvc.perform(MockMvcRequestBuilders.put(PATH + "/1")
+                        .header(HttpHeaders.IF_MATCH, "\"1-7\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(todoRequest)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message", is("Tarefa de id '1' foi alterada por outra requisição.")))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
     @Test
     public void cannotUpdateTodoTest() throws Exception {
         when(todoService.updateTodo(2, todoRequest)).thenThrow(new TodoNotFoundException("Tarefa de id '2' não encontrada."));
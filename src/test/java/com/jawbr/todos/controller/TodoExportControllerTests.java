@@ -0,0 +1,79 @@
+package com.jawbr.todos.controller;
+
+import com.jawbr.todos.service.TodoDataFormat;
+import com.jawbr.todos.service.TodoExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TodoExportController.class)
+@AutoConfigureMockMvc
+public class TodoExportControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TodoExportService todoExportService;
+
+    private static final String PATH = "/api/todos/export";
+
+    @Test
+    public void canExportTodosAsNdjsonTest() throws Exception {
+        String ndjson = "{\"id\":1,\"nome\":\"Valid TODO\"}\n{\"id\":2,\"nome\":\"Valid TODO\"}\n";
+        doAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class).write(ndjson.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(todoExportService).exportTodos(any(OutputStream.class), eq(TodoDataFormat.NDJSON));
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(PATH))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(ndjson))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    public void canExportTodosAsCsvTest() throws Exception {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(PATH + "?format=csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    public void cannotExportTodosWithUnknownFormatTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "?format=xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Valor 'xml' inválido para o parâmetro 'format'.")))
+                .andDo(MockMvcResultHandlers.print());
+    }
+}
@@ -0,0 +1,74 @@
+package com.jawbr.todos.controller;
+
+import com.jawbr.todos.dto.response.TodoImportSummary;
+import com.jawbr.todos.service.TodoDataFormat;
+import com.jawbr.todos.service.TodoImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+
+import java.io.InputStream;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TodoImportController.class)
+@AutoConfigureMockMvc
+public class TodoImportControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TodoImportService todoImportService;
+
+    private static final String PATH = "/api/todos/import";
+
+    @Test
+    public void canImportTodosFromNdjsonTest() throws Exception {
+        when(todoImportService.importTodos(any(InputStream.class), eq(TodoDataFormat.NDJSON)))
+                .thenReturn(new TodoImportSummary(1, 1,
+                        List.of(new TodoImportSummary.LineError(2, "JSON inválido.")), 5));
+
+        mockMvc.perform(MockMvcRequestBuilders.post(PATH)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"nome\":\"Valid TODO\",\"descricao\":\"Valid Description\"}\nnot json\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted", is(1)))
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.errors[0].line", is(2)))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    public void canImportTodosFromCsvTest() throws Exception {
+        when(todoImportService.importTodos(any(InputStream.class), eq(TodoDataFormat.CSV)))
+                .thenReturn(new TodoImportSummary(1, 0, List.of(), 5));
+
+        mockMvc.perform(MockMvcRequestBuilders.post(PATH)
+                        .contentType("text/csv")
+                        .content("nome,descricao\nValid TODO,Valid Description\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted", is(1)))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    public void cannotImportTodosWithUnsupportedMediaTypeTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post(PATH)
+                        .contentType(MediaType.APPLICATION_XML)
+                        .content("<todos/>"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+}
@@ -0,0 +1,76 @@
+package com.jawbr.todos.controller;
+
+import com.jawbr.todos.dto.response.TodoView;
+import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.exception.TodoNotFoundException;
+import com.jawbr.todos.service.TodoQueueService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TodoQueueController.class)
+@AutoConfigureMockMvc
+public class TodoQueueControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TodoQueueService todoQueueService;
+
+    @Test
+    public void canGetNextTodosTest() throws Exception {
+        when(todoQueueService.next(2)).thenReturn(List.of(
+                TodoView.builder().id(3).prioridade(9).build(),
+                TodoView.builder().id(1).prioridade(5).build()));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/todos/next").param("n", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id", is(3)))
+                .andExpect(jsonPath("$[0].prioridade", is(9)))
+                .andExpect(jsonPath("$[0].nome").doesNotExist())
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    public void canClaimNextTodoTest() throws Exception {
+        when(todoQueueService.claim()).thenReturn(Todo.builder()
+                .id(3)
+                .nome("Valid TODO")
+                .descricao("Valid Description")
+                .realizado(true)
+                .version(7)
+                .build());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/todos/next/claim"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3-7\""))
+                .andExpect(jsonPath("$.id", is(3)))
+                .andExpect(jsonPath("$.realizado", is(true)))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    public void cannotClaimWhenQueueIsEmptyTest() throws Exception {
+        when(todoQueueService.claim()).thenThrow(TodoNotFoundException.NO_TODOS);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/todos/next/claim"))
+                .andExpect(status().isNotFound())
+                .andDo(MockMvcResultHandlers.print());
+    }
+}
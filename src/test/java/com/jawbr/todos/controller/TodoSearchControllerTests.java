@@ -0,0 +1,72 @@
+package com.jawbr.todos.controller;
+
+import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.exception.TodoNotFoundException;
+import com.jawbr.todos.service.TodoSearchService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TodoSearchController.class)
+@AutoConfigureMockMvc
+public class TodoSearchControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TodoSearchService todoSearchService;
+
+    private static final String PATH = "/api/todos/search";
+
+    @Test
+    public void canSearchTodosTest() throws Exception {
+        Todo todo = Todo.builder()
+                .id(1)
+                .nome("Finalizar Projeto")
+                .descricao("Valid Description")
+                .build();
+
+        when(todoSearchService.searchTodos("projeto", null, null))
+                .thenReturn(new PageImpl<>(List.of(todo), PageRequest.of(0, 10), 1));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "?q=projeto"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].nome", is(todo.getNome())))
+                .andExpect(jsonPath("$.totalElements", is(1)))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    public void cannotSearchTodosTest() throws Exception {
+        when(todoSearchService.searchTodos("inexistente", 0, 10))
+                .thenThrow(new TodoNotFoundException("Nenhuma tarefa encontrada."));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH + "?q=inexistente&page=0&pageSize=10"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Nenhuma tarefa encontrada.")))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    public void cannotSearchTodosWithoutQueryTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(PATH))
+                .andExpect(status().isBadRequest());
+    }
+}
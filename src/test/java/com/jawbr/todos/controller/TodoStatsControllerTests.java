@@ -0,0 +1,46 @@
+package com.jawbr.todos.controller;
+
+import com.jawbr.todos.dto.response.TodoStats;
+import com.jawbr.todos.service.TodoStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+
+import java.util.TreeMap;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TodoStatsController.class)
+@AutoConfigureMockMvc
+public class TodoStatsControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TodoStatsService todoStatsService;
+
+    @Test
+    public void canGetStatsTest() throws Exception {
+        TreeMap<Integer, Long> byPrioridade = new TreeMap<>();
+        byPrioridade.put(0, 1L);
+        byPrioridade.put(5, 2L);
+        when(todoStatsService.getStats()).thenReturn(new TodoStats(3, 2, 1, byPrioridade));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/todos/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total", is(3)))
+                .andExpect(jsonPath("$.pending", is(2)))
+                .andExpect(jsonPath("$.completed", is(1)))
+                .andExpect(jsonPath("$.byPrioridade.5", is(2)))
+                .andDo(MockMvcResultHandlers.print());
+    }
+}
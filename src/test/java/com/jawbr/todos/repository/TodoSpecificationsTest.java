@@ -0,0 +1,67 @@
+package com.jawbr.todos.repository;
+
+import com.jawbr.todos.entity.Todo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+public class TodoSpecificationsTest {
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @BeforeEach
+    public void init() {
+        todoRepository.insertAll(List.of(
+                todo(1, "B", 30),
+                todo(2, null, 10),
+                todo(3, "A", 20),
+                todo(4, null, 40),
+                todo(5, "B", 50)));
+    }
+
+    @Test
+    public void canSeekPastNullKeysTest() {
+        assertEquals(List.of(2, 4, 3, 1, 5), walk("nome", Sort.Direction.ASC));
+        assertEquals(List.of(1, 5, 3, 2, 4), walk("nome", Sort.Direction.DESC));
+    }
+
+    @Test
+    public void canSeekByVersionTest() {
+        assertEquals(List.of(2, 3, 1, 4, 5), walk("version", Sort.Direction.ASC));
+    }
+
+    // Percorre a listagem uma tarefa por vez, cada consulta continuando da chave da anterior
+    private List<Integer> walk(String sortBy, Sort.Direction direction) {
+        Sort sort = Sort.by(direction, sortBy).and(Sort.by("id"));
+        List<Integer> ids = new ArrayList<>();
+        Specification<Todo> spec = Specification.where(null);
+        List<Todo> page;
+        while (!(page = todoRepository.findBy(spec, query -> query.sortBy(sort).limit(1).all())).isEmpty()) {
+            Todo last = page.get(0);
+            ids.add(last.getId());
+            Object value = sortBy.equals("nome") ? last.getNome() : last.getVersion();
+            spec = TodoSpecifications.after(sortBy, direction, value, last.getId());
+        }
+        return ids;
+    }
+
+    private static Todo todo(int id, String nome, long version) {
+        return Todo.builder()
+                .id(id)
+                .nome(nome)
+                .descricao("Valid Description")
+                .prioridade(1)
+                .version(version)
+                .build();
+    }
+}
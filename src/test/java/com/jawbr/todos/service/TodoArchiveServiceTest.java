@@ -0,0 +1,100 @@
+package com.jawbr.todos.service;
+
+import com.jawbr.todos.config.TodoArchiveProperties;
+import com.jawbr.todos.config.TodoShards;
+import com.jawbr.todos.repository.ArchivedTodoRepository;
+import com.jawbr.todos.repository.TodoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+public class TodoArchiveServiceTest {
+
+    @InjectMocks
+    private TodoArchiveService todoArchiveService;
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private ArchivedTodoRepository archivedTodoRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private TodoArchiveProperties properties = new TodoArchiveProperties(true, Duration.ofDays(30), 2);
+
+    @Spy
+    private TodoShards shards = new TodoShards(1);
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Captor
+    private ArgumentCaptor<Collection<Integer>> copiedIds;
+
+    @Test
+    public void canArchiveTodosInBatchesTest() {
+        when(todoRepository.lockArchivable(any(Instant.class), eq(PageRequest.of(0, 2))))
+                .thenReturn(List.of(1, 2))
+                .thenReturn(List.of(3));
+
+        assertEquals(3, todoArchiveService.archive());
+
+        verify(archivedTodoRepository, times(2)).copyFromTodos(copiedIds.capture(), any(Instant.class));
+        assertEquals(List.of(List.of(1, 2), List.of(3)), copiedIds.getAllValues());
+        verify(todoRepository, times(1)).deleteAllByIdInBatch(List.of(1, 2));
+        verify(todoRepository, times(1)).deleteAllByIdInBatch(List.of(3));
+        verify(eventPublisher, times(1)).publishEvent(TodoChangedEvent.archived(3));
+        assertEquals(3, meterRegistry.counter("todos.archive.archived").count());
+    }
+
+    @Test
+    public void canArchiveOnlyTodosOlderThanAgeTest() {
+        Instant before = Instant.now().minus(Duration.ofDays(30));
+
+        todoArchiveService.archive();
+
+        verify(todoRepository, times(1)).lockArchivable(
+                argThat(cutoff -> !cutoff.isBefore(before)), any());
+        verify(archivedTodoRepository, never()).copyFromTodos(anyList(), any());
+    }
+
+    @Test
+    public void cannotArchiveWhenDisabledTest() {
+        TodoArchiveService disabled = new TodoArchiveService(todoRepository, archivedTodoRepository, eventPublisher,
+                new TodoArchiveProperties(false, Duration.ofDays(30), 2), transactionManager, shards, meterRegistry);
+
+        assertEquals(0, disabled.archive());
+
+        verify(todoRepository, never()).lockArchivable(any(), any());
+    }
+}
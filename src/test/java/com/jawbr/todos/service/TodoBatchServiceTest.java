@@ -0,0 +1,192 @@
+package com.jawbr.todos.service;
+
+import com.jawbr.todos.config.CacheConfig;
+import com.jawbr.todos.config.TodoBatchProperties;
+import com.jawbr.todos.config.TodoShards;
+import com.jawbr.todos.dto.request.TodoRequest;
+import com.jawbr.todos.dto.request.TodoUpdateRequest;
+import com.jawbr.todos.dto.response.TodoBatchResult;
+import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.exception.BatchTooLargeException;
+import com.jawbr.todos.repository.TodoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+public class TodoBatchServiceTest {
+
+    @InjectMocks
+    private TodoBatchService todoBatchService;
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TodoIdGenerator idGenerator;
+
+    @Spy
+    private TodoShards shards = new TodoShards(1);
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private TodoBatchProperties properties = new TodoBatchProperties(2, 3);
+
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager();
+
+    private TodoRequest todoRequest;
+
+    @BeforeEach
+    public void init() {
+        todoRequest = TodoRequest.builder()
+                .nome("Valid TODO")
+                .descricao("Valid Description")
+                .realizado(true)
+                .prioridade(10)
+                .build();
+    }
+
+    @Test
+    public void canCreateTodosTest() {
+        TodoRequest invalid = TodoRequest.builder()
+                .nome("")
+                .descricao("Valid Description")
+                .build();
+
+        when(idGenerator.nextId()).thenReturn(1, 2);
+        when(todoRepository.insertAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<TodoBatchResult> results = todoBatchService.createTodos(Arrays.asList(todoRequest, invalid, todoRequest));
+
+        assertEquals(201, results.get(0).status());
+        assertEquals(0, results.get(0).todo().getPrioridade());
+        assertEquals(400, results.get(1).status());
+        assertEquals("Nome da tarefa não pode estar vazia!", results.get(1).message());
+        assertEquals(201, results.get(2).status());
+        assertEquals(2, results.get(2).todo().getId());
+
+        verify(todoRepository, times(1)).insertAll(argThat(todos -> todos.size() == 2));
+        verify(entityManager, times(1)).flush();
+        verify(eventPublisher, times(2)).publishEvent(any(TodoChangedEvent.class));
+    }
+
+    @Test
+    public void canUpdateTodosTest() {
+        Todo existing = Todo.builder()
+                .id(1)
+                .nome("Valid TODO")
+                .descricao("Valid Description")
+                .prioridade(10)
+                .build();
+        TodoUpdateRequest update = TodoUpdateRequest.builder()
+                .id(1)
+                .nome("Valid TODO Update")
+                .descricao("Valid Description Update")
+                .prioridade(3)
+                .build();
+        TodoUpdateRequest missing = TodoUpdateRequest.builder()
+                .id(2)
+                .nome("Valid TODO Update")
+                .descricao("Valid Description Update")
+                .build();
+
+        when(todoRepository.findAllById(List.of(1, 2))).thenReturn(List.of(existing));
+
+        Cache todos = cacheManager.getCache(CacheConfig.TODOS);
+        todos.put(1, existing);
+        todos.put(3, existing);
+
+        List<TodoBatchResult> results = todoBatchService.updateTodos(List.of(update, missing));
+
+        assertEquals(200, results.get(0).status());
+        assertEquals("Valid TODO Update", existing.getNome());
+        assertEquals(3, existing.getPrioridade());
+        assertEquals(404, results.get(1).status());
+        assertEquals("Tarefa de id '2' não encontrada.", results.get(1).message());
+        verify(eventPublisher, times(1)).publishEvent(TodoChangedEvent.updated(existing));
+        // Só a tarefa atualizada sai do cache
+        assertNull(todos.get(1));
+        assertNotNull(todos.get(3));
+    }
+
+    @Test
+    public void canRejectUpdateWithStaleVersionTest() {
+        Todo existing = Todo.builder()
+                .id(1)
+                .nome("Valid TODO")
+                .descricao("Valid Description")
+                .version(8)
+                .build();
+        TodoUpdateRequest stale = TodoUpdateRequest.builder()
+                .id(1)
+                .nome("Valid TODO Update")
+                .descricao("Valid Description Update")
+                .version(7L)
+                .build();
+
+        when(todoRepository.findAllById(List.of(1))).thenReturn(List.of(existing));
+
+        List<TodoBatchResult> results = todoBatchService.updateTodos(List.of(stale));
+
+        assertEquals(412, results.get(0).status());
+        assertEquals("Tarefa de id '1' foi alterada por outra requisição.", results.get(0).message());
+        assertEquals("Valid TODO", existing.getNome());
+        verify(eventPublisher, never()).publishEvent(any(TodoChangedEvent.class));
+    }
+
+    @Test
+    public void canDeleteTodosTest() {
+        when(todoRepository.findExistingIds(Set.of(1, 2))).thenReturn(List.of(1));
+
+        List<TodoBatchResult> results = todoBatchService.deleteTodosById(List.of(1, 2));
+
+        assertEquals(204, results.get(0).status());
+        assertEquals(404, results.get(1).status());
+        verify(todoRepository, times(1)).deleteAllByIdInBatch(Set.of(1));
+        verify(eventPublisher, times(1)).publishEvent(TodoChangedEvent.deleted(1));
+    }
+
+    @Test
+    public void cannotProcessBatchLargerThanMaxItemsTest() {
+        assertThrows(BatchTooLargeException.class, () -> todoBatchService.deleteTodosById(List.of(1, 2, 3, 4)));
+    }
+}
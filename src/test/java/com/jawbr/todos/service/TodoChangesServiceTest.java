@@ -0,0 +1,168 @@
+package com.jawbr.todos.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jawbr.todos.config.TodoChangesProperties;
+import com.jawbr.todos.entity.Todo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class TodoChangesServiceTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final Pattern EVENT = Pattern.compile("id:(\\d+)\nevent:(\\w+)\n");
+
+    @InjectMocks
+    private TodoChangesService todoChangesService;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Spy
+    private SyncTaskExecutor taskExecutor = new SyncTaskExecutor();
+
+    @Spy
+    private TodoChangesProperties properties = new TodoChangesProperties(3, Duration.ofSeconds(15), Duration.ofMinutes(30));
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void canStreamChangesTest() {
+        RecordingEmitter emitter = subscribe(null);
+
+        todoChangesService.onTodoChanged(TodoChangedEvent.created(todo(1)));
+        todoChangesService.onTodoChanged(TodoChangedEvent.updated(todo(1)));
+        todoChangesService.onTodoChanged(TodoChangedEvent.deleted(1));
+
+        assertEquals(List.of("created", "updated", "deleted"), emitter.names());
+        List<Long> ids = emitter.ids();
+        assertEquals(ids.get(0) + 1, ids.get(1));
+        assertEquals(ids.get(1) + 1, ids.get(2));
+        assertTrue(emitter.events.get(0).contains("\"nome\":\"Todo 1\""));
+        assertTrue(emitter.events.get(2).contains("\"todo\":null"));
+    }
+
+    @Test
+    public void canResumeFromLastEventIdTest() {
+        RecordingEmitter first = subscribe(null);
+        todoChangesService.onTodoChanged(TodoChangedEvent.created(todo(1)));
+        todoChangesService.onTodoChanged(TodoChangedEvent.created(todo(2)));
+        long lastEventId = first.ids().get(0);
+
+        todoChangesService.onTodoChanged(TodoChangedEvent.created(todo(3)));
+        RecordingEmitter resumed = subscribe(lastEventId);
+
+        assertEquals(List.of(lastEventId + 1, lastEventId + 2), resumed.ids());
+        assertEquals(List.of("created", "created"), resumed.names());
+    }
+
+    @Test
+    public void canResetWhenLastEventIdIsGoneTest() {
+        RecordingEmitter first = subscribe(null);
+        todoChangesService.onTodoChanged(TodoChangedEvent.created(todo(1)));
+        long lastEventId = first.ids().get(0);
+        for (int i = 2; i <= 5; i++) {
+            todoChangesService.onTodoChanged(TodoChangedEvent.created(todo(i)));
+        }
+
+        RecordingEmitter resumed = subscribe(lastEventId);
+        RecordingEmitter unknown = subscribe(42L);
+
+        assertEquals(List.of(TodoChangesService.RESET), resumed.names());
+        assertEquals(List.of(lastEventId + 4), resumed.ids());
+        assertEquals(List.of(TodoChangesService.RESET), unknown.names());
+        assertEquals(2, meterRegistry.counter("todos.changes.resets").count());
+
+        todoChangesService.onTodoChanged(TodoChangedEvent.deleted(1));
+
+        assertEquals(List.of(TodoChangesService.RESET, "deleted"), resumed.names());
+    }
+
+    @Test
+    public void canDropDisconnectedSubscribersTest() {
+        RecordingEmitter emitter = subscribe(null);
+        emitter.failing = true;
+
+        todoChangesService.onTodoChanged(TodoChangedEvent.created(todo(1)));
+        todoChangesService.heartbeat();
+
+        assertEquals(0, meterRegistry.get("todos.changes.subscribers").gauge().value());
+        assertEquals(List.of(), emitter.events);
+    }
+
+    @Test
+    public void canSendHeartbeatTest() {
+        RecordingEmitter emitter = subscribe(null);
+
+        todoChangesService.heartbeat();
+
+        assertEquals(List.of(":heartbeat\n\n"), emitter.events);
+        assertEquals(1, meterRegistry.get("todos.changes.subscribers").gauge().value());
+    }
+
+    private RecordingEmitter subscribe(Long lastEventId) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        todoChangesService.subscribe(emitter, lastEventId);
+        return emitter;
+    }
+
+    private static Todo todo(int id) {
+        return Todo.builder()
+                .id(id)
+                .nome("Todo " + id)
+                .descricao("Valid Description")
+                .build();
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            StringBuilder event = new StringBuilder();
+            for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+                event.append(data.getData() instanceof String text ? text : OBJECT_MAPPER.writeValueAsString(data.getData()));
+            }
+            events.add(event.toString());
+        }
+
+        List<String> names() {
+            return events.stream().map(event -> match(event).group(2)).toList();
+        }
+
+        List<Long> ids() {
+            return events.stream().map(event -> Long.parseLong(match(event).group(1))).toList();
+        }
+
+        private static Matcher match(String event) {
+            Matcher matcher = EVENT.matcher(event);
+            assertTrue(matcher.find(), event);
+            return matcher;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.jawbr.todos.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jawbr.todos.config.TodoShards;
+import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.repository.TodoRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+public class TodoExportServiceTest {
+
+    @InjectMocks
+    private TodoExportService todoExportService;
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private TodoShards shards = new TodoShards(1);
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    private Todo todo;
+    private Todo other;
+
+    @BeforeEach
+    public void init() {
+        todo = Todo.builder()
+                .id(1)
+                .nome("Valid TODO")
+                .descricao("Valid Description")
+                .realizado(false)
+                .prioridade(10)
+                .build();
+        other = Todo.builder()
+                .id(2)
+                .nome("Valid, \"quoted\" TODO")
+                .descricao("Valid Description")
+                .realizado(true)
+                .prioridade(0)
+                .version(3)
+                .build();
+    }
+
+    @Test
+    public void canExportTodosAsNdjsonTest() {
+        when(todoRepository.streamAll()).thenReturn(Stream.of(todo, other));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        todoExportService.exportTodos(out, TodoDataFormat.NDJSON);
+
+        assertEquals("""
+                {"id":1,"nome":"Valid TODO","descricao":"Valid Description","realizado":false,"prioridade":10,"version":0}
+                {"id":2,"nome":"Valid, \\"quoted\\" TODO","descricao":"Valid Description","realizado":true,"prioridade":0,"version":3}
+                """, out.toString(StandardCharsets.UTF_8));
+        verify(entityManager, times(1)).detach(todo);
+        verify(entityManager, times(1)).detach(other);
+    }
+
+    @Test
+    public void canExportTodosAsCsvTest() {
+        when(todoRepository.streamAll()).thenReturn(Stream.of(todo, other));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        todoExportService.exportTodos(out, TodoDataFormat.CSV);
+
+        assertEquals("""
+                id,nome,descricao,realizado,prioridade,version
+                1,Valid TODO,Valid Description,false,10,0
+                2,"Valid, ""quoted"" TODO",Valid Description,true,0,3
+                """, out.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,162 @@
+package com.jawbr.todos.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jawbr.todos.config.TodoImportProperties;
+import com.jawbr.todos.config.TodoShards;
+import com.jawbr.todos.dto.response.TodoImportSummary;
+import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.repository.TodoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+public class TodoImportServiceTest {
+
+    @InjectMocks
+    private TodoImportService todoImportService;
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TodoIdGenerator idGenerator;
+
+    @Spy
+    private TodoShards shards = new TodoShards(1);
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Spy
+    private TodoImportProperties properties = new TodoImportProperties(2, 10);
+
+    @Test
+    public void canImportTodosFromNdjsonTest() {
+        List<List<Todo>> chunks = captureChunks();
+        String ndjson = """
+                {"nome":"Valid TODO","descricao":"Valid Description","realizado":true,"prioridade":10}
+                {"nome":"","descricao":"Valid Description"}
+
+                not json
+                {"nome":"Valid TODO","descricao":"Valid Description"}
+                {"nome":"Valid TODO","descricao":"Valid Description","prioridade":3}
+                """;
+
+        TodoImportSummary summary = todoImportService.importTodos(stream(ndjson), TodoDataFormat.NDJSON);
+
+        assertEquals(3, summary.accepted());
+        assertEquals(2, summary.rejected());
+        assertEquals(List.of(
+                new TodoImportSummary.LineError(2, "Nome da tarefa não pode estar vazia!"),
+                new TodoImportSummary.LineError(4, "JSON inválido.")), summary.errors());
+        assertEquals(2, chunks.size());
+        assertEquals(0, chunks.get(0).get(0).getPrioridade());
+        assertEquals(3, chunks.get(1).get(0).getPrioridade());
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    public void canImportTodosFromCsvTest() {
+        List<List<Todo>> chunks = captureChunks();
+        String csv = """
+                id,nome,descricao,realizado,prioridade,version
+                1,"Valid, ""quoted""
+                TODO",Valid Description,false,10,0
+                2,Valid TODO,Valid Description,x,dez,0
+                3,Valid TODO,,true,0,0
+                """;
+
+        TodoImportSummary summary = todoImportService.importTodos(stream(csv), TodoDataFormat.CSV);
+
+        assertEquals(1, summary.accepted());
+        assertEquals(2, summary.rejected());
+        assertEquals(List.of(
+                new TodoImportSummary.LineError(4, "Prioridade da tarefa deve ser um número inteiro!"),
+                new TodoImportSummary.LineError(5, "Descrição da tarefa não pode estar vazia!")), summary.errors());
+        assertEquals("Valid, \"quoted\"\nTODO", chunks.get(0).get(0).getNome());
+        assertEquals(10, chunks.get(0).get(0).getPrioridade());
+    }
+
+    @Test
+    public void canRejectOversizedNdjsonLineTest() {
+        List<List<Todo>> chunks = captureChunks();
+        String ndjson = "{\"nome\":\"" + "x".repeat(CsvRecordReader.MAX_RECORD_LENGTH) + "\",\"descricao\":\"Valid Description\"}\n"
+                + "null\n"
+                + "{\"nome\":\"" + "x".repeat(256) + "\",\"descricao\":\"Valid Description\"}\r\n"
+                + "{\"nome\":\"Valid TODO\",\"descricao\":\"Valid Description\"}\n";
+
+        TodoImportSummary summary = todoImportService.importTodos(stream(ndjson), TodoDataFormat.NDJSON);
+
+        assertEquals(1, summary.accepted());
+        assertEquals(3, summary.rejected());
+        assertEquals(List.of(
+                new TodoImportSummary.LineError(1, "Linha com mais de 4096 caracteres."),
+                new TodoImportSummary.LineError(2, "Linha deve conter um objeto JSON."),
+                new TodoImportSummary.LineError(3, "Nome da tarefa deve ter no máximo 255 caracteres!")), summary.errors());
+        assertEquals(1, chunks.get(0).size());
+    }
+
+    @Test
+    public void canRejectOversizedCsvRecordTest() {
+        List<List<Todo>> chunks = captureChunks();
+        String csv = "nome,descricao\n"
+                + "Valid TODO," + "x".repeat(CsvRecordReader.MAX_FIELD_LENGTH + 1) + "\n"
+                + "Valid TODO,Valid Description\n"
+                + "\"Unclosed TODO,Valid Description\n"
+                + "Valid TODO,Valid Description\n";
+
+        TodoImportSummary summary = todoImportService.importTodos(stream(csv), TodoDataFormat.CSV);
+
+        assertEquals(1, summary.accepted());
+        assertEquals(2, summary.rejected());
+        assertEquals(List.of(
+                new TodoImportSummary.LineError(2, "Campo com mais de 1024 caracteres."),
+                new TodoImportSummary.LineError(4, "Campo entre aspas sem fechamento.")), summary.errors());
+        assertEquals(1, chunks.get(0).size());
+    }
+
+    private List<List<Todo>> captureChunks() {
+        List<List<Todo>> chunks = new ArrayList<>();
+        when(todoRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Todo> todos = invocation.getArgument(0);
+            chunks.add(new ArrayList<>(todos));
+            return todos;
+        });
+        return chunks;
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
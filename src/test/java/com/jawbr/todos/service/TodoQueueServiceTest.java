@@ -0,0 +1,183 @@
+package com.jawbr.todos.service;
+
+import com.jawbr.todos.config.TodoShards;
+import com.jawbr.todos.dto.request.TodoRequest;
+import com.jawbr.todos.dto.response.TodoView;
+import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.exception.TodoNotFoundException;
+import com.jawbr.todos.exception.TodoVersionConflictException;
+import com.jawbr.todos.repository.TodoRepository;
+import com.jawbr.todos.repository.TodoState;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+public class TodoQueueServiceTest {
+
+    @InjectMocks
+    private TodoQueueService todoQueueService;
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private TodoService todoService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private TodoShards shards = new TodoShards(1);
+
+    @Test
+    public void canListNextTodosByPrioridadeTest() {
+        todoQueueService.onTodoChanged(TodoChangedEvent.created(todo(1, false, 3)));
+        todoQueueService.onTodoChanged(TodoChangedEvent.created(todo(2, false, 9)));
+        todoQueueService.onTodoChanged(TodoChangedEvent.created(todo(3, false, 3)));
+        todoQueueService.onTodoChanged(TodoChangedEvent.created(todo(4, true, 0)));
+        todoQueueService.onTodoChanged(TodoChangedEvent.created(todo(5, false, 5)));
+
+        assertEquals(List.of(view(2, 9), view(5, 5), view(1, 3)), todoQueueService.next(3));
+        assertEquals(List.of(view(2, 9), view(5, 5), view(1, 3), view(3, 3)), todoQueueService.next(10));
+        assertEquals(List.of(), todoQueueService.next(0));
+    }
+
+    @Test
+    public void canKeepQueueUpToDateTest() {
+        IntStream.rangeClosed(1, 50).forEach(id -> todoQueueService.onTodoChanged(
+                TodoChangedEvent.created(todo(id, false, id % 7))));
+
+        todoQueueService.onTodoChanged(TodoChangedEvent.updated(todo(7, false, 10)));
+        todoQueueService.onTodoChanged(TodoChangedEvent.updated(todo(6, true, 0)));
+        todoQueueService.onTodoChanged(TodoChangedEvent.deleted(13));
+        todoQueueService.onTodoChanged(TodoChangedEvent.archived(20));
+        todoQueueService.onTodoChanged(TodoChangedEvent.updated(todo(34, false, 0)));
+
+        assertEquals(List.of(view(7, 10), view(27, 6), view(41, 6), view(48, 6), view(5, 5)), todoQueueService.next(5));
+        assertEquals(IntStream.rangeClosed(1, 50)
+                        .filter(id -> id != 6 && id != 13 && id != 20)
+                        .mapToObj(id -> view(id, id == 7 ? 10 : id == 34 ? 0 : id % 7))
+                        .sorted(Comparator.comparing(TodoView::prioridade).reversed().thenComparing(TodoView::id))
+                        .toList(),
+                todoQueueService.next(100));
+    }
+
+    @Test
+    public void canRebuildQueueTest() {
+        when(todoRepository.streamStates()).thenReturn(Stream.of(
+                new TodoState(1, false, 5), new TodoState(2, true, 0), new TodoState(3, false, 8)));
+
+        todoQueueService.rebuild();
+
+        assertEquals(List.of(view(3, 8), view(1, 5)), todoQueueService.next(10));
+    }
+
+    @Test
+    public void canClaimNextTodoTest() {
+        Todo first = todo(1, false, 9);
+        first.setVersion(4);
+        todoQueueService.onTodoChanged(TodoChangedEvent.created(first));
+        todoQueueService.onTodoChanged(TodoChangedEvent.created(todo(2, false, 5)));
+        Todo claimed = todo(1, true, 0);
+
+        when(todoRepository.findById(1)).thenReturn(Optional.of(first));
+        when(todoService.updateTodo(eq(1), any(TodoRequest.class), eq(4L))).thenReturn(claimed);
+
+        assertEquals(claimed, todoQueueService.claim());
+        assertEquals(List.of(view(2, 5)), todoQueueService.next(10));
+        verify(todoService).updateTodo(1, new TodoRequest("Valid TODO", "Valid Description", true, 9), 4L);
+    }
+
+    @Test
+    public void canSkipTodosNoLongerPendingWhenClaimingTest() {
+        todoQueueService.onTodoChanged(TodoChangedEvent.created(todo(1, false, 9)));
+        todoQueueService.onTodoChanged(TodoChangedEvent.created(todo(2, false, 7)));
+        todoQueueService.onTodoChanged(TodoChangedEvent.created(todo(3, false, 5)));
+        Todo claimed = todo(3, true, 0);
+
+        when(todoRepository.findById(1)).thenReturn(Optional.empty());
+        when(todoRepository.findById(2)).thenReturn(Optional.of(todo(2, true, 0)));
+        when(todoRepository.findById(3)).thenReturn(Optional.of(todo(3, false, 5)));
+        when(todoService.updateTodo(eq(3), any(TodoRequest.class), anyLong())).thenReturn(claimed);
+
+        assertEquals(claimed, todoQueueService.claim());
+        verify(todoService, never()).updateTodo(eq(1), any(TodoRequest.class), anyLong());
+        verify(todoService, never()).updateTodo(eq(2), any(TodoRequest.class), anyLong());
+    }
+
+    @Test
+    public void canRetryClaimAfterConcurrentUpdateTest() {
+        todoQueueService.onTodoChanged(TodoChangedEvent.created(todo(1, false, 9)));
+        Todo claimed = todo(1, true, 0);
+
+        when(todoRepository.findById(1)).thenReturn(Optional.of(todo(1, false, 9)));
+        when(todoService.updateTodo(eq(1), any(TodoRequest.class), anyLong()))
+                .thenThrow(new TodoVersionConflictException("Tarefa de id '1' foi alterada por outra requisição."))
+                .thenReturn(claimed);
+
+        assertEquals(claimed, todoQueueService.claim());
+    }
+
+    @Test
+    public void canKeepTodoQueuedWhenClaimFailsTest() {
+        todoQueueService.onTodoChanged(TodoChangedEvent.created(todo(1, false, 9)));
+        todoQueueService.onTodoChanged(TodoChangedEvent.created(todo(2, false, 3)));
+        Todo claimed = todo(1, true, 0);
+
+        when(todoRepository.findById(1))
+                .thenThrow(new DataAccessResourceFailureException("Banco indisponível"))
+                .thenReturn(Optional.of(todo(1, false, 9)));
+        when(todoService.updateTodo(eq(1), any(TodoRequest.class), anyLong()))
+                .thenThrow(new CannotCreateTransactionException("Shard indisponível"))
+                .thenReturn(claimed);
+
+        assertThrows(DataAccessResourceFailureException.class, () -> todoQueueService.claim());
+        assertEquals(List.of(view(1, 9), view(2, 3)), todoQueueService.next(10));
+        assertThrows(CannotCreateTransactionException.class, () -> todoQueueService.claim());
+        assertEquals(List.of(view(1, 9), view(2, 3)), todoQueueService.next(10));
+        assertEquals(claimed, todoQueueService.claim());
+    }
+
+    @Test
+    public void cannotClaimFromEmptyQueueTest() {
+        assertThrows(TodoNotFoundException.class, () -> todoQueueService.claim());
+
+        verify(todoRepository, never()).findById(anyInt());
+    }
+
+    private static TodoView view(int id, int prioridade) {
+        return TodoView.builder().id(id).prioridade(prioridade).build();
+    }
+
+    private static Todo todo(int id, boolean realizado, int prioridade) {
+        return Todo.builder()
+                .id(id)
+                .nome("Valid TODO")
+                .descricao("Valid Description")
+                .realizado(realizado)
+                .prioridade(prioridade)
+                .build();
+    }
+}
@@ -0,0 +1,176 @@
+package com.jawbr.todos.service;
+
+import com.jawbr.todos.config.TodoShards;
+import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.exception.InvalidParameterException;
+import com.jawbr.todos.exception.TodoNotFoundException;
+import com.jawbr.todos.repository.TodoRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+public class TodoSearchServiceTest {
+
+    @InjectMocks
+    private TodoSearchService todoSearchService;
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private TodoShards shards = new TodoShards(1);
+
+    private Todo projeto;
+    private Todo relatorio;
+    private Todo revisao;
+
+    @BeforeEach
+    public void init() {
+        projeto = todo(1, "Finalizar Projeto", "Entregar a versão final");
+        relatorio = todo(2, "Relatório mensal", "Incluir o andamento do projeto");
+        revisao = todo(3, "Revisão de código", "Ação pendente no projeto");
+    }
+
+    @Test
+    public void canSearchTodosTest() {
+        index(projeto, relatorio, revisao);
+
+        Page<Todo> result = todoSearchService.searchTodos("PROJETO", 0, 10);
+
+        assertEquals(3, result.getTotalElements());
+        assertEquals(projeto, result.getContent().get(0));
+
+        assertEquals(List.of(revisao), todoSearchService.searchTodos("acao projeto", null, null).getContent());
+        assertEquals(List.of(relatorio), todoSearchService.searchTodos("relatorio", null, null).getContent());
+    }
+
+    @Test
+    public void canPaginateSearchResultsTest() {
+        index(projeto, relatorio, revisao);
+
+        Page<Todo> second = todoSearchService.searchTodos("projeto", 1, 2);
+
+        assertEquals(3, second.getTotalElements());
+        assertEquals(2, second.getTotalPages());
+        assertEquals(1, second.getContent().size());
+    }
+
+    @Test
+    public void canSearchPageAfterLastResultTest() {
+        index(projeto, relatorio, revisao);
+
+        assertThrows(TodoNotFoundException.class, () -> todoSearchService.searchTodos("projeto", 2, 2));
+        assertThrows(TodoNotFoundException.class, () -> todoSearchService.searchTodos("projeto", Integer.MAX_VALUE, 50));
+    }
+
+    @Test
+    public void cannotSearchNegativePageTest() {
+        index(projeto);
+
+        assertThrows(InvalidParameterException.class, () -> todoSearchService.searchTodos("projeto", -1, 10));
+        assertThrows(InvalidParameterException.class, () -> todoSearchService.searchTodos("projeto", 0, 0));
+    }
+
+    @Test
+    public void canRankIgnoringDeletedTodosTest() {
+        Todo betaNoNome = todo(1, "Beta", "Alpha");
+        Todo alphaNoNome = todo(2, "Alpha", "Beta");
+        index(betaNoNome, alphaNoNome);
+        for (int id = 10; id < 15; id++) {
+            todoSearchService.onTodoChanged(TodoChangedEvent.updated(todo(id, "Beta", "Outra")));
+        }
+        // Apagadas sem compactação: se ainda contassem, alpha pareceria o termo mais comum
+        for (int id = 20; id < 30; id++) {
+            todoSearchService.onTodoChanged(TodoChangedEvent.updated(todo(id, "Alpha", "Outra")));
+            todoSearchService.onTodoChanged(TodoChangedEvent.deleted(id));
+        }
+
+        assertEquals(List.of(alphaNoNome, betaNoNome), todoSearchService.searchTodos("alpha beta", 0, 10).getContent());
+    }
+
+    @Test
+    public void canKeepIndexUpToDateTest() {
+        index(projeto, relatorio, revisao);
+
+        todoSearchService.onTodoChanged(TodoChangedEvent.deleted(relatorio.getId()));
+        // Atualizações repetidas forçam a compactação do índice
+        for (int i = 0; i < 3000; i++) {
+            revisao.setNome("Revisão " + i);
+            todoSearchService.onTodoChanged(TodoChangedEvent.updated(revisao));
+        }
+
+        assertEquals(List.of(projeto, revisao), todoSearchService.searchTodos("projeto", 0, 10).getContent());
+        assertEquals(List.of(revisao), todoSearchService.searchTodos("revisao 2999", 0, 10).getContent());
+        assertThrows(TodoNotFoundException.class, () -> todoSearchService.searchTodos("revisao 1000", 0, 10));
+    }
+
+    @Test
+    public void canRebuildIndexTest() {
+        stubFindAllById(projeto, relatorio, revisao);
+        when(todoRepository.count()).thenReturn(3L);
+        when(todoRepository.streamAll()).thenReturn(Stream.of(projeto, relatorio, revisao));
+
+        todoSearchService.rebuild();
+
+        assertEquals(List.of(relatorio), todoSearchService.searchTodos("mensal", 0, 10).getContent());
+    }
+
+    @Test
+    public void cannotSearchTodosTest() {
+        index(projeto);
+
+        assertThrows(TodoNotFoundException.class, () -> todoSearchService.searchTodos("inexistente", 0, 10),
+                "Nenhuma tarefa encontrada.");
+        assertThrows(TodoNotFoundException.class, () -> todoSearchService.searchTodos("de", 0, 10),
+                "Nenhuma tarefa encontrada.");
+    }
+
+    private void index(Todo... todos) {
+        stubFindAllById(todos);
+        for (Todo todo : todos) {
+            todoSearchService.onTodoChanged(TodoChangedEvent.updated(todo));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubFindAllById(Todo... todos) {
+        Map<Integer, Todo> byId = Stream.of(todos).collect(Collectors.toMap(Todo::getId, Function.identity()));
+        when(todoRepository.findAllById(anyIterable())).thenAnswer(invocation -> ((Collection<Integer>) invocation.getArgument(0))
+                .stream()
+                .map(byId::get)
+                .toList());
+    }
+
+    private static Todo todo(int id, String nome, String descricao) {
+        return Todo.builder()
+                .id(id)
+                .nome(nome)
+                .descricao(descricao)
+                .build();
+    }
+}
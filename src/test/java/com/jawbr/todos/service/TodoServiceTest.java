@@ -1,30 +1,52 @@
 package com.jawbr.todos.service;
 
+import com.jawbr.todos.config.TodoListingProperties;
+import com.jawbr.todos.config.TodoShards;
+import com.jawbr.todos.dto.request.TodoFilter;
 import com.jawbr.todos.dto.request.TodoRequest;
+import com.jawbr.todos.dto.response.CursorPage;
+import com.jawbr.todos.dto.response.TodoView;
+import com.jawbr.todos.entity.ArchivedTodo;
 import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.exception.InvalidCursorException;
+import com.jawbr.todos.exception.InvalidParameterException;
 import com.jawbr.todos.exception.TodoNotFoundException;
+import com.jawbr.todos.exception.TodoVersionConflictException;
+import com.jawbr.todos.repository.ArchivedTodoRepository;
 import com.jawbr.todos.repository.TodoRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.mapping.PropertyReferenceException;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.argThat;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -38,6 +60,24 @@ public class TodoServiceTest {
     @Mock
     private TodoRepository todoRepository;
 
+    @Mock
+    private ArchivedTodoRepository archivedTodoRepository;
+
+    @Mock
+    private TodoIdGenerator idGenerator;
+
+    @Spy
+    private TodoShards shards = new TodoShards(1);
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private TodoListingProperties listingProperties = new TodoListingProperties(true);
+
+    @Spy
+    private TodoTextOrder textOrder = TodoTextOrder.of(Comparator.naturalOrder());
+
     private Todo todo;
     private TodoRequest todoRequest;
 
@@ -76,9 +116,9 @@ public class TodoServiceTest {
 
         Pageable pageable = PageRequest.of(page, pageSize, Sort.by(sortBy));
         Page<Todo> mockedPage = new PageImpl<>(todoList, pageable, todoList.size());
-        when(todoRepository.findAll(pageable)).thenReturn(mockedPage);
+        when(todoRepository.findAll(anySpec(), eq(pageable))).thenReturn(mockedPage);
 
-        Page<Todo> result = todoService.findAllTodos(page, pageSize, sortBy);
+        Page<Todo> result = todoService.findAllTodos(page, pageSize, sortBy, TodoFilter.NONE);
 
         assertNotNull(result);
         assertEquals(result.getContent(), todoList);
@@ -93,23 +133,244 @@ public class TodoServiceTest {
         Page<Todo> pageList = new PageImpl<>(new ArrayList<>());
         Pageable pageable = PageRequest.of(page, pageSize, Sort.by(sortBy));
 
-        when(todoRepository.findAll(pageable)).thenReturn(pageList);
+        when(todoRepository.findAll(anySpec(), eq(pageable))).thenReturn(pageList);
+
+        assertThrows(TodoNotFoundException.class, () -> todoService.findAllTodos(page, pageSize, sortBy, TodoFilter.NONE), "Nenhuma tarefa encontrada.");
+    }
+
+    @Test
+    public void canFindEmptyPageWhenNotFoundIsDisabledTest() {
+        TodoService service = new TodoService(todoRepository, archivedTodoRepository, idGenerator, shards, eventPublisher,
+                new TodoListingProperties(false), textOrder);
+        Pageable pageable = PageRequest.of(5, 10, Sort.by("id"));
+
+        when(todoRepository.findAll(anySpec(), eq(pageable))).thenReturn(Page.empty(pageable));
+        when(todoRepository.findBy(anySpec(), any())).thenReturn(List.of());
+
+        assertTrue(service.findAllTodos(5, 10, "id", TodoFilter.NONE).isEmpty());
+        assertTrue(service.findAllTodosAfter("", 10, "id", TodoFilter.NONE).content().isEmpty());
+        assertThrows(TodoNotFoundException.class, () -> todoService.findAllTodos(5, 10, "id", TodoFilter.NONE));
+    }
+
+    @Test
+    public void canFindAllTodosWithFieldsTest() {
+        TodoView view = TodoView.builder().id(1).nome("Valid TODO").version(0L).build();
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("id"));
+
+        when(todoRepository.findAllViews(anySpec(), eq(pageable), eq(List.of("id", "nome", "version"))))
+                .thenReturn(new PageImpl<>(List.of(view), pageable, 1));
+
+        Page<TodoView> result = todoService.findAllTodos(null, null, null, TodoFilter.NONE, List.of("nome,version", "nome"));
 
-        assertThrows(TodoNotFoundException.class, () -> todoService.findAllTodos(page, pageSize, sortBy), "Nenhuma tarefa encontrada.");
+        assertEquals(List.of(view), result.getContent());
+    }
+
+    @Test
+    public void cannotFindAllTodosWithUnknownFieldTest() {
+        assertThrows(PropertyReferenceException.class,
+                () -> todoService.findAllTodos(0, 10, "id", TodoFilter.NONE, List.of("nome,senha")));
+    }
+
+    @Test
+    public void canFindAllTodosAfterCursorWithFieldsTest() {
+        TodoView first = TodoView.builder().id(1).prioridade(10).version(0L).build();
+        TodoView second = TodoView.builder().id(2).prioridade(5).version(0L).build();
+
+        when(todoRepository.findViews(anySpec(), any(Sort.class), eq(2), eq(List.of("id", "prioridade", "version"))))
+                .thenReturn(List.of(first, second));
+
+        CursorPage<TodoView> result = todoService.findAllTodosAfter("", 1, "prioridade", TodoFilter.NONE, List.of("id"));
+
+        assertEquals(List.of(first), result.content());
+        assertEquals(TodoCursor.of("prioridade", todo).encode(), result.next());
+    }
+
+    @Test
+    public void canFindAllTodosAfterCursorTest() {
+        Todo second = Todo.builder()
+                .id(2)
+                .nome("Valid TODO")
+                .descricao("Valid Description")
+                .realizado(false)
+                .prioridade(5)
+                .build();
+        Todo third = Todo.builder()
+                .id(3)
+                .nome("Valid TODO")
+                .descricao("Valid Description")
+                .realizado(false)
+                .prioridade(1)
+                .build();
+
+        when(todoRepository.findBy(anySpec(), any())).thenReturn(List.of(todo, second, third));
+
+        CursorPage<Todo> result = todoService.findAllTodosAfter("", 2, "prioridade", TodoFilter.NONE);
+
+        assertEquals(List.of(todo, second), result.content());
+        assertTrue(result.hasNext());
+        assertNotNull(result.next());
+
+        when(todoRepository.findBy(anySpec(), any())).thenReturn(List.of(third));
+
+        CursorPage<Todo> last = todoService.findAllTodosAfter(result.next(), 2, "prioridade", TodoFilter.NONE);
+
+        assertEquals(List.of(third), last.content());
+        assertFalse(last.hasNext());
+        assertNull(last.next());
+    }
+
+    @Test
+    public void cannotFindAllTodosAfterInvalidCursorTest() {
+        assertThrows(InvalidCursorException.class, () -> todoService.findAllTodosAfter("not-a-cursor", 10, "id", TodoFilter.NONE));
+
+        String idCursor = TodoCursor.of("id", todo).encode();
+        assertThrows(InvalidCursorException.class, () -> todoService.findAllTodosAfter(idCursor, 10, "nome", TodoFilter.NONE));
+    }
+
+    @Test
+    public void canFindAllTodosAfterVersionCursorTest() {
+        TodoView first = TodoView.builder().id(1).version(7L).build();
+        TodoView second = TodoView.builder().id(2).version(9L).build();
+        Todo third = Todo.builder().id(3).nome("Valid TODO").version(11).build();
+
+        when(todoRepository.findViews(anySpec(), any(Sort.class), eq(2), eq(List.of("id", "version"))))
+                .thenReturn(List.of(first, second));
+        when(todoRepository.findBy(anySpec(), any())).thenReturn(List.of(todo, third));
+
+        CursorPage<TodoView> views = todoService.findAllTodosAfter("", 1, "version", TodoFilter.NONE, List.of("id"));
+        CursorPage<Todo> todos = todoService.findAllTodosAfter(views.next(), 1, "version", TodoFilter.NONE);
+
+        assertEquals(new TodoCursor("version", 7L, 1), TodoCursor.decode(views.next()));
+        assertEquals(new TodoCursor("version", 0L, 1), TodoCursor.decode(todos.next()));
+    }
+
+    @Test
+    public void canFindAllTodosAfterNullKeyCursorTest() {
+        Todo unnamed = Todo.builder().id(2).descricao("Valid Description").build();
+
+        when(todoRepository.findBy(anySpec(), any())).thenReturn(List.of(unnamed, todo), List.of(todo));
+
+        CursorPage<Todo> result = todoService.findAllTodosAfter("", 1, "nome", TodoFilter.NONE);
+
+        assertEquals(new TodoCursor("nome", null, 2), TodoCursor.decode(result.next()));
+        assertEquals(List.of(todo), todoService.findAllTodosAfter(result.next(), 1, "nome", TodoFilter.NONE).content());
+    }
+
+    @Test
+    public void cannotListWithInvalidPageTest() {
+        assertThrows(InvalidParameterException.class, () -> todoService.findAllTodos(-1, 10, "id", TodoFilter.NONE));
+        assertThrows(InvalidParameterException.class, () -> todoService.findAllTodos(0, 0, "id", TodoFilter.NONE));
+        assertThrows(InvalidParameterException.class, () -> todoService.findAllTodos(0, -5, "id", TodoFilter.NONE, List.of()));
+        assertThrows(InvalidParameterException.class, () -> todoService.findAllTodosAfter("", 0, "id", TodoFilter.NONE));
+        assertThrows(InvalidParameterException.class, () -> todoService.findAllTodosAfter("", -1, "id", TodoFilter.NONE, List.of()));
+    }
+
+    @Test
+    public void cannotSortByFieldOutsideResponseTest() {
+        assertThrows(InvalidParameterException.class, () -> todoService.findAllTodosAfter("", 10, "realizadoEm", TodoFilter.NONE));
+        assertThrows(InvalidParameterException.class, () -> todoService.findAllTodos(0, 10, "realizadoEm", TodoFilter.NONE));
+        assertThrows(InvalidParameterException.class, () -> todoService.findAllTodos(0, 10, "senha", TodoFilter.NONE, List.of()));
+    }
+
+    @Test
+    public void cannotPageDeepIntoMergedListingTest() {
+        TodoFilter filter = TodoFilter.builder().includeArchived(true).build();
+        when(todoRepository.findBy(anySpec(), any())).thenReturn(List.of(todo));
+        when(archivedTodoRepository.findBy(anySpec(), any())).thenReturn(List.of());
+
+        // A última página dentro do limite ainda consulta as fontes; aqui vem vazia, então 404
+        assertThrows(TodoNotFoundException.class, () -> todoService.findAllTodos(999, 10, "id", filter));
+        assertThrows(InvalidParameterException.class, () -> todoService.findAllTodos(1000, 10, "id", filter));
+        assertThrows(InvalidParameterException.class, () -> todoService.findAllTodos(Integer.MAX_VALUE, 50, "id", filter));
+    }
+
+    @Test
+    public void canFindAllTodosWithArchivedTest() {
+        Todo third = Todo.builder().id(3).nome("Valid TODO").realizado(false).prioridade(1).build();
+        ArchivedTodo archived = ArchivedTodo.builder().id(2).nome("Valid TODO").realizado(true).prioridade(5).build();
+        TodoFilter filter = TodoFilter.builder().includeArchived(true).build();
+
+        when(todoRepository.findBy(anySpec(), any())).thenReturn(List.of(todo, third));
+        when(archivedTodoRepository.findBy(anySpec(), any())).thenReturn(List.of(archived));
+        when(todoRepository.count(anySpec())).thenReturn(2L);
+        when(archivedTodoRepository.count(anySpec())).thenReturn(1L);
+
+        Page<Todo> result = todoService.findAllTodos(0, 2, "prioridade", filter);
+
+        assertEquals(List.of(todo, archived.toTodo()), result.getContent());
+        assertEquals(3, result.getTotalElements());
+
+        CursorPage<Todo> cursor = todoService.findAllTodosAfter("", 2, "prioridade", filter);
+
+        assertEquals(List.of(todo, archived.toTodo()), cursor.content());
+        assertTrue(cursor.hasNext());
+    }
+
+    @Test
+    public void canMergeTodosFromAllShardsTest() {
+        TodoShards twoShards = new TodoShards(2);
+        TodoService service = new TodoService(todoRepository, archivedTodoRepository, idGenerator, twoShards,
+                eventPublisher, listingProperties, textOrder);
+        List<Todo> first = List.of(todo(1), todo(4), todo(5));
+        List<Todo> second = List.of(todo(2), todo(3), todo(6));
+
+        when(todoRepository.findBy(anySpec(), any())).thenReturn(first, second, first, second);
+        when(todoRepository.count(anySpec())).thenReturn(3L);
+
+        try {
+            CursorPage<Todo> cursor = service.findAllTodosAfter("", 3, "id", TodoFilter.NONE);
+
+            assertEquals(List.of(1, 2, 3), cursor.content().stream().map(Todo::getId).toList());
+            assertTrue(cursor.hasNext());
+
+            Page<Todo> page = service.findAllTodos(1, 2, "id", TodoFilter.NONE);
+
+            assertEquals(List.of(3, 4), page.getContent().stream().map(Todo::getId).toList());
+            assertEquals(6, page.getTotalElements());
+        } finally {
+            twoShards.destroy();
+        }
+    }
+
+    @Test
+    public void canFindTodoByIdTest() {
+        when(todoRepository.findById(1)).thenReturn(Optional.of(todo));
+
+        Todo result = todoService.findTodoById(1);
+
+        assertEquals(todo, result);
+    }
+
+    @Test
+    public void canFindArchivedTodoByIdTest() {
+        ArchivedTodo archived = ArchivedTodo.builder().id(1).nome("Valid TODO").realizado(true).build();
+        when(archivedTodoRepository.findById(1)).thenReturn(Optional.of(archived));
+
+        assertEquals(archived.toTodo(), todoService.findTodoById(1));
+        assertThrows(TodoNotFoundException.class, () -> todoService.findLiveTodoById(1));
+    }
+
+    @Test
+    public void cannotFindTodoByIdTest() {
+        assertThrows(TodoNotFoundException.class, () -> todoService.findTodoById(1),
+                "Tarefa de id '1' não encontrada.");
     }
 
     @Test
     public void canCreateTodoTest() {
-        when(todoService.createTodo(todoRequest)).thenReturn(todo);
+        when(idGenerator.nextId()).thenReturn(1);
+        when(todoRepository.insert(any(Todo.class))).thenReturn(todo);
 
         Todo result = todoService.createTodo(todoRequest);
 
         assertNotNull(result);
         assertEquals(todo.getNome(), result.getNome());
 
-        verify(todoRepository, times(1)).save(argThat(
-                todoToSave -> todoToSave.getNome().equals(todo.getNome()) &&
+        verify(todoRepository, times(1)).insert(argThat(
+                todoToSave -> todoToSave.getId() == 1 &&
+                        todoToSave.getNome().equals(todo.getNome()) &&
                         todoToSave.getDescricao().equals(todo.getDescricao())));
+        verify(eventPublisher, times(1)).publishEvent(TodoChangedEvent.created(todo));
     }
 
     @Test
@@ -120,28 +381,65 @@ public class TodoServiceTest {
                 .realizado(false)
                 .prioridade(10).build();
 
-        todo.setNome("Valid TODO Update");
-        todo.setDescricao("Valid Description Update");
-        todo.setRealizado(false);
-        todo.setPrioridade(10);
-
-        when(todoRepository.findById(todo.getId())).thenReturn(Optional.ofNullable(todo));
-        when(todoRepository.save(todo)).thenReturn(todo);
+        when(todoRepository.updateTodo(eq(1), isNull(), anyLong(), eq("Valid TODO Update"), eq("Valid Description Update"), eq(false), eq(10))).thenReturn(1);
 
         Todo result = todoService.updateTodo(1, request);
 
         assertNotNull(result);
-        assertEquals(todo.getNome(), result.getNome());
-        assertEquals(todo.getDescricao(), result.getDescricao());
+        assertEquals(1, result.getId());
+        assertEquals(request.nome(), result.getNome());
+        assertEquals(request.descricao(), result.getDescricao());
 
-        verify(todoRepository, times(1)).save(argThat(
-                todo1 -> todo1.getNome().equals(todo.getNome()) &&
-                        todo1.getDescricao().equals(todo.getDescricao())));
+        verify(todoRepository, times(1)).updateTodo(eq(1), isNull(), eq(result.getVersion()), eq("Valid TODO Update"), eq("Valid Description Update"), eq(false), eq(10));
+        verify(todoRepository, never()).findById(1);
+        verify(eventPublisher, times(1)).publishEvent(TodoChangedEvent.updated(result));
+    }
+
+    @Test
+    public void canUpdateRealizadoTodoResetsPrioridadeTest() {
+        TodoRequest request = TodoRequest.builder()
+                .nome("Valid TODO Update")
+                .descricao("Valid Description Update")
+                .realizado(true)
+                .prioridade(10).build();
+
+        when(todoRepository.updateTodo(eq(1), isNull(), anyLong(), eq("Valid TODO Update"), eq("Valid Description Update"), eq(true), eq(0))).thenReturn(1);
+
+        Todo result = todoService.updateTodo(1, request);
+
+        assertEquals(0, result.getPrioridade());
     }
 
     @Test
     public void cannotUpdateTodoTest() {
-        assertThrows(TodoNotFoundException.class, () -> todoService.updateTodo(1, null),
+        assertThrows(TodoNotFoundException.class, () -> todoService.updateTodo(1, todoRequest),
+                "Tarefa de id '1' não encontrada.");
+    }
+
+    @Test
+    public void canUpdateTodoWithExpectedVersionTest() {
+        when(todoRepository.updateTodo(eq(1), eq(5L), anyLong(), eq(todo.getNome()), eq(todo.getDescricao()), eq(false), eq(10))).thenReturn(1);
+
+        Todo first = todoService.updateTodo(1, todoRequest, 5L);
+
+        when(todoRepository.updateTodo(eq(1), eq(first.getVersion()), anyLong(), eq(todo.getNome()), eq(todo.getDescricao()), eq(false), eq(10))).thenReturn(1);
+
+        Todo second = todoService.updateTodo(1, todoRequest, first.getVersion());
+
+        assertTrue(second.getVersion() > first.getVersion());
+    }
+
+    @Test
+    public void cannotUpdateTodoWithStaleVersionTest() {
+        when(todoRepository.existsById(1)).thenReturn(true);
+
+        assertThrows(TodoVersionConflictException.class, () -> todoService.updateTodo(1, todoRequest, 5L),
+                "Tarefa de id '1' foi alterada por outra requisição.");
+    }
+
+    @Test
+    public void cannotUpdateMissingTodoWithExpectedVersionTest() {
+        assertThrows(TodoNotFoundException.class, () -> todoService.updateTodo(1, todoRequest, 5L),
                 "Tarefa de id '1' não encontrada.");
     }
 
@@ -149,15 +447,25 @@ public class TodoServiceTest {
     public void canDeleteTodoTest() {
         int todoId = 1;
 
-        when(todoRepository.findById(todoId)).thenReturn(Optional.ofNullable(todo));
-        doNothing().when(todoRepository).delete(todo);
+        when(todoRepository.deleteTodoById(todoId)).thenReturn(1);
 
         assertAll(() -> todoService.deleteTodoById(todoId));
+        verify(todoRepository, never()).findById(todoId);
+        verify(eventPublisher, times(1)).publishEvent(TodoChangedEvent.deleted(todoId));
     }
 
     @Test
     public void cannotDeleteTodoTest() {
         assertThrows(TodoNotFoundException.class, () -> todoService.deleteTodoById(1),
                 "Tarefa de id '1' não encontrada.");
+        verify(eventPublisher, never()).publishEvent(any(TodoChangedEvent.class));
+    }
+
+    private static Todo todo(int id) {
+        return Todo.builder().id(id).nome("Valid TODO").descricao("Valid Description").prioridade(10).build();
+    }
+
+    private static <T> Specification<T> anySpec() {
+        return any();
     }
 }
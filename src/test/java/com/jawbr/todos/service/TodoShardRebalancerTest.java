@@ -0,0 +1,136 @@
+package com.jawbr.todos.service;
+
+import com.jawbr.todos.config.TodoDataSourceProperties;
+import com.jawbr.todos.config.TodoShards;
+import com.jawbr.todos.entity.ArchivedTodo;
+import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.repository.ArchivedTodoRepository;
+import com.jawbr.todos.repository.TodoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sharded-0",
+        "todos.datasource.shards[0].url=jdbc:h2:mem:sharded-1",
+        "todos.listing.empty-page-not-found=false"})
+public class TodoShardRebalancerTest {
+
+    @Autowired
+    private TodoShardRebalancer rebalancer;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private ArchivedTodoRepository archivedTodoRepository;
+
+    @Autowired
+    private TodoShards shards;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TodoDataSourceProperties properties;
+
+    @AfterEach
+    public void cleanup() {
+        shards.forEachShard(shard -> {
+            todoRepository.deleteAllInBatch();
+            archivedTodoRepository.deleteAllInBatch();
+        });
+    }
+
+    @Test
+    public void canMoveTodosToOwnerShardTest() {
+        List<Integer> misplaced = idsOwnedBy(1, 3);
+        List<Integer> placed = idsOwnedBy(0, 2);
+        shards.onShard(0, () -> todoRepository.insertAll(todos(misplaced)));
+        shards.onShard(0, () -> todoRepository.insertAll(todos(placed)));
+        shards.onShard(0, () -> archivedTodoRepository.saveAll(archived(misplaced.get(0))));
+
+        assertEquals(4, rebalancer.rebalance());
+
+        assertEquals(placed, idsOn(0));
+        assertEquals(misplaced, idsOn(1));
+        assertEquals(List.of(), shards.onShard(0, () -> archivedTodoRepository.findIdsAfter(0, page())));
+        assertEquals(List.of(misplaced.get(0)), shards.onShard(1, () -> archivedTodoRepository.findIdsAfter(0, page())));
+        Todo moved = shards.onShard(1, () -> todoRepository.findById(misplaced.get(0))).orElseThrow();
+        assertEquals("Valid TODO " + misplaced.get(0), moved.getNome());
+        assertEquals(7, moved.getPrioridade());
+
+        assertEquals(0, rebalancer.rebalance());
+    }
+
+    // Cópia feita e remoção da origem interrompida: a nova execução não duplica e termina a remoção
+    @Test
+    public void canResumeAfterPartialFailureTest() {
+        List<Integer> misplaced = idsOwnedBy(1, 3);
+        shards.onShard(0, () -> todoRepository.insertAll(todos(misplaced)));
+        TodoRepository failing = mock(TodoRepository.class, delegatesTo(todoRepository));
+        doThrow(new IllegalStateException("Falha simulada")).when(failing).deleteAllByIdInBatch(anyIterable());
+        TodoShardRebalancer interrupted = new TodoShardRebalancer(failing, archivedTodoRepository, shards,
+                transactionManager, properties);
+
+        assertThrows(IllegalStateException.class, interrupted::rebalance);
+        assertEquals(misplaced, idsOn(0));
+        assertEquals(misplaced, idsOn(1));
+
+        assertEquals(3, rebalancer.rebalance());
+
+        assertEquals(List.of(), idsOn(0));
+        assertEquals(misplaced, idsOn(1));
+    }
+
+    private List<Integer> idsOwnedBy(int shard, int count) {
+        int first = shard == 0 ? 1_000_000 : 2_000_000;
+        return IntStream.iterate(first, id -> id + 1)
+                .filter(id -> shards.shardFor(id) == shard)
+                .limit(count)
+                .boxed()
+                .toList();
+    }
+
+    private List<Integer> idsOn(int shard) {
+        return shards.onShard(shard, () -> todoRepository.findIdsAfter(0, page()));
+    }
+
+    private static PageRequest page() {
+        return PageRequest.of(0, 100);
+    }
+
+    private static List<Todo> todos(List<Integer> ids) {
+        return ids.stream()
+                .map(id -> Todo.builder()
+                        .id(id)
+                        .nome("Valid TODO " + id)
+                        .descricao("Valid Description")
+                        .prioridade(7)
+                        .build())
+                .toList();
+    }
+
+    private static List<ArchivedTodo> archived(int id) {
+        return List.of(ArchivedTodo.builder()
+                .id(id)
+                .nome("Valid TODO")
+                .descricao("Valid Description")
+                .arquivadoEm(Instant.now())
+                .build());
+    }
+}
@@ -0,0 +1,79 @@
+package com.jawbr.todos.service;
+
+import com.jawbr.todos.config.TodoShards;
+import com.jawbr.todos.dto.request.TodoFilter;
+import com.jawbr.todos.dto.request.TodoRequest;
+import com.jawbr.todos.dto.response.CursorPage;
+import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.repository.TodoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sharded-0",
+        "todos.datasource.shards[0].url=jdbc:h2:mem:sharded-1",
+        "todos.listing.empty-page-not-found=false"})
+public class TodoShardedListingTest {
+
+    private static final List<String> NOMES = List.of(
+            "banana", "Banana", "abacate", "Abacate", "ábaco", "Ábaco", "cereja", "Cereja", "édito", "Édito",
+            "zebra", "Zebra", "maçã", "Maçã", "maca");
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private TodoShards shards;
+
+    @AfterEach
+    public void cleanup() {
+        shards.forEachShard(shard -> todoRepository.deleteAllInBatch());
+    }
+
+    // Maiúsculas e acentos ordenam diferente conforme a collation: a intercalação precisa seguir a do banco
+    @Test
+    public void canWalkMergedListingByNomeTest() {
+        NOMES.forEach(nome -> todoService.createTodo(new TodoRequest(nome, "Valid Description", false, 0)));
+        Set<Integer> used = shards.onAllShards(shard -> todoRepository.findAll().isEmpty() ? 0 : 1).stream()
+                .collect(Collectors.toSet());
+        assertEquals(Set.of(1), used, "as tarefas precisam estar nos dois shards");
+
+        List<Todo> expected = shards.onAllShards(shard -> todoRepository.findAll()).stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(Todo::getNome).thenComparingInt(Todo::getId))
+                .toList();
+
+        List<Integer> walked = new ArrayList<>();
+        String after = "";
+        CursorPage<Todo> cursor;
+        do {
+            cursor = todoService.findAllTodosAfter(after, 4, "nome", TodoFilter.NONE);
+            cursor.content().forEach(todo -> walked.add(todo.getId()));
+            after = cursor.next();
+        } while (cursor.hasNext());
+
+        List<Integer> paged = new ArrayList<>();
+        for (int page = 0; page * 4 < NOMES.size(); page++) {
+            todoService.findAllTodos(page, 4, "nome", TodoFilter.NONE).forEach(todo -> paged.add(todo.getId()));
+        }
+
+        List<Integer> expectedIds = expected.stream().map(Todo::getId).toList();
+        assertEquals(expectedIds, walked);
+        assertEquals(expectedIds, paged);
+        assertTrue(expected.get(0).getNome().startsWith("A"), "H2 compara caractere a caractere: " + expected.get(0).getNome());
+    }
+}
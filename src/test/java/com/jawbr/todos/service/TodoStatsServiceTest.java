@@ -0,0 +1,136 @@
+package com.jawbr.todos.service;
+
+import com.jawbr.todos.config.TodoShards;
+import com.jawbr.todos.dto.response.TodoStats;
+import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.repository.ArchivedTodoRepository;
+import com.jawbr.todos.repository.TodoRepository;
+import com.jawbr.todos.repository.TodoState;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+public class TodoStatsServiceTest {
+
+    @InjectMocks
+    private TodoStatsService todoStatsService;
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private ArchivedTodoRepository archivedTodoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private TodoShards shards = new TodoShards(1);
+
+    @Test
+    public void canCountTodosTest() {
+        todoStatsService.onTodoChanged(TodoChangedEvent.updated(todo(1, false, 5)));
+        todoStatsService.onTodoChanged(TodoChangedEvent.updated(todo(2, false, 5)));
+        todoStatsService.onTodoChanged(TodoChangedEvent.updated(todo(3, true, 0)));
+
+        assertEquals(stats(2, 1, Map.of(0, 1L, 5, 2L)), todoStatsService.getStats());
+    }
+
+    @Test
+    public void canKeepStatsUpToDateTest() {
+        todoStatsService.onTodoChanged(TodoChangedEvent.updated(todo(1, false, 5)));
+        todoStatsService.onTodoChanged(TodoChangedEvent.updated(todo(2, false, 3)));
+
+        todoStatsService.onTodoChanged(TodoChangedEvent.updated(todo(1, true, 0)));
+        todoStatsService.onTodoChanged(TodoChangedEvent.updated(todo(1, true, 0)));
+        todoStatsService.onTodoChanged(TodoChangedEvent.deleted(2));
+        todoStatsService.onTodoChanged(TodoChangedEvent.deleted(2));
+
+        assertEquals(stats(0, 1, Map.of(0, 1L)), todoStatsService.getStats());
+    }
+
+    @Test
+    public void canKeepArchivedTodosInStatsTest() {
+        todoStatsService.onTodoChanged(TodoChangedEvent.updated(todo(1, true, 0)));
+        todoStatsService.onTodoChanged(TodoChangedEvent.updated(todo(2, false, 5)));
+
+        todoStatsService.onTodoChanged(TodoChangedEvent.archived(1));
+        todoStatsService.onTodoChanged(TodoChangedEvent.archived(1));
+        todoStatsService.onTodoChanged(TodoChangedEvent.deleted(1));
+
+        assertEquals(stats(1, 1, Map.of(0, 1L, 5, 1L)), todoStatsService.getStats());
+    }
+
+    @Test
+    public void canRebuildStatsWithArchivedTodosTest() {
+        when(todoRepository.streamStates()).thenReturn(Stream.of(new TodoState(1, false, 5)));
+        when(archivedTodoRepository.countByRealizadoAndPrioridade()).thenReturn(List.<Object[]>of(new Object[]{true, 0, 3L}));
+
+        todoStatsService.rebuild();
+
+        assertEquals(stats(1, 3, Map.of(0, 3L, 5, 1L)), todoStatsService.getStats());
+
+        when(todoRepository.countByRealizadoAndPrioridade()).thenReturn(List.<Object[]>of(new Object[]{false, 5, 1L}));
+
+        todoStatsService.reconcile();
+
+        verify(todoRepository, times(1)).streamStates();
+    }
+
+    @Test
+    public void canRebuildStatsTest() {
+        when(todoRepository.count()).thenReturn(2L);
+        when(todoRepository.streamStates()).thenReturn(Stream.of(new TodoState(1, false, 5), new TodoState(2, true, 0)));
+
+        todoStatsService.rebuild();
+
+        assertEquals(stats(1, 1, Map.of(0, 1L, 5, 1L)), todoStatsService.getStats());
+    }
+
+    @Test
+    public void canReconcileStatsTest() {
+        todoStatsService.onTodoChanged(TodoChangedEvent.updated(todo(1, false, 5)));
+        when(todoRepository.countByRealizadoAndPrioridade()).thenReturn(List.<Object[]>of(new Object[]{false, 5, 1L}));
+
+        todoStatsService.reconcile();
+
+        verify(todoRepository, never()).streamStates();
+
+        when(todoRepository.countByRealizadoAndPrioridade()).thenReturn(List.of(new Object[]{false, 5, 1L}, new Object[]{true, 0, 1L}));
+        when(todoRepository.streamStates()).thenReturn(Stream.of(new TodoState(1, false, 5), new TodoState(2, true, 0)));
+
+        todoStatsService.reconcile();
+
+        verify(todoRepository, times(1)).streamStates();
+        assertEquals(stats(1, 1, Map.of(0, 1L, 5, 1L)), todoStatsService.getStats());
+    }
+
+    private static TodoStats stats(long pending, long completed, Map<Integer, Long> byPrioridade) {
+        return new TodoStats(pending + completed, pending, completed, new TreeMap<>(byPrioridade));
+    }
+
+    private static Todo todo(int id, boolean realizado, int prioridade) {
+        return Todo.builder()
+                .id(id)
+                .nome("Valid TODO")
+                .descricao("Valid Description")
+                .realizado(realizado)
+                .prioridade(prioridade)
+                .build();
+    }
+}
@@ -0,0 +1,197 @@
+package com.jawbr.todos.service;
+
+import com.jawbr.todos.config.TodoBatchProperties;
+import com.jawbr.todos.config.TodoWriteBehindProperties;
+import com.jawbr.todos.dto.request.TodoRequest;
+import com.jawbr.todos.dto.request.TodoUpdateRequest;
+import com.jawbr.todos.dto.response.TodoBatchResult;
+import com.jawbr.todos.entity.Todo;
+import com.jawbr.todos.exception.TodoNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+public class TodoWriteBehindServiceTest {
+
+    @InjectMocks
+    private TodoWriteBehindService todoWriteBehindService;
+
+    @Mock
+    private TodoService todoService;
+
+    @Mock
+    private TodoBatchService todoBatchService;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Spy
+    private TodoBatchProperties batchProperties = new TodoBatchProperties(50, 2);
+
+    @Spy
+    private TodoWriteBehindProperties properties = new TodoWriteBehindProperties(true, Duration.ofMillis(200));
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void init() {
+        when(todoService.findLiveTodoById(any(Integer.class))).thenAnswer(invocation -> todo(invocation.getArgument(0), false, 5));
+        when(todoBatchService.updateTodos(anyList())).thenAnswer(invocation -> ((List<TodoUpdateRequest>) invocation.getArgument(0))
+                .stream()
+                .map(todo -> TodoBatchResult.success(0, 200, todo(todo.id(), todo.realizado(), todo.prioridade())))
+                .toList());
+    }
+
+    @Test
+    public void canCoalesceUpdatesTest() {
+        for (int i = 0; i < 10; i++) {
+            todoWriteBehindService.updateTodo(1, request(i % 2 == 0, i));
+        }
+        todoWriteBehindService.updateTodo(2, request(false, 3));
+
+        assertEquals(Optional.of(todo(1, false, 9)), todoWriteBehindService.pending(1));
+
+        todoWriteBehindService.flush();
+
+        verify(todoBatchService, times(1)).updateTodos(List.of(
+                new TodoUpdateRequest(1, "Valid TODO", "Valid Description", false, 9, 0L),
+                new TodoUpdateRequest(2, "Valid TODO", "Valid Description", false, 3, 0L)));
+        verify(todoService, times(2)).findLiveTodoById(any(Integer.class));
+        assertEquals(11, meterRegistry.counter("todos.write_behind.accepted").count());
+        assertEquals(2, meterRegistry.counter("todos.write_behind.written").count());
+        assertFalse(todoWriteBehindService.pending(1).isPresent());
+    }
+
+    @Test
+    public void cannotAcceptUpdateForArchivedTodoTest() {
+        when(todoService.findLiveTodoById(1)).thenThrow(TodoNotFoundException.forId(1));
+
+        assertThrows(TodoNotFoundException.class, () -> todoWriteBehindService.updateTodo(1, request(false, 3)));
+
+        assertFalse(todoWriteBehindService.pending(1).isPresent());
+        assertEquals(0, meterRegistry.counter("todos.write_behind.accepted").count());
+    }
+
+    @Test
+    public void canFlushInChunksTest() {
+        for (int id = 1; id <= 5; id++) {
+            todoWriteBehindService.updateTodo(id, request(false, id));
+        }
+
+        todoWriteBehindService.flush();
+
+        verify(todoBatchService, times(3)).updateTodos(anyList());
+    }
+
+    @Test
+    public void canRetryFailedFlushTest() {
+        todoWriteBehindService.updateTodo(1, request(false, 3));
+        when(todoBatchService.updateTodos(anyList())).thenThrow(new DataAccessResourceFailureException("Banco indisponível"));
+
+        todoWriteBehindService.flush();
+
+        assertTrue(todoWriteBehindService.pending(1).isPresent());
+    }
+
+    @Test
+    public void canDiscardDeletedTodoTest() {
+        todoWriteBehindService.updateTodo(1, request(false, 3));
+
+        todoWriteBehindService.onTodoChanged(TodoChangedEvent.deleted(1));
+        todoWriteBehindService.flush();
+
+        assertFalse(todoWriteBehindService.pending(1).isPresent());
+        verify(todoBatchService, never()).updateTodos(anyList());
+    }
+
+    @Test
+    public void canDiscardTodoUpdatedSynchronouslyTest() {
+        todoWriteBehindService.updateTodo(1, request(false, 3));
+
+        Todo synchronous = todo(1, true, 0);
+        synchronous.setVersion(7);
+        todoWriteBehindService.onTodoChanged(TodoChangedEvent.updated(synchronous));
+        todoWriteBehindService.flush();
+
+        assertFalse(todoWriteBehindService.pending(1).isPresent());
+        verify(todoBatchService, never()).updateTodos(anyList());
+    }
+
+    @Test
+    public void canReportVersionConflictOnFlushTest() {
+        todoWriteBehindService.updateTodo(1, request(false, 3));
+        when(todoBatchService.updateTodos(anyList())).thenReturn(List.of(
+                TodoBatchResult.failure(0, 1, 412, "Tarefa de id '1' foi alterada por outra requisição.")));
+
+        todoWriteBehindService.flush();
+
+        assertFalse(todoWriteBehindService.pending(1).isPresent());
+        assertEquals(1, meterRegistry.counter("todos.write_behind.conflicts").count());
+        assertEquals(0, meterRegistry.counter("todos.write_behind.written").count());
+    }
+
+    @Test
+    public void canExpectFlushedVersionForUpdateAcceptedDuringFlushTest() {
+        todoWriteBehindService.updateTodo(1, request(false, 3));
+        when(todoBatchService.updateTodos(anyList())).thenAnswer(invocation -> {
+            todoWriteBehindService.updateTodo(1, request(false, 4));
+            Todo written = todo(1, false, 3);
+            written.setVersion(1);
+            return List.of(TodoBatchResult.success(0, 200, written));
+        });
+
+        todoWriteBehindService.flush();
+
+        assertEquals(1, todoWriteBehindService.pending(1).orElseThrow().getVersion());
+        assertEquals(4, todoWriteBehindService.pending(1).orElseThrow().getPrioridade());
+    }
+
+    @Test
+    public void canFlushOnCloseTest() {
+        todoWriteBehindService.updateTodo(1, request(false, 3));
+
+        todoWriteBehindService.close();
+        todoWriteBehindService.updateTodo(2, request(false, 3));
+
+        verify(todoBatchService, times(1)).updateTodos(anyList());
+        verify(todoService, times(1)).updateTodo(2, request(false, 3));
+    }
+
+    private static TodoRequest request(boolean realizado, int prioridade) {
+        return new TodoRequest("Valid TODO", "Valid Description", realizado, prioridade);
+    }
+
+    private static Todo todo(int id, boolean realizado, int prioridade) {
+        return Todo.builder()
+                .id(id)
+                .nome("Valid TODO")
+                .descricao("Valid Description")
+                .realizado(realizado)
+                .prioridade(prioridade)
+                .build();
+    }
+}